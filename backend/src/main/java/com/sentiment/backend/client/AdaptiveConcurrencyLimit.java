@@ -0,0 +1,130 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelProtectionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de chamadas simultâneas à API Python ajustado por AIMD: cada
+ * chamada rápida e bem-sucedida com o limite em uso soma {@code 1/limite}
+ * (cerca de +1 por "janela" de chamadas), e cada falha ou chamada acima de
+ * {@code latency-threshold} multiplica o limite por {@code backoff-ratio}.
+ * Assim o backend manda menos trabalho quando o modelo começa a demorar, em
+ * vez de empilhar threads atrás dele.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+  private final ModelProtectionProperties.ConcurrencyLimit properties;
+  private final MeterRegistry meterRegistry;
+  private final long limiteLatenciaNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private double limite;
+  private int emVoo;
+
+  @Autowired
+  public AdaptiveConcurrencyLimit(ModelProtectionProperties properties, MeterRegistry meterRegistry) {
+    this(properties.getConcurrencyLimit(), meterRegistry);
+  }
+
+  AdaptiveConcurrencyLimit(ModelProtectionProperties.ConcurrencyLimit properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.limiteLatenciaNanos = properties.getLatencyThreshold().toNanos();
+    this.limite = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), properties.getInitialLimit()));
+  }
+
+  @PostConstruct
+  public void registrarMetricas() {
+    Gauge.builder("sentiment.model.concurrency.limit", this, AdaptiveConcurrencyLimit::limite)
+        .description("Limite atual de chamadas simultâneas à API Python")
+        .register(meterRegistry);
+    Gauge.builder("sentiment.model.concurrency.inflight", this, AdaptiveConcurrencyLimit::emVoo)
+        .description("Chamadas à API Python em andamento")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reserva uma vaga; quem recebe a vaga deve devolvê-la com
+   * {@link #registrar} ou {@link #liberar}.
+   *
+   * @throws ModelCallRejectedException se o limite já estiver ocupado
+   */
+  public void adquirir() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      if (emVoo >= (int) limite) {
+        throw new ModelCallRejectedException("limite",
+            "Limite de " + (int) limite + " chamadas simultâneas à API Python atingido");
+      }
+      emVoo++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Devolve a vaga e ajusta o limite pelo resultado da chamada. */
+  public void registrar(long duracaoNanos, boolean sucesso) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      // Só cresce se o limite estava sendo usado; com pouca carga, chamadas
+      // rápidas não dizem nada sobre quanto o modelo aguenta.
+      boolean emUso = emVoo * 2 >= limite;
+      emVoo--;
+
+      if (!sucesso || duracaoNanos > limiteLatenciaNanos) {
+        limite = Math.max(properties.getMinLimit(), limite * properties.getBackoffRatio());
+      } else if (emUso) {
+        limite = Math.min(properties.getMaxLimit(), limite + 1.0 / limite);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Devolve uma vaga cuja chamada nem chegou a sair, sem mexer no limite. */
+  public void liberar() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      emVoo--;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int limite() {
+    lock.lock();
+    try {
+      return (int) limite;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int emVoo() {
+    lock.lock();
+    try {
+      return emVoo;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
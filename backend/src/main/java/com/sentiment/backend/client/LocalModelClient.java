@@ -0,0 +1,65 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelRoutingProperties;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.TfidfLogisticModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Previsão do modelo original (TF-IDF + regressão logística) dentro da JVM,
+ * a partir do arquivo gerado por {@code tools/export_model.py}. Com
+ * {@code model-routing.local-inference} desligado o modelo nem é carregado.
+ */
+@Slf4j
+@Component
+public class LocalModelClient {
+
+  private final TfidfLogisticModel modelo;
+  private final SentimentType[] previsoes;
+
+  public LocalModelClient(ModelRoutingProperties properties) {
+    if (!properties.isLocalInference()) {
+      this.modelo = null;
+      this.previsoes = new SentimentType[0];
+      return;
+    }
+
+    try (InputStream entrada = properties.getLocalModel().getInputStream()) {
+      this.modelo = TfidfLogisticModel.carregar(entrada);
+    } catch (IOException e) {
+      throw new IllegalStateException("Não foi possível carregar o modelo local " + properties.getLocalModel(), e);
+    }
+
+    String[] rotulos = modelo.rotulos();
+    this.previsoes = new SentimentType[rotulos.length];
+    for (int c = 0; c < rotulos.length; c++) {
+      previsoes[c] = mapearPrevisao(rotulos[c]);
+    }
+    log.info("Modelo local carregado de {}: {} features, classes {}",
+        properties.getLocalModel().getDescription(), modelo.quantidadeFeatures(), String.join(", ", rotulos));
+  }
+
+  public boolean isAtivo() {
+    return modelo != null;
+  }
+
+  public ModelResponse prever(String texto) {
+    double[] probabilidades = modelo.probabilidades(texto);
+    int classe = TfidfLogisticModel.maisProvavel(probabilidades);
+    return new ModelResponse(previsoes[classe], probabilidades[classe]);
+  }
+
+  // Mesmo critério do ModelResponseDecoder para os rótulos da API.
+  private static SentimentType mapearPrevisao(String rotulo) {
+    return switch (rotulo.toLowerCase(Locale.ROOT)) {
+      case "positivo" -> SentimentType.POSITIVO;
+      case "negativo" -> SentimentType.NEGATIVO;
+      default -> SentimentType.NEUTRO;
+    };
+  }
+}
@@ -0,0 +1,6 @@
+package com.sentiment.backend.client;
+
+import java.util.List;
+
+public record ModelBatchRequest(List<ModelRequest> itens) {
+}
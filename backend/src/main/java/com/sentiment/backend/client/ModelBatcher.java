@@ -0,0 +1,275 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelBatchingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Junta chamadas simultâneas ao modelo em uma única requisição a
+ * {@code /predict/batch}. Uma thread dedicada pega o primeiro pedido da
+ * fila e espera mais pedidos por uma janela que acompanha a taxa de
+ * chegada. Com pouco tráfego a janela é zero e o pedido sai sozinho pelo
+ * endpoint de sempre. Com muito tráfego ela dura o tempo estimado para
+ * encher o lote, limitado a {@code max-wait}. Cada lote roda no executor
+ * do modelo, e as respostas voltam para os futures na ordem dos pedidos.
+ *
+ * <p>O {@link ModelServiceGuard} é aplicado por lote: cada requisição HTTP
+ * ocupa uma vaga do limite de concorrência, não importa quantos pedidos
+ * leve. Um lote recusado (circuito aberto ou limite cheio) falha todos os
+ * seus pedidos com {@link ModelCallRejectedException}.
+ */
+@Slf4j
+@Component
+public class ModelBatcher implements SmartLifecycle {
+
+  // Peso da medição mais recente na média móvel da taxa de chegada.
+  private static final double PESO_TAXA = 0.2;
+  private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final ModelClient modelClient;
+  private final ModelServiceGuard guard;
+  private final ModelBatchingProperties properties;
+  private final Executor modelExecutor;
+  private final BlockingQueue<Pedido> fila;
+  private final LongAdder chegadas = new LongAdder();
+  private final AtomicLong janelaNanos = new AtomicLong();
+  private final DistributionSummary tamanhoLote;
+
+  private volatile boolean executando;
+  private Thread despachante;
+
+  // Só a thread despachante usa estes dois.
+  private double chegadasPorNano;
+  private long ultimaMedicao;
+
+  @Autowired
+  public ModelBatcher(ModelClient modelClient,
+                      ModelServiceGuard guard,
+                      ModelBatchingProperties properties,
+                      @Qualifier("modelExecutor") Executor modelExecutor,
+                      MeterRegistry meterRegistry) {
+    this(modelClient, guard, properties, modelExecutor, meterRegistry,
+        new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())));
+  }
+
+  ModelBatcher(ModelClient modelClient, ModelServiceGuard guard, ModelBatchingProperties properties,
+               Executor modelExecutor, MeterRegistry meterRegistry, BlockingQueue<Pedido> fila) {
+    this.modelClient = modelClient;
+    this.guard = guard;
+    this.properties = properties;
+    this.modelExecutor = modelExecutor;
+    this.fila = fila;
+
+    Gauge.builder("sentiment.model.batch.queue", fila, BlockingQueue::size)
+        .description("Pedidos ao modelo aguardando um lote")
+        .register(meterRegistry);
+    TimeGauge.builder("sentiment.model.batch.window", janelaNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+        .description("Janela de espera do último lote")
+        .register(meterRegistry);
+    this.tamanhoLote = DistributionSummary.builder("sentiment.model.batch.size")
+        .description("Pedidos por chamada ao modelo")
+        .register(meterRegistry);
+  }
+
+  public boolean isAtivo() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Coloca o pedido no próximo lote. Fora do ciclo de vida (na subida ou no
+   * desligamento), chama o modelo direto, também pelo guard.
+   *
+   * @throws RejectedExecutionException se a fila estiver cheia
+   * @throws ModelCallRejectedException se, fora do ciclo de vida, o guard
+   *                                    recusar a chamada
+   */
+  public CompletableFuture<ModelResponse> enviar(ModelRequest request) {
+    if (!executando) {
+      return guard.executar(() -> CompletableFuture.supplyAsync(() -> preverSozinho(request), modelExecutor));
+    }
+
+    Pedido pedido = new Pedido(request, new CompletableFuture<>());
+    if (!fila.offer(pedido)) {
+      throw new RejectedExecutionException("Fila de pedidos ao modelo cheia");
+    }
+    chegadas.increment();
+
+    // O stop() pode ter esvaziado a fila entre a checagem acima e o offer.
+    // Se o pedido ainda está lá, ninguém mais vai buscá-lo.
+    if (!executando && fila.remove(pedido)) {
+      despachar(List.of(pedido));
+    }
+    return pedido.resposta();
+  }
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    executando = true;
+    ultimaMedicao = System.nanoTime();
+    despachante = new Thread(this::executar, "model-batcher");
+    despachante.start();
+  }
+
+  @Override
+  public void stop() {
+    if (despachante == null) {
+      return;
+    }
+
+    executando = false;
+    try {
+      despachante.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // Pedidos que entraram depois da última passada do despachante.
+    List<Pedido> restantes = new ArrayList<>();
+    fila.drainTo(restantes);
+    if (!restantes.isEmpty()) {
+      despachar(restantes);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executando;
+  }
+
+  private void executar() {
+    int maximo = Math.max(1, properties.getMaxBatchSize());
+    List<Pedido> lote = new ArrayList<>(maximo);
+
+    while (executando || !fila.isEmpty()) {
+      try {
+        Pedido primeiro = fila.poll(ESPERA_OCIOSA_NANOS, TimeUnit.NANOSECONDS);
+        atualizarTaxa();
+        if (primeiro == null) {
+          continue;
+        }
+        lote.add(primeiro);
+        fila.drainTo(lote, maximo - lote.size());
+
+        long espera = janela(maximo - lote.size());
+        janelaNanos.set(espera);
+        long prazo = System.nanoTime() + espera;
+        while (lote.size() < maximo && executando) {
+          long restante = prazo - System.nanoTime();
+          if (restante <= 0) {
+            break;
+          }
+
+          Pedido proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+          if (proximo == null) {
+            break;
+          }
+          lote.add(proximo);
+          fila.drainTo(lote, maximo - lote.size());
+        }
+      } catch (InterruptedException e) {
+        // Interrompido: despacha o que já foi coletado e encerra; o resto
+        // da fila fica para o stop().
+        Thread.currentThread().interrupt();
+        executando = false;
+      }
+
+      if (!lote.isEmpty()) {
+        despachar(new ArrayList<>(lote));
+        lote.clear();
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+    }
+
+    log.info("Agrupamento de chamadas ao modelo encerrado");
+  }
+
+  // Quanto esperar pelos pedidos que faltam. Se nem um pedido a mais é
+  // esperado dentro de max-wait, esperar só somaria latência.
+  private long janela(int faltam) {
+    long maxima = properties.getMaxWait().toNanos();
+    if (faltam <= 0 || chegadasPorNano * maxima < 1.0) {
+      return 0;
+    }
+    return Math.min(maxima, (long) (faltam / chegadasPorNano));
+  }
+
+  private void atualizarTaxa() {
+    long agora = System.nanoTime();
+    long decorrido = agora - ultimaMedicao;
+    if (decorrido <= 0) {
+      return;
+    }
+
+    double medida = chegadas.sumThenReset() / (double) decorrido;
+    chegadasPorNano = PESO_TAXA * medida + (1 - PESO_TAXA) * chegadasPorNano;
+    ultimaMedicao = agora;
+  }
+
+  private void despachar(List<Pedido> lote) {
+    tamanhoLote.record(lote.size());
+    CompletableFuture<List<ModelResponse>> chamada;
+    try {
+      chamada = guard.executar(() -> CompletableFuture.supplyAsync(() -> responder(lote), modelExecutor));
+    } catch (RejectedExecutionException e) {
+      lote.forEach(pedido -> pedido.resposta().completeExceptionally(e));
+      return;
+    }
+
+    chamada.whenComplete((respostas, erro) -> {
+      if (erro == null && respostas != null && respostas.size() == lote.size()) {
+        for (int i = 0; i < lote.size(); i++) {
+          lote.get(i).resposta().complete(respostas.get(i));
+        }
+        return;
+      }
+
+      Throwable causa = erro == null
+          ? new IllegalStateException("Resposta do lote não corresponde aos pedidos")
+          : erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+      lote.forEach(pedido -> pedido.resposta().completeExceptionally(causa));
+    });
+  }
+
+  private List<ModelResponse> responder(List<Pedido> lote) {
+    if (lote.size() == 1) {
+      return Collections.singletonList(preverSozinho(lote.get(0).request()));
+    }
+
+    List<ModelRequest> requests = new ArrayList<>(lote.size());
+    lote.forEach(pedido -> requests.add(pedido.request()));
+    return modelClient.preverLote(requests);
+  }
+
+  private ModelResponse preverSozinho(ModelRequest request) {
+    return modelClient.prever(request.text(), request.rating(), request.recommendToFriend());
+  }
+
+  record Pedido(ModelRequest request, CompletableFuture<ModelResponse> resposta) {
+  }
+}
@@ -0,0 +1,26 @@
+package com.sentiment.backend.client;
+
+import java.io.Serial;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Chamada ao modelo recusada antes de sair: circuito aberto ou limite de
+ * concorrência atingido. Estende {@link RejectedExecutionException} para
+ * cair no mesmo fallback de quando o executor do modelo está cheio.
+ */
+public class ModelCallRejectedException extends RejectedExecutionException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private final String motivo;
+
+  public ModelCallRejectedException(String motivo, String mensagem) {
+    super(mensagem);
+    this.motivo = motivo;
+  }
+
+  public String getMotivo() {
+    return motivo;
+  }
+}
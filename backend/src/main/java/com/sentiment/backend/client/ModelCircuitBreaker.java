@@ -0,0 +1,207 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelProtectionProperties;
+import com.sentiment.backend.model.CircuitState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker da API Python. Fechado, acompanha as últimas
+ * {@code window-size} chamadas e abre quando a fração de falhas (erros ou
+ * chamadas acima de {@code slow-call-threshold}) passa do limite. Aberto,
+ * recusa tudo por {@code open-duration}; depois deixa passar
+ * {@code half-open-calls} chamadas de teste, que fecham o circuito se todas
+ * derem certo ou o reabrem na primeira falha.
+ *
+ * <p>Cada permissão carrega a geração do estado em que foi dada, e
+ * resultados de uma geração anterior (chamadas lentas que terminam depois
+ * de uma transição) são ignorados.
+ */
+@Slf4j
+@Component
+public class ModelCircuitBreaker {
+
+  private final ModelProtectionProperties.CircuitBreaker properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier relogio;
+  private final long limiteLentaNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<CircuitState, Counter> transicoes = new EnumMap<>(CircuitState.class);
+
+  // Janela circular: true = falha.
+  private final boolean[] janela;
+  private int posicao;
+  private int chamadas;
+  private int falhas;
+
+  private volatile CircuitState estado = CircuitState.FECHADO;
+  private long geracao;
+  private long abertoAte;
+  private int testesEmVoo;
+  private int testesComSucesso;
+
+  @Autowired
+  public ModelCircuitBreaker(ModelProtectionProperties properties, MeterRegistry meterRegistry) {
+    this(properties.getCircuitBreaker(), meterRegistry, System::nanoTime);
+  }
+
+  ModelCircuitBreaker(ModelProtectionProperties.CircuitBreaker properties, MeterRegistry meterRegistry,
+                      LongSupplier relogio) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.relogio = relogio;
+    this.limiteLentaNanos = properties.getSlowCallThreshold().toNanos();
+    this.janela = new boolean[Math.max(1, properties.getWindowSize())];
+
+    for (CircuitState destino : CircuitState.values()) {
+      transicoes.put(destino, Counter.builder("sentiment.model.circuit.transitions")
+          .description("Mudanças de estado do circuito da API Python")
+          .tag("state", destino.name().toLowerCase())
+          .register(meterRegistry));
+    }
+  }
+
+  @PostConstruct
+  public void registrarMetricas() {
+    Gauge.builder("sentiment.model.circuit.state", this, breaker -> breaker.estado().ordinal())
+        .description("Estado do circuito da API Python (0 fechado, 1 aberto, 2 meio-aberto)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Pede permissão para uma chamada e devolve a geração a informar em
+   * {@link #registrar} ou {@link #liberar}.
+   *
+   * @throws ModelCallRejectedException se o circuito estiver aberto ou os
+   *                                    testes do meio-aberto estiverem ocupados
+   */
+  public long adquirir() {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+
+    lock.lock();
+    try {
+      if (estado == CircuitState.ABERTO && relogio.getAsLong() - abertoAte >= 0) {
+        transicionar(CircuitState.MEIO_ABERTO);
+      }
+
+      switch (estado) {
+        case ABERTO -> throw new ModelCallRejectedException("circuito_aberto", "Circuito da API Python aberto");
+        case MEIO_ABERTO -> {
+          if (testesEmVoo + testesComSucesso >= properties.getHalfOpenCalls()) {
+            throw new ModelCallRejectedException("circuito_aberto", "Circuito da API Python em teste");
+          }
+          testesEmVoo++;
+        }
+        case FECHADO -> {
+        }
+      }
+      return geracao;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void registrar(long geracaoDaPermissao, long duracaoNanos, boolean sucesso) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    boolean falha = !sucesso || duracaoNanos > limiteLentaNanos;
+    lock.lock();
+    try {
+      if (geracaoDaPermissao != geracao) {
+        return;
+      }
+
+      if (estado == CircuitState.MEIO_ABERTO) {
+        testesEmVoo--;
+        if (falha) {
+          abrir();
+        } else if (++testesComSucesso >= properties.getHalfOpenCalls()) {
+          transicionar(CircuitState.FECHADO);
+        }
+      } else if (estado == CircuitState.FECHADO) {
+        acumular(falha);
+        if (chamadas >= properties.getMinimumCalls()
+            && falhas >= properties.getFailureRateThreshold() * chamadas) {
+          abrir();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Devolve uma permissão cuja chamada nem chegou a sair. */
+  public void liberar(long geracaoDaPermissao) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      if (geracaoDaPermissao == geracao && estado == CircuitState.MEIO_ABERTO) {
+        testesEmVoo--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public CircuitState estado() {
+    return estado;
+  }
+
+  public double taxaDeFalhas() {
+    lock.lock();
+    try {
+      return chamadas == 0 ? 0.0 : (double) falhas / chamadas;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void abrir() {
+    abertoAte = relogio.getAsLong() + properties.getOpenDuration().toNanos();
+    transicionar(CircuitState.ABERTO);
+  }
+
+  private void acumular(boolean falha) {
+    if (chamadas == janela.length) {
+      if (janela[posicao]) {
+        falhas--;
+      }
+    } else {
+      chamadas++;
+    }
+    janela[posicao] = falha;
+    if (falha) {
+      falhas++;
+    }
+    posicao = (posicao + 1) % janela.length;
+  }
+
+  private void transicionar(CircuitState destino) {
+    log.warn("Circuito da API Python: {} -> {} (falhas {}/{})", estado, destino, falhas, chamadas);
+    estado = destino;
+    geracao++;
+    testesEmVoo = 0;
+    testesComSucesso = 0;
+    posicao = 0;
+    chamadas = 0;
+    falhas = 0;
+    transicoes.get(destino).increment();
+  }
+}
@@ -0,0 +1,203 @@
+package com.sentiment.backend.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.config.AnalysisMetricsProperties;
+import com.sentiment.backend.config.ModelServiceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP da API Python de predição. Usa um pool de conexões keep-alive
+ * (Apache HttpClient 5) com prazos de conexão, leitura e espera por conexão
+ * do pool, expondo a ocupação do pool e a latência das chamadas no actuator.
+ */
+@Slf4j
+@Component
+public class ModelClient {
+
+  private static final String PREDICT_PATH = "/predict";
+  private static final String PREDICT_AUTO_PATH = "/predict/auto";
+  private static final String PREDICT_BATCH_PATH = "/predict/batch";
+  private static final String NOME_POOL = "python-api";
+
+  private final CloseableHttpClient httpClient;
+  private final RestTemplate restTemplate;
+  private final JsonFactory jsonFactory;
+  private final MeterRegistry meterRegistry;
+  private final boolean medir;
+  private final Map<String, Timer> temposSucesso;
+  private final Map<String, Timer> temposErro;
+
+  public ModelClient(ModelServiceProperties properties, RestTemplateBuilder restTemplateBuilder,
+                     ObjectMapper objectMapper, AnalysisMetricsProperties metricsProperties,
+                     MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(properties.getMaxConnections())
+        .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(timeout(properties.getConnectTimeout()))
+            .setSocketTimeout(timeout(properties.getReadTimeout()))
+            .build())
+        .build();
+
+    this.httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+            .setResponseTimeout(timeout(properties.getReadTimeout()))
+            .setConnectionKeepAlive(TimeValue.ofMilliseconds(properties.getKeepAlive().toMillis()))
+            .build())
+        .evictIdleConnections(TimeValue.ofMilliseconds(properties.getKeepAlive().toMillis()))
+        .build();
+
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, NOME_POOL).bindTo(meterRegistry);
+
+    this.restTemplate = restTemplateBuilder
+        .rootUri(properties.getBaseUrl())
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+        .build();
+    this.jsonFactory = objectMapper.getFactory();
+    this.meterRegistry = meterRegistry;
+    this.medir = metricsProperties.isEnabled();
+    this.temposSucesso = Map.of(
+        PREDICT_PATH, tempo(meterRegistry, PREDICT_PATH, "success"),
+        PREDICT_AUTO_PATH, tempo(meterRegistry, PREDICT_AUTO_PATH, "success"),
+        PREDICT_BATCH_PATH, tempo(meterRegistry, PREDICT_BATCH_PATH, "success"));
+    this.temposErro = Map.of(
+        PREDICT_PATH, tempo(meterRegistry, PREDICT_PATH, "error"),
+        PREDICT_AUTO_PATH, tempo(meterRegistry, PREDICT_AUTO_PATH, "error"),
+        PREDICT_BATCH_PATH, tempo(meterRegistry, PREDICT_BATCH_PATH, "error"));
+
+    log.info("Cliente do modelo configurado para {} (pool de {} conexões)",
+        properties.getBaseUrl(), properties.getMaxConnections());
+  }
+
+  public ModelResponse prever(String texto, Integer rating, Boolean recommendToFriend) {
+    ModelRequest request = new ModelRequest(texto, rating, recommendToFriend);
+    String caminho = request.usaModeloEnhanced() ? PREDICT_AUTO_PATH : PREDICT_PATH;
+    long inicio = medir ? System.nanoTime() : 0L;
+
+    try {
+      ModelResponse resposta = restTemplate.execute(
+          caminho,
+          HttpMethod.POST,
+          restTemplate.httpEntityCallback(request, ModelResponse.class),
+          response -> {
+            try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+              return ModelResponseDecoder.decodificar(parser);
+            }
+          });
+      registrar(temposSucesso, caminho, inicio);
+      return resposta;
+    } catch (RuntimeException e) {
+      registrar(temposErro, caminho, inicio);
+      contarErro(caminho, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Envia vários pedidos em uma chamada a {@code /predict/batch}. A API
+   * escolhe o modelo de cada item como em {@code /predict/auto}.
+   *
+   * @return as respostas na ordem dos pedidos, com {@code null} para os
+   * itens que a API recusou
+   */
+  public List<ModelResponse> preverLote(List<ModelRequest> requests) {
+    long inicio = medir ? System.nanoTime() : 0L;
+
+    try {
+      List<ModelResponse> respostas = restTemplate.execute(
+          PREDICT_BATCH_PATH,
+          HttpMethod.POST,
+          restTemplate.httpEntityCallback(new ModelBatchRequest(requests), List.class),
+          response -> {
+            try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+              return ModelResponseDecoder.decodificarLote(parser);
+            }
+          });
+      if (respostas == null || respostas.size() != requests.size()) {
+        throw new IllegalStateException(String.format("Lote de %d textos voltou com %d resultados",
+            requests.size(), respostas == null ? 0 : respostas.size()));
+      }
+      registrar(temposSucesso, PREDICT_BATCH_PATH, inicio);
+      return respostas;
+    } catch (RuntimeException e) {
+      registrar(temposErro, PREDICT_BATCH_PATH, inicio);
+      contarErro(PREDICT_BATCH_PATH, e);
+      throw e;
+    }
+  }
+
+  @PreDestroy
+  public void fechar() throws IOException {
+    httpClient.close();
+  }
+
+  private void registrar(Map<String, Timer> tempos, String caminho, long inicio) {
+    if (medir) {
+      tempos.get(caminho).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void contarErro(String caminho, RuntimeException e) {
+    if (!medir) {
+      return;
+    }
+
+    String tipo;
+    if (e instanceof RestClientResponseException resposta) {
+      tipo = "http_" + resposta.getStatusCode().value();
+    } else if (e instanceof ResourceAccessException && e.getCause() != null) {
+      tipo = e.getCause().getClass().getSimpleName();
+    } else {
+      tipo = e.getClass().getSimpleName();
+    }
+
+    Counter.builder("sentiment.model.errors")
+        .description("Chamadas ao modelo que falharam, por endpoint e tipo de erro")
+        .tag("endpoint", caminho)
+        .tag("error", tipo)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private static Timer tempo(MeterRegistry meterRegistry, String caminho, String resultado) {
+    return Timer.builder("sentiment.model.request")
+        .description("Tempo das chamadas à API Python, por endpoint")
+        .tag("endpoint", caminho)
+        .tag("outcome", resultado)
+        .register(meterRegistry);
+  }
+
+  private static Timeout timeout(Duration duracao) {
+    return Timeout.ofMilliseconds(duracao.toMillis());
+  }
+}
@@ -0,0 +1,15 @@
+package com.sentiment.backend.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ModelRequest(
+    String text,
+    Integer rating,
+    @JsonProperty("recommend_to_friend") Boolean recommendToFriend) {
+
+  public boolean usaModeloEnhanced() {
+    return rating != null && recommendToFriend != null;
+  }
+}
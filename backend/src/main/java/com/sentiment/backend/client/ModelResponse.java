@@ -0,0 +1,13 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.model.SentimentType;
+
+/**
+ * Resposta da API Python: apenas os campos usados pelo backend. Os demais
+ * ({@code probabilidades_detalhadas}, {@code modelo_usado}, ...) são ignorados
+ * pelo {@link ModelResponseDecoder}.
+ */
+public record ModelResponse(SentimentType previsao, double probabilidade) {
+
+  public static final double CONFIANCA_PADRAO = 0.85;
+}
@@ -0,0 +1,136 @@
+package com.sentiment.backend.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sentiment.backend.model.SentimentType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê a resposta da API Python direto do parser de streaming do Jackson, sem
+ * montar um Map intermediário. A previsão é comparada sobre o buffer de
+ * caracteres do parser e a probabilidade lida como double, então uma
+ * resposta não gera Strings nem números boxed. Campos desconhecidos são
+ * ignorados.
+ */
+public final class ModelResponseDecoder {
+
+  private static final String CAMPO_PREVISAO = "previsao";
+  private static final String CAMPO_PROBABILIDADE = "probabilidade";
+  private static final String CAMPO_RESULTADOS = "resultados";
+  private static final String CAMPO_ERRO = "erro";
+
+  private ModelResponseDecoder() {
+  }
+
+  /**
+   * @return a resposta decodificada, ou {@code null} se o corpo estiver
+   * vazio ou for o literal {@code null}
+   */
+  public static ModelResponse decodificar(JsonParser parser) throws IOException {
+    JsonToken inicio = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+    if (inicio == null || inicio == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (inicio != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Resposta do modelo deveria ser um objeto JSON, mas começa com " + inicio);
+    }
+
+    return lerObjeto(parser, false);
+  }
+
+  /**
+   * Lê a resposta de {@code /predict/batch}: os resultados na ordem dos
+   * itens enviados, com {@code null} para os itens que a API recusou.
+   */
+  public static List<ModelResponse> decodificarLote(JsonParser parser) throws IOException {
+    JsonToken inicio = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+    if (inicio != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Resposta do lote deveria ser um objeto JSON, mas começa com " + inicio);
+    }
+
+    List<ModelResponse> resultados = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String campo = parser.currentName();
+      JsonToken valor = parser.nextToken();
+
+      if (CAMPO_RESULTADOS.equals(campo) && valor == JsonToken.START_ARRAY) {
+        resultados = new ArrayList<>();
+        while ((valor = parser.nextToken()) != JsonToken.END_ARRAY) {
+          resultados.add(valor == JsonToken.START_OBJECT ? lerObjeto(parser, true) : null);
+          if (valor != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    if (resultados == null) {
+      throw new JsonParseException(parser, "Resposta do lote sem o campo " + CAMPO_RESULTADOS);
+    }
+    return resultados;
+  }
+
+  // Com o parser em START_OBJECT, lê até o END_OBJECT correspondente.
+  private static ModelResponse lerObjeto(JsonParser parser, boolean aceitarErro) throws IOException {
+    SentimentType previsao = SentimentType.NEUTRO;
+    double probabilidade = ModelResponse.CONFIANCA_PADRAO;
+    boolean erro = false;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String campo = parser.currentName();
+      JsonToken valor = parser.nextToken();
+
+      if (aceitarErro && CAMPO_ERRO.equals(campo)) {
+        erro = true;
+        parser.skipChildren();
+      } else if (CAMPO_PREVISAO.equals(campo)) {
+        previsao = valor == JsonToken.VALUE_STRING ? mapearPrevisao(parser) : SentimentType.NEUTRO;
+      } else if (CAMPO_PROBABILIDADE.equals(campo)) {
+        probabilidade = valor.isNumeric() ? parser.getDoubleValue() : ModelResponse.CONFIANCA_PADRAO;
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    return erro ? null : new ModelResponse(previsao, probabilidade);
+  }
+
+  private static SentimentType mapearPrevisao(JsonParser parser) throws IOException {
+    char[] texto = parser.getTextCharacters();
+    int inicio = parser.getTextOffset();
+    int tamanho = parser.getTextLength();
+
+    if (igualIgnorandoCaixa(texto, inicio, tamanho, "positivo")) {
+      return SentimentType.POSITIVO;
+    }
+    if (igualIgnorandoCaixa(texto, inicio, tamanho, "negativo")) {
+      return SentimentType.NEGATIVO;
+    }
+    return SentimentType.NEUTRO;
+  }
+
+  // Só dobra A-Z: para "positivo"/"negativo" equivale a String.toLowerCase()
+  // seguido de equals, que era a comparação feita sobre o Map.
+  private static boolean igualIgnorandoCaixa(char[] texto, int inicio, int tamanho, String alvo) {
+    if (tamanho != alvo.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < tamanho; i++) {
+      char c = texto[inicio + i];
+      if (c >= 'A' && c <= 'Z') {
+        c = (char) (c + ('a' - 'A'));
+      }
+      if (c != alvo.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,60 @@
+package com.sentiment.backend.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Passa cada chamada à API Python pelo {@link ModelCircuitBreaker} e pelo
+ * {@link AdaptiveConcurrencyLimit}, e informa a ambos a duração e o
+ * resultado quando ela termina.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelServiceGuard {
+
+  private final ModelCircuitBreaker circuitBreaker;
+  private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+  /**
+   * Dispara a chamada se o circuito e o limite permitirem.
+   *
+   * @throws ModelCallRejectedException se a chamada for recusada antes de sair
+   */
+  public <T> CompletableFuture<T> executar(Supplier<CompletableFuture<T>> chamada) {
+    long geracao = circuitBreaker.adquirir();
+    try {
+      concurrencyLimit.adquirir();
+    } catch (RuntimeException e) {
+      circuitBreaker.liberar(geracao);
+      throw e;
+    }
+
+    long inicio = System.nanoTime();
+    CompletableFuture<T> resposta;
+    try {
+      resposta = chamada.get();
+    } catch (RuntimeException e) {
+      concurrencyLimit.liberar();
+      circuitBreaker.liberar(geracao);
+      throw e;
+    }
+
+    return resposta.whenComplete((valor, erro) -> {
+      long duracao = System.nanoTime() - inicio;
+      boolean sucesso = erro == null && valor != null;
+      concurrencyLimit.registrar(duracao, sucesso);
+      circuitBreaker.registrar(geracao, duracao, sucesso);
+    });
+  }
+
+  public ModelCircuitBreaker circuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public AdaptiveConcurrencyLimit concurrencyLimit() {
+    return concurrencyLimit;
+  }
+}
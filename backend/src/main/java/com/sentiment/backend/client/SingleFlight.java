@@ -0,0 +1,61 @@
+package com.sentiment.backend.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes com a mesma chave: a primeira
+ * dispara a chamada e as que chegam enquanto ela está em voo recebem o mesmo
+ * future. A entrada sai do mapa assim que a chamada termina, então nada é
+ * guardado depois disso (isso é papel do cache).
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> emVoo = new ConcurrentHashMap<>();
+  private final Counter coalescidas;
+
+  public SingleFlight(MeterRegistry meterRegistry, String nomeMetrica) {
+    this.coalescidas = Counter.builder(nomeMetrica + ".coalesced")
+        .description("Chamadas que reaproveitaram uma chamada idêntica já em andamento")
+        .register(meterRegistry);
+    Gauge.builder(nomeMetrica + ".inflight", emVoo, ConcurrentMap::size)
+        .description("Chamadas distintas em andamento")
+        .register(meterRegistry);
+  }
+
+  public CompletableFuture<V> executar(K chave, Supplier<CompletableFuture<V>> chamada) {
+    CompletableFuture<V> compartilhado = new CompletableFuture<>();
+    CompletableFuture<V> existente = emVoo.putIfAbsent(chave, compartilhado);
+    if (existente != null) {
+      coalescidas.increment();
+      return existente;
+    }
+
+    try {
+      chamada.get().whenComplete((valor, erro) -> {
+        emVoo.remove(chave, compartilhado);
+        if (erro != null) {
+          compartilhado.completeExceptionally(erro);
+        } else {
+          compartilhado.complete(valor);
+        }
+      });
+    } catch (RuntimeException e) {
+      emVoo.remove(chave, compartilhado);
+      compartilhado.completeExceptionally(e);
+      throw e;
+    }
+
+    return compartilhado;
+  }
+
+  public int emAndamento() {
+    return emVoo.size();
+  }
+}
@@ -0,0 +1,19 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "analysis-cache")
+public class AnalysisCacheProperties {
+
+  private boolean enabled = true;
+
+  private long maxSize = 10000;
+
+  private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,14 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "analysis-metrics")
+public class AnalysisMetricsProperties {
+
+  /** Desligado, nenhuma etapa lê o relógio nem incrementa contadores. */
+  private boolean enabled = true;
+}
@@ -0,0 +1,17 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "batch")
+public class BatchProperties {
+
+  private int maxItems = 10000;
+
+  private int chunkSize = 100;
+
+  private int parallelism = 8;
+}
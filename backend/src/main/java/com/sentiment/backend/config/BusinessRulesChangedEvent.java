@@ -0,0 +1,9 @@
+package com.sentiment.backend.config;
+
+/**
+ * Publicado quando as regras de negócio (setores, alertas, templates) mudam
+ * em tempo de execução. Quem guarda respostas montadas com as regras
+ * antigas deve descartá-las.
+ */
+public record BusinessRulesChangedEvent(String origem) {
+}
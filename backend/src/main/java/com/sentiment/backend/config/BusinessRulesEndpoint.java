@@ -0,0 +1,41 @@
+package com.sentiment.backend.config;
+
+import com.sentiment.backend.service.BusinessRuleService;
+import com.sentiment.backend.service.BusinessRulesReloader;
+import com.sentiment.backend.service.BusinessRulesStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/businessrules}: versão e origem das regras de negócio em
+ * vigor (GET) e recarga a partir de {@code business-rules-reload.file}
+ * (POST).
+ */
+@Component
+@Endpoint(id = "businessrules")
+@RequiredArgsConstructor
+public class BusinessRulesEndpoint {
+
+  private final BusinessRuleService businessRuleService;
+  private final BusinessRulesReloader reloader;
+
+  @ReadOperation
+  public BusinessRulesStatus status() {
+    return businessRuleService.status();
+  }
+
+  @WriteOperation
+  public ReloadResult recarregar() {
+    try {
+      return new ReloadResult(true, null, reloader.recarregar());
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return new ReloadResult(false, e.getMessage(), businessRuleService.status());
+    }
+  }
+
+  public record ReloadResult(boolean aplicado, String erro, BusinessRulesStatus regras) {
+  }
+}
@@ -0,0 +1,26 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "business-rules-reload")
+public class BusinessRulesReloadProperties {
+
+  /**
+   * YAML com uma seção {@code business-rules}, no mesmo formato do
+   * application.yml, que substitui as regras embutidas. Vazio: só as do
+   * application.yml.
+   */
+  private String file = "";
+
+  /** Recarrega as regras quando o arquivo muda. */
+  private boolean watch = true;
+
+  /** Espera depois da primeira mudança, para juntar as gravações de um mesmo salvamento. */
+  private Duration debounce = Duration.ofMillis(200);
+}
@@ -0,0 +1,80 @@
+package com.sentiment.backend.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executores da aplicação. Com {@code spring.threads.virtual.enabled}, os
+ * workers passam a ser virtual threads: os limites de concorrência e de fila
+ * continuam os mesmos, mas cada tarefa bloqueada em I/O deixa de ocupar uma
+ * thread de plataforma. A exceção é o executor do modelo, que nesse modo
+ * cria uma virtual thread por chamada.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  @Bean
+  public ThreadPoolTaskExecutor batchExecutor(BatchProperties properties, Environment environment) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getParallelism());
+    executor.setMaxPoolSize(properties.getParallelism());
+    configurarThreads(executor, "batch-", environment);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor purgeExecutor(Environment environment) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    configurarThreads(executor, "purge-", environment);
+    return executor;
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor rescoreExecutor(Environment environment) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    configurarThreads(executor, "rescore-", environment);
+    return executor;
+  }
+
+  /**
+   * Com virtual threads, uma thread por chamada, sem pool nem fila: quem
+   * limita as chamadas simultâneas à API Python é o ModelServiceGuard (limite
+   * adaptativo e circuit breaker) e o pool de conexões do cliente. Um pool
+   * fixo aqui recusaria as análises excedentes, que cairiam no léxico.
+   */
+  @Bean
+  public AsyncTaskExecutor modelExecutor(ModelRoutingProperties properties, Environment environment) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("model-");
+      executor.setVirtualThreads(true);
+      return executor;
+    }
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getMaxConcurrentCalls());
+    executor.setMaxPoolSize(properties.getMaxConcurrentCalls());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    configurarThreads(executor, "model-", environment);
+    return executor;
+  }
+
+  private static void configurarThreads(ThreadPoolTaskExecutor executor, String prefixo, Environment environment) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      executor.setThreadFactory(Thread.ofVirtual().name(prefixo, 1).factory());
+    } else {
+      executor.setThreadNamePrefix(prefixo);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "history")
+public class HistoryProperties {
+
+  private int maxPageSize = 500;
+
+  private int exportFetchSize = 1000;
+}
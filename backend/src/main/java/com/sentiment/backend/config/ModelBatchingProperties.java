@@ -0,0 +1,33 @@
+package com.sentiment.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "model-batching")
+public class ModelBatchingProperties {
+
+  /** Junta chamadas simultâneas em {@code /predict/batch}; exige a API Python com essa rota. */
+  private boolean enabled = false;
+
+  /**
+   * Pedidos por chamada a {@code /predict/batch}. O teto é o
+   * {@code MAX_BATCH_SIZE} da API Python, que recusa lotes maiores.
+   */
+  @Min(1)
+  @Max(256)
+  private int maxBatchSize = 32;
+
+  /** Espera máxima pelo lote encher; com pouco tráfego a espera é zero. */
+  private Duration maxWait = Duration.ofMillis(5);
+
+  private int queueCapacity = 1000;
+}
@@ -0,0 +1,57 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "model-protection")
+public class ModelProtectionProperties {
+
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+  @Data
+  public static class CircuitBreaker {
+
+    private boolean enabled = true;
+
+    /** Quantas chamadas recentes entram na taxa de falhas. */
+    private int windowSize = 50;
+
+    /** Abaixo disso a janela ainda não decide nada. */
+    private int minimumCalls = 20;
+
+    private double failureRateThreshold = 0.5;
+
+    /** Chamadas mais lentas que isso contam como falha. */
+    private Duration slowCallThreshold = Duration.ofMillis(1500);
+
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /** Chamadas de teste no estado meio-aberto. */
+    private int halfOpenCalls = 5;
+  }
+
+  @Data
+  public static class ConcurrencyLimit {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 16;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 32;
+
+    /** Chamadas mais lentas que isso reduzem o limite, como as que falham. */
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+
+    /** Fator multiplicativo aplicado ao limite a cada falha ou chamada lenta. */
+    private double backoffRatio = 0.9;
+  }
+}
@@ -0,0 +1,30 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "model-routing")
+public class ModelRoutingProperties {
+
+  private Duration latencyBudget = Duration.ofMillis(1500);
+
+  private boolean lexiconFirst = false;
+
+  private boolean coalesceRequests = true;
+
+  private int maxConcurrentCalls = 32;
+
+  private int queueCapacity = 200;
+
+  /** Responde com o modelo exportado para a JVM, sem chamar a API Python. */
+  private boolean localInference = false;
+
+  private Resource localModel = new ClassPathResource("model/sentiment-model.bin");
+}
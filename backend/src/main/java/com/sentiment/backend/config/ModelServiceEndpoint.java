@@ -0,0 +1,33 @@
+package com.sentiment.backend.config;
+
+import com.sentiment.backend.client.AdaptiveConcurrencyLimit;
+import com.sentiment.backend.client.ModelCircuitBreaker;
+import com.sentiment.backend.client.ModelServiceGuard;
+import com.sentiment.backend.model.CircuitState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/modelservice}: estado do circuito da API Python e limite
+ * de concorrência em vigor.
+ */
+@Component
+@Endpoint(id = "modelservice")
+@RequiredArgsConstructor
+public class ModelServiceEndpoint {
+
+  private final ModelServiceGuard guard;
+
+  @ReadOperation
+  public ModelServiceStatus status() {
+    ModelCircuitBreaker circuitBreaker = guard.circuitBreaker();
+    AdaptiveConcurrencyLimit concurrencyLimit = guard.concurrencyLimit();
+    return new ModelServiceStatus(circuitBreaker.estado(), circuitBreaker.taxaDeFalhas(),
+        concurrencyLimit.limite(), concurrencyLimit.emVoo());
+  }
+
+  public record ModelServiceStatus(CircuitState circuito, double taxaDeFalhas, int limite, int emVoo) {
+  }
+}
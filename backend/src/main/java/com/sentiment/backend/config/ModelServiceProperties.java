@@ -0,0 +1,27 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "model-service")
+public class ModelServiceProperties {
+
+  private String baseUrl = "http://python-api:8000";
+
+  private int maxConnections = 64;
+
+  private int maxConnectionsPerRoute = 64;
+
+  private Duration connectTimeout = Duration.ofMillis(500);
+
+  private Duration readTimeout = Duration.ofSeconds(2);
+
+  private Duration connectionRequestTimeout = Duration.ofMillis(250);
+
+  private Duration keepAlive = Duration.ofSeconds(30);
+}
@@ -0,0 +1,50 @@
+package com.sentiment.backend.config;
+
+import com.sentiment.backend.dto.RescoreStatusResponse;
+import com.sentiment.backend.service.RescoreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/rescore}: andamento e vazão da reavaliação do histórico
+ * (GET), início ou retomada (POST, com {@code retomar} e
+ * {@code incluirModelo} opcionais) e interrupção (DELETE).
+ */
+@Component
+@Endpoint(id = "rescore")
+@RequiredArgsConstructor
+public class RescoreEndpoint {
+
+  private final RescoreService rescoreService;
+
+  @ReadOperation
+  public RescoreStatusResponse status() {
+    return rescoreService.status();
+  }
+
+  @WriteOperation
+  public RescoreResult iniciar(@Nullable Boolean retomar, @Nullable Boolean incluirModelo) {
+    try {
+      return new RescoreResult(true, null, rescoreService.iniciar(Boolean.TRUE.equals(retomar), incluirModelo));
+    } catch (IllegalStateException e) {
+      return new RescoreResult(false, e.getMessage(), rescoreService.status());
+    }
+  }
+
+  @DeleteOperation
+  public RescoreResult interromper() {
+    try {
+      return new RescoreResult(true, null, rescoreService.interromper());
+    } catch (IllegalStateException e) {
+      return new RescoreResult(false, e.getMessage(), rescoreService.status());
+    }
+  }
+
+  public record RescoreResult(boolean aceito, String erro, RescoreStatusResponse status) {
+  }
+}
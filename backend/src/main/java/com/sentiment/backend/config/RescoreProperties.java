@@ -0,0 +1,26 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rescore")
+public class RescoreProperties {
+
+  /** Faixa de ids lida, reavaliada e gravada em cada transação. */
+  private int chunkSize = 1000;
+
+  /** Threads do ForkJoinPool que reavaliam as análises de um lote. */
+  private int parallelism = 2;
+
+  /** Teto de análises reavaliadas por segundo, para não competir com o tráfego; 0 desliga. */
+  private int maxRowsPerSecond = 2000;
+
+  /** Também refaz a previsão do modelo (só vale quando o modelo responde; fallback mantém a previsão gravada). */
+  private boolean includeModel = false;
+
+  /** Inicia uma reavaliação sempre que as regras de negócio forem recarregadas. */
+  private boolean onRulesChange = false;
+}
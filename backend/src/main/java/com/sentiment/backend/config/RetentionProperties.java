@@ -0,0 +1,19 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "retention")
+public class RetentionProperties {
+
+  private Duration keep = Duration.ofDays(90);
+
+  private String cron = "-";
+
+  private int chunkSize = 5000;
+}
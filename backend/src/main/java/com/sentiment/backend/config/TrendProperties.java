@@ -0,0 +1,28 @@
+package com.sentiment.backend.config;
+
+import com.sentiment.backend.model.TrendGranularity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "trends")
+public class TrendProperties {
+
+  private int minuteBuckets = 1440;
+
+  private int hourBuckets = 168;
+
+  private int dayBuckets = 90;
+
+  private int maxPoints = 5000;
+
+  public int baldesEmMemoria(TrendGranularity granularidade) {
+    return switch (granularidade) {
+      case MINUTO -> minuteBuckets;
+      case HORA -> hourBuckets;
+      case DIA -> dayBuckets;
+    };
+  }
+}
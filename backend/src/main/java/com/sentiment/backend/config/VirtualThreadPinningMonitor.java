@@ -0,0 +1,85 @@
+package com.sentiment.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * No modo de virtual threads, acompanha o evento JFR
+ * {@code jdk.VirtualThreadPinned}: uma virtual thread que bloqueia dentro de
+ * um {@code synchronized} (ou de código nativo) prende a thread carrier, e
+ * poucas delas bastam para travar todas as requisições. Cada pinagem acima
+ * do limite vira um registro no timer {@code jvm.threads.virtual.pinned} e
+ * um WARN com o topo da pilha.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  static final String EVENTO = "jdk.VirtualThreadPinned";
+
+  private final VirtualThreadProperties properties;
+  private final Timer pinagens;
+
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.pinagens = Timer.builder("jvm.threads.virtual.pinned")
+        .description("Tempo em que virtual threads bloquearam presas à thread carrier")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void start() {
+    stream = new RecordingStream();
+    stream.enable(EVENTO).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+    stream.onEvent(EVENTO, this::registrar);
+    stream.startAsync();
+    log.info("Monitorando pinagem de virtual threads acima de {} ms", properties.getPinnedThreshold().toMillis());
+  }
+
+  @Override
+  public void stop() {
+    stream.close();
+    stream = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  private void registrar(RecordedEvent evento) {
+    pinagens.record(evento.getDuration());
+    log.warn("Virtual thread {} presa à carrier por {} ms em:\n\t{}",
+        evento.getThread() != null ? evento.getThread().getJavaName() : "?",
+        evento.getDuration().toMillis(), pilha(evento.getStackTrace()));
+  }
+
+  private String pilha(RecordedStackTrace pilha) {
+    if (pilha == null) {
+      return "(sem pilha)";
+    }
+    return pilha.getFrames().stream()
+        .limit(properties.getPinnedStackDepth())
+        .map(VirtualThreadPinningMonitor::frame)
+        .collect(Collectors.joining("\n\t"));
+  }
+
+  private static String frame(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+        + ":" + frame.getLineNumber();
+  }
+}
@@ -0,0 +1,19 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+  /** Pinagens mais curtas que isso não são registradas. */
+  private Duration pinnedThreshold = Duration.ofMillis(20);
+
+  /** Quantos frames da pilha entram no log de cada pinagem. */
+  private int pinnedStackDepth = 8;
+}
@@ -0,0 +1,25 @@
+package com.sentiment.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "write-behind")
+public class WriteBehindProperties {
+
+  private boolean enabled = true;
+
+  private int queueCapacity = 10000;
+
+  private int batchSize = 200;
+
+  private Duration flushInterval = Duration.ofMillis(200);
+
+  private Duration offerTimeout = Duration.ofMillis(50);
+
+  private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -1,8 +1,19 @@
 package com.sentiment.backend.controller;
 
+import com.sentiment.backend.dto.SentimentBatchResponse;
+import com.sentiment.backend.dto.HistoryExportFormat;
+import com.sentiment.backend.dto.PurgeStatusResponse;
+import com.sentiment.backend.dto.SentimentDistributionResponse;
+import com.sentiment.backend.dto.SentimentHistoryFilter;
+import com.sentiment.backend.dto.SentimentHistoryResponse;
 import com.sentiment.backend.dto.SentimentRequest;
 import com.sentiment.backend.dto.SentimentResponse;
 import com.sentiment.backend.dto.SentimentStatsResponse;
+import com.sentiment.backend.dto.SentimentTrendResponse;
+import com.sentiment.backend.model.TrendGranularity;
+import com.sentiment.backend.service.SentimentBatchService;
+import com.sentiment.backend.service.RetentionService;
+import com.sentiment.backend.service.SentimentHistoryService;
 import com.sentiment.backend.service.SentimentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,13 +23,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -29,6 +49,9 @@ import java.util.List;
 public class SentimentController {
 
   private final SentimentService sentimentService;
+  private final SentimentBatchService sentimentBatchService;
+  private final SentimentHistoryService sentimentHistoryService;
+  private final RetentionService retentionService;
 
   @Operation(summary = "Analisa o sentimento de um texto", description = "Recebe um texto e retorna a classificação do sentimento com probabilidade")
   @ApiResponses({
@@ -51,6 +74,34 @@ public class SentimentController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "Analisa o sentimento de vários textos", description = "Recebe um array JSON de requisições e retorna os resultados por item, na mesma ordem")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Lote processado (erros são informados por item)", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SentimentBatchResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Lote acima do limite permitido"),
+      @ApiResponse(responseCode = "500", description = "Erro interno")
+  })
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SentimentBatchResponse> analisarLote(
+      @Parameter(description = "Lista de textos para análise", required = true) @RequestBody List<SentimentRequest> requests) {
+
+    log.debug("Recebida requisição de análise em lote com {} itens", requests.size());
+
+    return ResponseEntity.ok(sentimentBatchService.analisarLote(requests));
+  }
+
+  @Operation(summary = "Analisa o sentimento de vários textos (NDJSON)", description = "Recebe uma requisição JSON por linha e retorna os resultados por item, na mesma ordem")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Lote processado (erros são informados por item)", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SentimentBatchResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Lote acima do limite permitido"),
+      @ApiResponse(responseCode = "500", description = "Erro interno")
+  })
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SentimentBatchResponse> analisarLoteNdjson(InputStream corpo) throws IOException {
+    log.debug("Recebida requisição de análise em lote (NDJSON)");
+
+    return ResponseEntity.ok(sentimentBatchService.analisarNdjson(corpo));
+  }
+
   @Operation(summary = "Obtém estatísticas", description = "Retorna métricas agregadas das análises realizadas")
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = SentimentStatsResponse.class)))),
@@ -67,9 +118,99 @@ public class SentimentController {
     return ResponseEntity.ok(stats);
   }
 
+  @Operation(summary = "Obtém a distribuição por setor e prioridade", description = "Retorna a quantidade de análises por setor e por prioridade")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Distribuição recuperada", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SentimentDistributionResponse.class))),
+      @ApiResponse(responseCode = "500", description = "Erro ao buscar distribuição")
+  })
+  @GetMapping(value = "/stats/distribuicao", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SentimentDistributionResponse> obterDistribuicao() {
+    log.debug("Requisição de distribuição recebida");
+
+    return ResponseEntity.ok(sentimentService.gerarDistribuicao());
+  }
+
+  @Operation(summary = "Obtém a tendência ao longo do tempo", description = "Retorna, por minuto, hora ou dia, a quantidade de análises por sentimento, setor e prioridade no período")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Tendência recuperada", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SentimentTrendResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Período inválido ou com baldes demais para a granularidade"),
+      @ApiResponse(responseCode = "500", description = "Erro ao buscar tendência")
+  })
+  @GetMapping(value = "/trends", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SentimentTrendResponse> obterTendencias(
+      @Parameter(description = "Tamanho de cada balde") @RequestParam(defaultValue = "HORA") TrendGranularity granularidade,
+      @Parameter(description = "Início do período (padrão: uma janela antes do fim)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+      @Parameter(description = "Fim do período, exclusivo (padrão: agora)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+    log.debug("Requisição de tendência recebida: {} de {} até {}", granularidade, inicio, fim);
+
+    return ResponseEntity.ok(sentimentService.gerarTendencias(granularidade, inicio, fim));
+  }
+
+  @Operation(summary = "Lista o histórico de análises", description = "Retorna as análises da mais recente para a mais antiga, com filtros opcionais. Para a próxima página, envie o proximoCursor recebido")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Página recuperada", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SentimentHistoryResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido"),
+      @ApiResponse(responseCode = "500", description = "Erro ao buscar histórico")
+  })
+  @GetMapping(value = "/history", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SentimentHistoryResponse> listarHistorico(
+      @ParameterObject SentimentHistoryFilter filtro,
+      @Parameter(description = "Cursor devolvido pela página anterior") @RequestParam(required = false) String cursor,
+      @Parameter(description = "Quantidade de análises por página") @RequestParam(defaultValue = "50") int limite) {
+    log.debug("Requisição de histórico recebida: {} (limite {})", filtro, limite);
+
+    return ResponseEntity.ok(sentimentHistoryService.listar(filtro, cursor, limite));
+  }
+
+  @Operation(summary = "Exporta o histórico de análises", description = "Envia todas as análises do filtro em NDJSON ou CSV, em streaming")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Exportação enviada"),
+      @ApiResponse(responseCode = "500", description = "Erro ao exportar histórico")
+  })
+  @GetMapping("/history/export")
+  public void exportarHistorico(
+      @ParameterObject SentimentHistoryFilter filtro,
+      @Parameter(description = "Formato do arquivo") @RequestParam(defaultValue = "NDJSON") HistoryExportFormat formato,
+      HttpServletResponse response) throws IOException {
+    boolean csv = formato == HistoryExportFormat.CSV;
+    response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"historico." + (csv ? "csv" : "ndjson") + "\"");
+
+    sentimentHistoryService.exportar(filtro, formato, response.getOutputStream());
+  }
+
+  @Operation(summary = "Remove todo o histórico", description = "Inicia a remoção em segundo plano e retorna o andamento; acompanhe em GET /sentiment/purge")
+  @ApiResponses({
+      @ApiResponse(responseCode = "202", description = "Remoção iniciada", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PurgeStatusResponse.class))),
+      @ApiResponse(responseCode = "409", description = "Já existe uma remoção em andamento")
+  })
   @DeleteMapping("/clear")
-  public ResponseEntity<Void> limpar() {
-    sentimentService.limparHistorico();
-    return ResponseEntity.ok().build();
+  public ResponseEntity<PurgeStatusResponse> limpar() {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(sentimentService.limparHistorico());
+  }
+
+  @Operation(summary = "Aplica a política de retenção", description = "Remove em segundo plano as análises mais antigas que o período de retenção (retention.keep, ou manterDias se informado)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "202", description = "Remoção iniciada", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PurgeStatusResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Período inválido"),
+      @ApiResponse(responseCode = "409", description = "Já existe uma remoção em andamento")
+  })
+  @PostMapping(value = "/retention", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PurgeStatusResponse> aplicarRetencao(
+      @Parameter(description = "Dias de histórico a manter") @RequestParam(required = false) Integer manterDias) {
+    Duration manter = manterDias != null ? Duration.ofDays(manterDias) : null;
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(retentionService.iniciarRetencao(manter));
+  }
+
+  @Operation(summary = "Andamento da remoção do histórico", description = "Retorna a remoção em andamento ou a última concluída")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Andamento recuperado", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PurgeStatusResponse.class))),
+      @ApiResponse(responseCode = "204", description = "Nenhuma remoção foi executada")
+  })
+  @GetMapping(value = "/purge", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PurgeStatusResponse> obterAndamentoRemocao() {
+    PurgeStatusResponse status = retentionService.status();
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.noContent().build();
   }
 }
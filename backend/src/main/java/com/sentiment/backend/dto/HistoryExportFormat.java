@@ -0,0 +1,6 @@
+package com.sentiment.backend.dto;
+
+public enum HistoryExportFormat {
+    NDJSON,
+    CSV
+}
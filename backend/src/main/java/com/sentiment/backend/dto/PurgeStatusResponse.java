@@ -0,0 +1,42 @@
+package com.sentiment.backend.dto;
+
+import com.sentiment.backend.model.PurgeState;
+import com.sentiment.backend.model.PurgeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Andamento da remoção de análises do histórico")
+public class PurgeStatusResponse {
+
+  @Schema(description = "Limpeza completa ou aplicação da política de retenção", example = "RETENCAO")
+  private final PurgeType tipo;
+
+  @Schema(description = "Situação da remoção", example = "EM_ANDAMENTO")
+  private final PurgeState estado;
+
+  @Schema(description = "Análises criadas antes deste instante são removidas", example = "2026-07-20T03:30:00")
+  private final LocalDateTime corte;
+
+  @Schema(description = "Análises removidas até agora", example = "120000")
+  private final long removidas;
+
+  @Schema(description = "Lotes já processados", example = "24")
+  private final long lotes;
+
+  @Schema(description = "Percentual da faixa de ids já percorrida", example = "48.0")
+  private final double percentual;
+
+  @Schema(description = "Início da remoção", example = "2026-10-18T03:30:00")
+  private final LocalDateTime iniciadaEm;
+
+  @Schema(description = "Fim da remoção; nulo enquanto está em andamento")
+  private final LocalDateTime concluidaEm;
+
+  @Schema(description = "Motivo da falha, quando houver")
+  private final String erro;
+}
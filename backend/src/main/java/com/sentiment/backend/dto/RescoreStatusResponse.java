@@ -0,0 +1,44 @@
+package com.sentiment.backend.dto;
+
+import com.sentiment.backend.model.RescoreState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Andamento da reavaliação do histórico com as regras (e, opcionalmente, o modelo) em vigor")
+public class RescoreStatusResponse {
+
+  @Schema(description = "Situação da reavaliação", example = "EM_ANDAMENTO")
+  private final RescoreState estado;
+
+  @Schema(description = "Se a previsão do modelo também é refeita", example = "false")
+  private final boolean incluirModelo;
+
+  @Schema(description = "Análises já reavaliadas, somando execuções retomadas", example = "48000")
+  private final long processadas;
+
+  @Schema(description = "Análises que mudaram e foram regravadas", example = "3150")
+  private final long alteradas;
+
+  @Schema(description = "Último id gravado; a retomada continua a partir dele", example = "48213")
+  private final long ultimoIdProcessado;
+
+  @Schema(description = "Percentual da faixa de ids já percorrida", example = "48.0")
+  private final double percentual;
+
+  @Schema(description = "Vazão da execução atual, em análises por segundo", example = "1980.5")
+  private final double analisesPorSegundo;
+
+  @Schema(description = "Início da reavaliação", example = "2026-10-18T03:30:00")
+  private final LocalDateTime iniciadaEm;
+
+  @Schema(description = "Fim da execução; nulo enquanto está em andamento")
+  private final LocalDateTime concluidaEm;
+
+  @Schema(description = "Motivo da falha, quando houver")
+  private final String erro;
+}
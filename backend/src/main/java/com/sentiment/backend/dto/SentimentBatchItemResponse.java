@@ -0,0 +1,45 @@
+package com.sentiment.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de um item da análise em lote")
+public class SentimentBatchItemResponse {
+
+  @Schema(description = "Posição do item na requisição original", example = "0")
+  private int indice;
+
+  @Schema(description = "Se o item foi analisado com sucesso", example = "true")
+  private boolean sucesso;
+
+  @Schema(description = "Resultado da análise (ausente em caso de erro)")
+  private SentimentResponse resultado;
+
+  @Schema(description = "Mensagem de erro do item (ausente em caso de sucesso)", example = "O texto deve ter pelo menos 4 caracteres.")
+  private String erro;
+
+  public static SentimentBatchItemResponse sucesso(int indice, SentimentResponse resultado) {
+    return SentimentBatchItemResponse.builder()
+        .indice(indice)
+        .sucesso(true)
+        .resultado(resultado)
+        .build();
+  }
+
+  public static SentimentBatchItemResponse erro(int indice, String erro) {
+    return SentimentBatchItemResponse.builder()
+        .indice(indice)
+        .sucesso(false)
+        .erro(erro)
+        .build();
+  }
+}
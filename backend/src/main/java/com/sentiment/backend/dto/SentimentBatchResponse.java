@@ -0,0 +1,29 @@
+package com.sentiment.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resposta da análise de sentimento em lote")
+public class SentimentBatchResponse {
+
+  @Schema(description = "Quantidade de itens recebidos", example = "3")
+  private int total;
+
+  @Schema(description = "Quantidade de itens analisados com sucesso", example = "2")
+  private int sucessos;
+
+  @Schema(description = "Quantidade de itens com erro", example = "1")
+  private int falhas;
+
+  @Schema(description = "Resultados por item, na mesma ordem da requisição")
+  private List<SentimentBatchItemResponse> resultados;
+}
@@ -0,0 +1,22 @@
+package com.sentiment.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Distribuição das análises por setor e por prioridade")
+public class SentimentDistributionResponse {
+
+  @Schema(description = "Total de análises", example = "200")
+  private final long total;
+
+  @Schema(description = "Quantidade de análises por setor", example = "{\"LOGÍSTICA\": 120, \"GERAL\": 80}")
+  private final Map<String, Long> setores;
+
+  @Schema(description = "Quantidade de análises por prioridade", example = "{\"ALTA\": 40, \"BAIXA\": 160}")
+  private final Map<String, Long> prioridades;
+}
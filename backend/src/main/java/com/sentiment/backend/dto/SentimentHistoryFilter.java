@@ -0,0 +1,27 @@
+package com.sentiment.backend.dto;
+
+import com.sentiment.backend.model.SentimentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Filtros do histórico de análises (todos opcionais)")
+public record SentimentHistoryFilter(
+    @Schema(description = "Sentimento previsto", example = "NEGATIVO")
+    SentimentType sentimento,
+
+    @Schema(description = "Setor", example = "LOGÍSTICA")
+    String setor,
+
+    @Schema(description = "Prioridade", example = "ALTA")
+    String prioridade,
+
+    @Schema(description = "Análises criadas a partir deste instante", example = "2026-10-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime desde,
+
+    @Schema(description = "Análises criadas antes deste instante", example = "2026-10-18T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime ate) {
+}
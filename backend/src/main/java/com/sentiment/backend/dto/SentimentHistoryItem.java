@@ -0,0 +1,47 @@
+package com.sentiment.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sentiment.backend.model.SentimentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Análise gravada no histórico")
+public class SentimentHistoryItem {
+
+  @Schema(description = "Identificador da análise", example = "1024")
+  private final long id;
+
+  @JsonProperty("text")
+  @Schema(description = "Texto analisado")
+  private final String texto;
+
+  @JsonProperty("prediction")
+  @Schema(description = "Sentimento previsto", example = "NEGATIVO")
+  private final SentimentType previsao;
+
+  @JsonProperty("confidence")
+  @Schema(description = "Confiança da previsão (0.0 a 1.0)", example = "0.91")
+  private final double probabilidade;
+
+  @Schema(description = "Prioridade de atendimento", example = "ALTA")
+  private final String prioridade;
+
+  @Schema(description = "Setor recomendado", example = "LOGÍSTICA")
+  private final String setor;
+
+  @Schema(description = "Sugestão de resposta automática")
+  private final String sugestaoResposta;
+
+  @Schema(description = "Tags da análise", example = "[\"atraso\"]")
+  private final List<String> tags;
+
+  @JsonProperty("createdAt")
+  @Schema(description = "Momento da análise", example = "2026-10-18T14:03:12")
+  private final LocalDateTime criadoEm;
+}
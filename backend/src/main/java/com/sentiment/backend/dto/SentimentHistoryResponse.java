@@ -0,0 +1,19 @@
+package com.sentiment.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Página do histórico de análises, da mais recente para a mais antiga")
+public class SentimentHistoryResponse {
+
+  @Schema(description = "Análises da página")
+  private final List<SentimentHistoryItem> itens;
+
+  @Schema(description = "Cursor da próxima página; nulo quando não há mais análises", example = "MjAyNi0xMC0xOFQxNDowMzoxMnwxMDI0")
+  private final String proximoCursor;
+}
@@ -1,6 +1,8 @@
 package com.sentiment.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sentiment.backend.model.AnalysisEngine;
 import com.sentiment.backend.model.SentimentType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -36,4 +38,9 @@ public class SentimentResponse {
 
   @Schema(description = "Sugestão de resposta automática")
   private String sugestaoResposta;
+
+  @JsonProperty("engine")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Schema(description = "Motor que produziu a previsão: modelo Python ou léxico local", example = "MODELO")
+  private AnalysisEngine motor;
 }
@@ -0,0 +1,30 @@
+package com.sentiment.backend.dto;
+
+import com.sentiment.backend.model.SentimentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Contagens de um balde de tempo da série de tendência")
+public class SentimentTrendPoint {
+
+  @Schema(description = "Início do balde", example = "2026-10-18T14:00:00")
+  private final LocalDateTime inicio;
+
+  @Schema(description = "Total de análises no balde", example = "42")
+  private final long total;
+
+  @Schema(description = "Quantidade por sentimento", example = "{\"POSITIVO\": 30, \"NEUTRO\": 4, \"NEGATIVO\": 8}")
+  private final Map<SentimentType, Long> sentimentos;
+
+  @Schema(description = "Quantidade por setor", example = "{\"LOGÍSTICA\": 10, \"GERAL\": 32}")
+  private final Map<String, Long> setores;
+
+  @Schema(description = "Quantidade por prioridade", example = "{\"ALTA\": 8, \"BAIXA\": 34}")
+  private final Map<String, Long> prioridades;
+}
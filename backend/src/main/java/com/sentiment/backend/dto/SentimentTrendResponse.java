@@ -0,0 +1,27 @@
+package com.sentiment.backend.dto;
+
+import com.sentiment.backend.model.TrendGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Série temporal de sentimento, setor e prioridade")
+public class SentimentTrendResponse {
+
+  @Schema(description = "Tamanho de cada balde", example = "HORA")
+  private final TrendGranularity granularidade;
+
+  @Schema(description = "Início do primeiro balde", example = "2026-10-17T15:00:00")
+  private final LocalDateTime inicio;
+
+  @Schema(description = "Fim (exclusivo) do último balde", example = "2026-10-18T15:00:00")
+  private final LocalDateTime fim;
+
+  @Schema(description = "Um ponto por balde, em ordem cronológica, incluindo baldes vazios")
+  private final List<SentimentTrendPoint> pontos;
+}
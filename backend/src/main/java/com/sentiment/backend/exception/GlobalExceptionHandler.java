@@ -91,6 +91,26 @@ public class GlobalExceptionHandler {
         .body(errorResponse);
   }
 
+  @ExceptionHandler(RemocaoEmAndamentoException.class)
+  public ResponseEntity<ErrorResponse> handleRemocaoEmAndamento(
+      RemocaoEmAndamentoException ex,
+      WebRequest request) {
+
+    log.warn("Conflito de estado: {}", ex.getMessage());
+
+    ErrorResponse errorResponse = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.CONFLICT.value())
+        .error("Conflict")
+        .message(ex.getMessage())
+        .path(extractPath(request))
+        .build();
+
+    return ResponseEntity
+        .status(HttpStatus.CONFLICT)
+        .body(errorResponse);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleGlobalException(
       Exception ex,
@@ -0,0 +1,17 @@
+package com.sentiment.backend.exception;
+
+import java.io.Serial;
+
+/**
+ * Pedido de remoção do histórico recusado porque outra já está em
+ * andamento. É o único conflito de estado respondido com 409.
+ */
+public class RemocaoEmAndamentoException extends IllegalStateException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  public RemocaoEmAndamentoException() {
+    super("Já existe uma remoção do histórico em andamento");
+  }
+}
@@ -0,0 +1,6 @@
+package com.sentiment.backend.model;
+
+public enum AnalysisEngine {
+    MODELO,
+    LEXICO
+}
@@ -0,0 +1,7 @@
+package com.sentiment.backend.model;
+
+public enum CircuitState {
+    FECHADO,
+    ABERTO,
+    MEIO_ABERTO
+}
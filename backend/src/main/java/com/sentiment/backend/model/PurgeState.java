@@ -0,0 +1,7 @@
+package com.sentiment.backend.model;
+
+public enum PurgeState {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
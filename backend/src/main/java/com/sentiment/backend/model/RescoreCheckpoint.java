@@ -0,0 +1,58 @@
+package com.sentiment.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ponto de retomada da reavaliação do histórico: a faixa de ids fixada no
+ * início e o último id já gravado. Uma linha só, atualizada a cada lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "rescore_checkpoint")
+public class RescoreCheckpoint {
+
+  public static final String ID = "historico";
+
+  @Id
+  @Column(length = 20)
+  private String id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private RescoreState estado;
+
+  @Column(nullable = false)
+  private Long primeiroId;
+
+  @Column(nullable = false)
+  private Long ultimoId;
+
+  @Column(nullable = false)
+  private Long ultimoIdProcessado;
+
+  @Column(nullable = false)
+  private Long processadas;
+
+  @Column(nullable = false)
+  private Long alteradas;
+
+  @Column(nullable = false)
+  private Boolean incluirModelo;
+
+  @Column(nullable = false)
+  private LocalDateTime iniciadaEm;
+
+  private LocalDateTime atualizadaEm;
+
+  @Column(length = 500)
+  private String erro;
+}
@@ -0,0 +1,8 @@
+package com.sentiment.backend.model;
+
+public enum RescoreState {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    INTERROMPIDA,
+    FALHOU
+}
@@ -16,7 +16,7 @@ import java.util.List;
 @Entity
 @Table(name = "sentiment_analysis", indexes = {
     @Index(name = "idx_prediction", columnList = "prediction"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "idx_created_at", columnList = "created_at, id")
 })
 public class SentimentAnalysis {
 
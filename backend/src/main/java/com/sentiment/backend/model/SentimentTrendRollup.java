@@ -0,0 +1,50 @@
+package com.sentiment.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contagem de análises de um balde de tempo (minuto, hora ou dia) para uma
+ * combinação de sentimento, setor e prioridade. Setor e prioridade ausentes
+ * são gravados como texto vazio para entrarem na chave única.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sentiment_trend_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_trend_rollup_celula",
+        columnNames = { "granularidade", "inicio", "sentimento", "setor", "prioridade" }),
+    indexes = @Index(name = "idx_trend_rollup_periodo", columnList = "granularidade, inicio"))
+public class SentimentTrendRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  private TrendGranularity granularidade;
+
+  @Column(nullable = false)
+  private LocalDateTime inicio;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private SentimentType sentimento;
+
+  @Column(nullable = false, length = 100)
+  private String setor;
+
+  @Column(nullable = false, length = 20)
+  private String prioridade;
+
+  @Column(nullable = false)
+  private Long quantidade;
+}
@@ -0,0 +1,33 @@
+package com.sentiment.backend.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+public enum TrendGranularity {
+    MINUTO(ChronoUnit.MINUTES, Duration.ofHours(1)),
+    HORA(ChronoUnit.HOURS, Duration.ofDays(1)),
+    DIA(ChronoUnit.DAYS, Duration.ofDays(30));
+
+    private final long segundos;
+    private final Duration janelaPadrao;
+
+    TrendGranularity(ChronoUnit unidade, Duration janelaPadrao) {
+        this.segundos = unidade.getDuration().getSeconds();
+        this.janelaPadrao = janelaPadrao;
+    }
+
+    public Duration getJanelaPadrao() {
+        return janelaPadrao;
+    }
+
+    /** Número sequencial do balde que contém o instante. */
+    public long numero(LocalDateTime instante) {
+        return Math.floorDiv(instante.toEpochSecond(ZoneOffset.UTC), segundos);
+    }
+
+    public LocalDateTime inicio(long numero) {
+        return LocalDateTime.ofEpochSecond(numero * segundos, 0, ZoneOffset.UTC);
+    }
+}
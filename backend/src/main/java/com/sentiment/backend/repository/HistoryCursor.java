@@ -0,0 +1,32 @@
+package com.sentiment.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da última análise de uma página do histórico (ordenado por
+ * {@code created_at} e {@code id} decrescentes). A próxima página começa logo
+ * depois dela, sem OFFSET.
+ */
+public record HistoryCursor(LocalDateTime criadoEm, long id) {
+
+  private static final char SEPARADOR = '|';
+
+  public String codificar() {
+    String valor = criadoEm.toString() + SEPARADOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static HistoryCursor decodificar(String cursor) {
+    try {
+      String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separador = valor.lastIndexOf(SEPARADOR);
+      return new HistoryCursor(LocalDateTime.parse(valor.substring(0, separador)),
+          Long.parseLong(valor.substring(separador + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Cursor de paginação inválido");
+    }
+  }
+}
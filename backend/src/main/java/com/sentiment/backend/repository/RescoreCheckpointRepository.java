@@ -0,0 +1,9 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.RescoreCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RescoreCheckpointRepository extends JpaRepository<RescoreCheckpoint, String> {
+}
@@ -0,0 +1,83 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class SentimentAnalysisBatchRepository {
+
+  private static final String INSERT_ANALISE = "INSERT INTO sentiment_analysis "
+      + "(text, prediction, confidence, prioridade, setor, sugestao_resposta, created_at) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_TAG = "INSERT INTO sentiment_tags (analysis_id, tag) VALUES (?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Transactional
+  public void salvarTodos(List<SentimentAnalysis> analises) {
+    if (analises.isEmpty()) {
+      return;
+    }
+
+    LocalDateTime agora = LocalDateTime.now();
+    analises.forEach(analise -> {
+      if (analise.getCreatedAt() == null) {
+        analise.setCreatedAt(agora);
+      }
+    });
+
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        con -> con.prepareStatement(INSERT_ANALISE, new String[] { "id" }),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            SentimentAnalysis analise = analises.get(i);
+            ps.setString(1, analise.getText());
+            ps.setString(2, analise.getPrediction().name());
+            ps.setDouble(3, analise.getConfidence());
+            ps.setString(4, analise.getPrioridade());
+            ps.setString(5, analise.getSetor());
+            ps.setString(6, analise.getSugestaoResposta());
+            ps.setTimestamp(7, Timestamp.valueOf(analise.getCreatedAt()));
+          }
+
+          @Override
+          public int getBatchSize() {
+            return analises.size();
+          }
+        },
+        keyHolder);
+
+    List<Map<String, Object>> chaves = keyHolder.getKeyList();
+    List<Object[]> tags = new ArrayList<>();
+    for (int i = 0; i < analises.size(); i++) {
+      SentimentAnalysis analise = analises.get(i);
+      analise.setId(((Number) chaves.get(i).values().iterator().next()).longValue());
+
+      if (analise.getTags() != null) {
+        analise.getTags().forEach(tag -> tags.add(new Object[] { analise.getId(), tag }));
+      }
+    }
+
+    if (!tags.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_TAG, tags);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.sentiment.backend.model.SentimentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,11 +13,16 @@ import java.util.List;
 @Repository
 public interface SentimentAnalysisRepository extends JpaRepository<SentimentAnalysis, Long> {
 
-  List<SentimentAnalysis> findTop10ByOrderByCreatedAtDesc();
-
   long countByPrediction(SentimentType prediction);
 
-  List<SentimentAnalysis> findByPrediction(SentimentType prediction);
-
   Page<SentimentAnalysis> findByPrediction(SentimentType prediction, Pageable pageable);
+
+  @Query("SELECT a.prediction, COUNT(a) FROM SentimentAnalysis a GROUP BY a.prediction")
+  List<Object[]> contarPorSentimento();
+
+  @Query("SELECT a.setor, COUNT(a) FROM SentimentAnalysis a GROUP BY a.setor")
+  List<Object[]> contarPorSetor();
+
+  @Query("SELECT a.prioridade, COUNT(a) FROM SentimentAnalysis a GROUP BY a.prioridade")
+  List<Object[]> contarPorPrioridade();
 }
@@ -0,0 +1,175 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.dto.SentimentHistoryFilter;
+import com.sentiment.backend.dto.SentimentHistoryItem;
+import com.sentiment.backend.model.SentimentType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Leitura do histórico por JDBC: páginas por seek em
+ * {@code (created_at, id)}, com as tags buscadas em uma única consulta por
+ * página, e um percurso completo por cursor para exportação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SentimentHistoryRepository {
+
+  private static final String COLUNAS = "a.id, a.text, a.prediction, a.confidence, a.prioridade, a.setor, "
+      + "a.sugestao_resposta, a.created_at";
+
+  private static final String ORDEM = " ORDER BY a.created_at DESC, a.id DESC";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Devolve até {@code limite} análises depois do cursor (ou as mais
+   * recentes, se ele for nulo).
+   */
+  public List<SentimentHistoryItem> buscarPagina(SentimentHistoryFilter filtro, HistoryCursor apos, int limite) {
+    List<Object> parametros = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT ").append(COLUNAS).append(" FROM sentiment_analysis a");
+    adicionarFiltros(sql, parametros, filtro, apos);
+    sql.append(ORDEM).append(" LIMIT ?");
+    parametros.add(limite);
+
+    Map<Long, List<String>> tagsPorAnalise = new HashMap<>();
+    List<SentimentHistoryItem> itens = jdbcTemplate.query(sql.toString(),
+        (rs, linha) -> lerItem(rs, tagsPorAnalise.computeIfAbsent(rs.getLong("id"), id -> new ArrayList<>())),
+        parametros.toArray());
+
+    carregarTags(tagsPorAnalise);
+    return itens;
+  }
+
+  /**
+   * Percorre todas as análises do filtro, da mais recente para a mais
+   * antiga, sem carregá-las em memória. As tags vêm no mesmo SELECT (LEFT
+   * JOIN) e são agrupadas enquanto as linhas chegam. Para o driver usar um
+   * cursor de verdade, chame dentro de uma transação.
+   */
+  public void percorrer(SentimentHistoryFilter filtro, int fetchSize, Consumer<SentimentHistoryItem> consumidor) {
+    List<Object> parametros = new ArrayList<>();
+    StringBuilder sql = new StringBuilder("SELECT ").append(COLUNAS)
+        .append(", t.tag FROM sentiment_analysis a LEFT JOIN sentiment_tags t ON t.analysis_id = a.id");
+    adicionarFiltros(sql, parametros, filtro, null);
+    sql.append(ORDEM);
+
+    AgrupadorDeTags agrupador = new AgrupadorDeTags(consumidor);
+    jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      ps.setFetchSize(fetchSize);
+      for (int i = 0; i < parametros.size(); i++) {
+        ps.setObject(i + 1, parametros.get(i));
+      }
+      return ps;
+    }, agrupador);
+    agrupador.concluir();
+  }
+
+  private void carregarTags(Map<Long, List<String>> tagsPorAnalise) {
+    if (tagsPorAnalise.isEmpty()) {
+      return;
+    }
+
+    String marcadores = String.join(", ", Collections.nCopies(tagsPorAnalise.size(), "?"));
+    jdbcTemplate.query("SELECT analysis_id, tag FROM sentiment_tags WHERE analysis_id IN (" + marcadores + ")",
+        (RowCallbackHandler) rs -> tagsPorAnalise.get(rs.getLong("analysis_id")).add(rs.getString("tag")),
+        tagsPorAnalise.keySet().toArray());
+  }
+
+  private static void adicionarFiltros(StringBuilder sql, List<Object> parametros,
+                                       SentimentHistoryFilter filtro, HistoryCursor apos) {
+    List<String> condicoes = new ArrayList<>();
+
+    if (filtro.sentimento() != null) {
+      condicoes.add("a.prediction = ?");
+      parametros.add(filtro.sentimento().name());
+    }
+    if (filtro.setor() != null) {
+      condicoes.add("a.setor = ?");
+      parametros.add(filtro.setor());
+    }
+    if (filtro.prioridade() != null) {
+      condicoes.add("a.prioridade = ?");
+      parametros.add(filtro.prioridade());
+    }
+    if (filtro.desde() != null) {
+      condicoes.add("a.created_at >= ?");
+      parametros.add(Timestamp.valueOf(filtro.desde()));
+    }
+    if (filtro.ate() != null) {
+      condicoes.add("a.created_at < ?");
+      parametros.add(Timestamp.valueOf(filtro.ate()));
+    }
+    if (apos != null) {
+      Timestamp criadoEm = Timestamp.valueOf(apos.criadoEm());
+      condicoes.add("(a.created_at < ? OR (a.created_at = ? AND a.id < ?))");
+      parametros.add(criadoEm);
+      parametros.add(criadoEm);
+      parametros.add(apos.id());
+    }
+
+    if (!condicoes.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+    }
+  }
+
+  private static SentimentHistoryItem lerItem(ResultSet rs, List<String> tags) throws SQLException {
+    return new SentimentHistoryItem(
+        rs.getLong("id"),
+        rs.getString("text"),
+        SentimentType.valueOf(rs.getString("prediction")),
+        rs.getDouble("confidence"),
+        rs.getString("prioridade"),
+        rs.getString("setor"),
+        rs.getString("sugestao_resposta"),
+        tags,
+        rs.getTimestamp("created_at").toLocalDateTime());
+  }
+
+  // As linhas de uma mesma análise chegam juntas por causa do ORDER BY; a
+  // análise é emitida quando aparece a próxima.
+  private static final class AgrupadorDeTags implements RowCallbackHandler {
+
+    private final Consumer<SentimentHistoryItem> consumidor;
+    private SentimentHistoryItem atual;
+
+    AgrupadorDeTags(Consumer<SentimentHistoryItem> consumidor) {
+      this.consumidor = consumidor;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      if (atual == null || atual.getId() != rs.getLong("id")) {
+        concluir();
+        atual = lerItem(rs, new ArrayList<>());
+      }
+
+      String tag = rs.getString("tag");
+      if (tag != null) {
+        atual.getTags().add(tag);
+      }
+    }
+
+    void concluir() {
+      if (atual != null) {
+        consumidor.accept(atual);
+        atual = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Remoção do histórico em lotes por faixa de id, com DELETEs por conjunto
+ * (tags primeiro, depois as análises) em vez de carregar e apagar entidade
+ * por entidade.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SentimentPurgeRepository {
+
+  private static final String FAIXA = " WHERE id BETWEEN ? AND ? AND created_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record FaixaIds(long primeiro, long ultimo) {
+  }
+
+  public record Contagem(SentimentType sentimento, String setor, String prioridade, long quantidade) {
+  }
+
+  /** Menor e maior id das análises criadas antes do corte, ou null se não houver nenhuma. */
+  public FaixaIds buscarFaixa(LocalDateTime antesDe) {
+    return jdbcTemplate.queryForObject(
+        "SELECT MIN(id), MAX(id) FROM sentiment_analysis WHERE created_at < ?",
+        (rs, linha) -> {
+          long primeiro = rs.getLong(1);
+          return rs.wasNull() ? null : new FaixaIds(primeiro, rs.getLong(2));
+        },
+        Timestamp.valueOf(antesDe));
+  }
+
+  /**
+   * Apaga as análises da faixa criadas antes do corte e devolve quantas
+   * foram apagadas por sentimento, setor e prioridade, contadas na mesma
+   * transação dos DELETEs.
+   */
+  @Transactional
+  public List<Contagem> apagarFaixa(long primeiro, long ultimo, LocalDateTime antesDe) {
+    Object[] parametros = { primeiro, ultimo, Timestamp.valueOf(antesDe) };
+
+    List<Contagem> contagens = jdbcTemplate.query(
+        "SELECT prediction, setor, prioridade, COUNT(*) FROM sentiment_analysis" + FAIXA
+            + " GROUP BY prediction, setor, prioridade",
+        (rs, linha) -> new Contagem(SentimentType.valueOf(rs.getString(1)), rs.getString(2), rs.getString(3), rs.getLong(4)),
+        parametros);
+    if (contagens.isEmpty()) {
+      return contagens;
+    }
+
+    jdbcTemplate.update("DELETE FROM sentiment_tags WHERE analysis_id IN (SELECT id FROM sentiment_analysis" + FAIXA + ")",
+        parametros);
+    jdbcTemplate.update("DELETE FROM sentiment_analysis" + FAIXA, parametros);
+    return contagens;
+  }
+}
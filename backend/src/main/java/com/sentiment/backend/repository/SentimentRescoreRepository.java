@@ -0,0 +1,117 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e regravação do histórico por faixa de id para a reavaliação:
+ * um SELECT para as análises e outro para as tags da faixa, e UPDATEs em
+ * lote para o que mudou.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SentimentRescoreRepository {
+
+  private static final String ATUALIZAR_ANALISE = "UPDATE sentiment_analysis "
+      + "SET prediction = ?, confidence = ?, prioridade = ?, setor = ?, sugestao_resposta = ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Menor e maior id do histórico, ou null se ele estiver vazio. */
+  public FaixaIds buscarFaixa() {
+    return jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM sentiment_analysis",
+        (rs, linha) -> {
+          long primeiro = rs.getLong(1);
+          return rs.wasNull() ? null : new FaixaIds(primeiro, rs.getLong(2));
+        });
+  }
+
+  public List<SentimentAnalysis> buscarFaixa(long primeiro, long ultimo) {
+    Map<Long, List<String>> tagsPorAnalise = new HashMap<>();
+    List<SentimentAnalysis> analises = jdbcTemplate.query(
+        "SELECT id, text, prediction, confidence, prioridade, setor, sugestao_resposta, created_at "
+            + "FROM sentiment_analysis WHERE id BETWEEN ? AND ? ORDER BY id",
+        (rs, linha) -> SentimentAnalysis.builder()
+            .id(rs.getLong(1))
+            .text(rs.getString(2))
+            .prediction(SentimentType.valueOf(rs.getString(3)))
+            .confidence(rs.getDouble(4))
+            .prioridade(rs.getString(5))
+            .setor(rs.getString(6))
+            .sugestaoResposta(rs.getString(7))
+            .createdAt(rs.getTimestamp(8).toLocalDateTime())
+            .tags(tagsPorAnalise.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()))
+            .build(),
+        primeiro, ultimo);
+    if (analises.isEmpty()) {
+      return analises;
+    }
+
+    jdbcTemplate.query("SELECT analysis_id, tag FROM sentiment_tags WHERE analysis_id BETWEEN ? AND ?",
+        rs -> {
+          List<String> tags = tagsPorAnalise.get(rs.getLong(1));
+          if (tags != null) {
+            tags.add(rs.getString(2));
+          }
+        },
+        primeiro, ultimo);
+    return analises;
+  }
+
+  /**
+   * Regrava as análises reavaliadas e suas tags em uma transação. Devolve,
+   * na ordem recebida, se cada uma ainda existia (uma remoção pode ter
+   * apagado a linha depois da leitura).
+   */
+  @Transactional
+  public boolean[] atualizarTodas(List<SentimentAnalysis> analises) {
+    boolean[] atualizadas = new boolean[analises.size()];
+    if (analises.isEmpty()) {
+      return atualizadas;
+    }
+
+    int[] contagens = jdbcTemplate.batchUpdate(ATUALIZAR_ANALISE, analises.stream()
+        .map(analise -> new Object[] {
+            analise.getPrediction().name(),
+            analise.getConfidence(),
+            analise.getPrioridade(),
+            analise.getSetor(),
+            analise.getSugestaoResposta(),
+            analise.getId() })
+        .toList());
+
+    List<Object[]> ids = new ArrayList<>();
+    List<Object[]> tags = new ArrayList<>();
+    for (int i = 0; i < analises.size(); i++) {
+      // Alguns drivers devolvem SUCCESS_NO_INFO (-2) em lote.
+      atualizadas[i] = contagens[i] != 0;
+      if (!atualizadas[i]) {
+        continue;
+      }
+
+      SentimentAnalysis analise = analises.get(i);
+      ids.add(new Object[] { analise.getId() });
+      if (analise.getTags() != null) {
+        analise.getTags().forEach(tag -> tags.add(new Object[] { analise.getId(), tag }));
+      }
+    }
+
+    if (!ids.isEmpty()) {
+      jdbcTemplate.batchUpdate("DELETE FROM sentiment_tags WHERE analysis_id = ?", ids);
+    }
+    if (!tags.isEmpty()) {
+      jdbcTemplate.batchUpdate("INSERT INTO sentiment_tags (analysis_id, tag) VALUES (?, ?)", tags);
+    }
+    return atualizadas;
+  }
+}
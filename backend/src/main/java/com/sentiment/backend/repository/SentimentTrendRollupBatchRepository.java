@@ -0,0 +1,46 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentTrendRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SentimentTrendRollupBatchRepository {
+
+  // MERGE do SQL padrão (H2 2.x e PostgreSQL 15+): soma a contagem na
+  // célula existente ou cria a célula.
+  private static final String SOMAR_ROLLUP = "MERGE INTO sentiment_trend_rollup r "
+      + "USING (VALUES (CAST(? AS VARCHAR(10)), CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(20)), "
+      + "CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(20)), CAST(? AS BIGINT))) "
+      + "AS d (granularidade, inicio, sentimento, setor, prioridade, quantidade) "
+      + "ON r.granularidade = d.granularidade AND r.inicio = d.inicio AND r.sentimento = d.sentimento "
+      + "AND r.setor = d.setor AND r.prioridade = d.prioridade "
+      + "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade + d.quantidade "
+      + "WHEN NOT MATCHED THEN INSERT (granularidade, inicio, sentimento, setor, prioridade, quantidade) "
+      + "VALUES (d.granularidade, d.inicio, d.sentimento, d.setor, d.prioridade, d.quantidade)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Transactional
+  public void somarTodos(List<SentimentTrendRollup> incrementos) {
+    if (incrementos.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.batchUpdate(SOMAR_ROLLUP, incrementos.stream()
+        .map(incremento -> new Object[] {
+            incremento.getGranularidade().name(),
+            Timestamp.valueOf(incremento.getInicio()),
+            incremento.getSentimento().name(),
+            incremento.getSetor(),
+            incremento.getPrioridade(),
+            incremento.getQuantidade() })
+        .toList());
+  }
+}
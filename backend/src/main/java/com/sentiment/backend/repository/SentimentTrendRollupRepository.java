@@ -0,0 +1,21 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentTrendRollup;
+import com.sentiment.backend.model.TrendGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SentimentTrendRollupRepository extends JpaRepository<SentimentTrendRollup, Long> {
+
+  @Query("SELECT r FROM SentimentTrendRollup r WHERE r.granularidade = :granularidade "
+      + "AND r.inicio >= :inicio AND r.inicio < :fim")
+  List<SentimentTrendRollup> buscarPorPeriodo(@Param("granularidade") TrendGranularity granularidade,
+                                              @Param("inicio") LocalDateTime inicio,
+                                              @Param("fim") LocalDateTime fim);
+}
@@ -0,0 +1,118 @@
+package com.sentiment.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sentiment.backend.config.AnalysisCacheProperties;
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
+import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.SentimentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache limitado (tamanho e TTL, política W-TinyLFU do Caffeine) das
+ * respostas já montadas, para textos repetidos. Como a {@link AnalysisKey}
+ * vem do texto normalizado, variações de caixa, acento e pontuação caem na
+ * mesma entrada.
+ *
+ * <p>As entradas são cópias imutáveis, e cada {@link #buscar} devolve uma
+ * resposta nova; o que um chamador fizer com ela não chega aos outros. Cada
+ * entrada leva a versão das regras com que foi montada ({@link #versao()},
+ * lida antes de avaliar as regras): uma resposta montada antes de uma
+ * mudança de regras não é guardada, e se chegar a entrar depois da
+ * invalidação, é descartada na leitura.
+ */
+@Slf4j
+@Component
+public class AnalysisCache {
+
+  private static final String NOME_CACHE = "sentimentAnalysis";
+
+  private final boolean habilitado;
+  private final Cache<AnalysisKey, Entrada> cache;
+  private final AtomicLong versaoRegras = new AtomicLong();
+
+  public AnalysisCache(AnalysisCacheProperties properties, MeterRegistry meterRegistry) {
+    this.habilitado = properties.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxSize())
+        .expireAfterWrite(properties.getTtl())
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_CACHE);
+  }
+
+  /** Versão das regras a informar em {@link #guardar}; leia antes de avaliar as regras. */
+  public long versao() {
+    return versaoRegras.get();
+  }
+
+  public SentimentResponse buscar(AnalysisKey chave) {
+    if (!habilitado) {
+      return null;
+    }
+
+    Entrada entrada = cache.getIfPresent(chave);
+    if (entrada == null) {
+      return null;
+    }
+    if (entrada.versao() != versaoRegras.get()) {
+      cache.asMap().remove(chave, entrada);
+      return null;
+    }
+    return entrada.paraResposta();
+  }
+
+  public void guardar(AnalysisKey chave, long versao, SentimentResponse response) {
+    if (habilitado && versao == versaoRegras.get()) {
+      cache.put(chave, Entrada.de(versao, response));
+    }
+  }
+
+  public long tamanho() {
+    return cache.estimatedSize();
+  }
+
+  @EventListener
+  public void aoAlterarRegras(BusinessRulesChangedEvent evento) {
+    log.info("Regras de negócio alteradas ({}). Descartando {} respostas em cache.",
+        evento.origem(), cache.estimatedSize());
+    invalidarTudo();
+  }
+
+  public void invalidarTudo() {
+    versaoRegras.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private record Entrada(long versao, SentimentType previsao, Double probabilidade, String prioridade,
+                         List<String> tags, String setor, String sugestaoResposta, AnalysisEngine motor) {
+
+    static Entrada de(long versao, SentimentResponse response) {
+      return new Entrada(versao, response.getPrevisao(), response.getProbabilidade(), response.getPrioridade(),
+          response.getTags() != null ? List.copyOf(response.getTags()) : null, response.getSetor(),
+          response.getSugestaoResposta(), response.getMotor());
+    }
+
+    SentimentResponse paraResposta() {
+      return SentimentResponse.builder()
+          .previsao(previsao)
+          .probabilidade(probabilidade)
+          .prioridade(prioridade)
+          .tags(tags != null ? new ArrayList<>(tags) : null)
+          .setor(setor)
+          .sugestaoResposta(sugestaoResposta)
+          .motor(motor)
+          .build();
+    }
+  }
+}
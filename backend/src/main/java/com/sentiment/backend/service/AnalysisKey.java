@@ -0,0 +1,30 @@
+package com.sentiment.backend.service;
+
+/**
+ * Identifica análises equivalentes: hash de 128 bits do texto normalizado
+ * mais rating e recomendação. Usada pelo cache de respostas e pela
+ * coalescência de chamadas ao modelo.
+ */
+public record AnalysisKey(long hashAlto, long hashBaixo, Integer rating, Boolean recommendToFriend) {
+
+  public static AnalysisKey de(String textoNormalizado, Integer rating, Boolean recommendToFriend) {
+    long h1 = 0xCBF29CE484222325L;
+    long h2 = 0x9E3779B97F4A7C15L;
+    for (int i = 0; i < textoNormalizado.length(); i++) {
+      char c = textoNormalizado.charAt(i);
+      h1 = (h1 ^ c) * 0x100000001B3L;
+      h2 = Long.rotateLeft(h2 ^ (c * 0x87C37B91114253D5L), 31) * 0x4CF5AD432745937FL;
+    }
+
+    return new AnalysisKey(misturar(h1 ^ textoNormalizado.length()), misturar(h2 + textoNormalizado.length()),
+        rating, recommendToFriend);
+  }
+
+  // Finalizador do SplitMix64: espalha os bits para que chaves parecidas
+  // não se concentrem nos mesmos buckets.
+  private static long misturar(long h) {
+    h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+    h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+    return h ^ (h >>> 31);
+  }
+}
@@ -0,0 +1,99 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.AnalysisMetricsProperties;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.SentimentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers por etapa da análise ({@code sentiment.analysis.stage}, tag
+ * {@code stage}) e contador de resultados por sentimento, setor, prioridade
+ * e motor ({@code sentiment.analysis.results}). Os timers são registrados
+ * uma vez, na criação; percentis e histogramas vêm de
+ * {@code management.metrics.distribution}. Com
+ * {@code analysis-metrics.enabled=false}, {@link #iniciar()} nem lê o relógio.
+ */
+@Component
+public class AnalysisMetrics {
+
+  public enum Etapa {
+    NORMALIZACAO("normalize"),
+    CACHE("cache"),
+    REGRAS_TEXTO("rules.text"),
+    LEXICO("lexicon"),
+    MODELO_LOCAL("model.local"),
+    ESPERA_MODELO("model.wait"),
+    PRIORIDADE("rules.priority"),
+    SUGESTAO("rules.suggestion"),
+    MAPEAMENTO("mapping"),
+    PERSISTENCIA("persistence");
+
+    private final String tag;
+
+    Etapa(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final boolean habilitado;
+  private final MeterRegistry meterRegistry;
+  private final Map<Etapa, Timer> etapas = new EnumMap<>(Etapa.class);
+  private final ConcurrentMap<Resultado, Counter> resultados = new ConcurrentHashMap<>();
+
+  public AnalysisMetrics(AnalysisMetricsProperties properties, MeterRegistry meterRegistry) {
+    this.habilitado = properties.isEnabled();
+    this.meterRegistry = meterRegistry;
+    if (habilitado) {
+      for (Etapa etapa : Etapa.values()) {
+        etapas.put(etapa, Timer.builder("sentiment.analysis.stage")
+            .description("Tempo de cada etapa da análise")
+            .tag("stage", etapa.tag)
+            .register(meterRegistry));
+      }
+    }
+  }
+
+  /** Marca o início de uma etapa; devolve 0 quando as métricas estão desligadas. */
+  public long iniciar() {
+    return habilitado ? System.nanoTime() : 0L;
+  }
+
+  public void registrar(Etapa etapa, long inicio) {
+    if (habilitado) {
+      etapas.get(etapa).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public void contarResultado(SentimentType sentimento, String setor, String prioridade, AnalysisEngine motor) {
+    if (habilitado) {
+      resultados.computeIfAbsent(new Resultado(sentimento, setor, prioridade, motor), this::criarContador).increment();
+    }
+  }
+
+  private Counter criarContador(Resultado resultado) {
+    return Counter.builder("sentiment.analysis.results")
+        .description("Análises respondidas por sentimento, setor, prioridade e motor")
+        .tag("sentiment", resultado.sentimento().name().toLowerCase(Locale.ROOT))
+        .tag("sector", valorOuNenhum(resultado.setor()))
+        .tag("priority", valorOuNenhum(resultado.prioridade()))
+        .tag("engine", resultado.motor() != null ? resultado.motor().name().toLowerCase(Locale.ROOT) : "none")
+        .register(meterRegistry);
+  }
+
+  private static String valorOuNenhum(String valor) {
+    return valor != null ? valor : "none";
+  }
+
+  private record Resultado(SentimentType sentimento, String setor, String prioridade, AnalysisEngine motor) {
+  }
+}
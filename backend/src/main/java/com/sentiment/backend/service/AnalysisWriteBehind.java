@@ -0,0 +1,230 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.WriteBehindProperties;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.repository.SentimentAnalysisBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava as análises fora do caminho da requisição: as entidades entram em
+ * uma fila limitada e uma thread dedicada as grava em lotes JDBC quando o
+ * lote enche ou o intervalo de flush vence. Com a fila cheia, quem chama
+ * espera até {@code offer-timeout} e, se ainda não houver espaço, grava na
+ * própria thread (backpressure sem perder análises). No desligamento, que
+ * acontece depois do servidor web parar, o que o escritor não gravou até
+ * {@code drain-timeout} é gravado na thread de desligamento, antes de o
+ * banco ser fechado.
+ */
+@Slf4j
+@Component
+public class AnalysisWriteBehind implements SmartLifecycle {
+
+  // Abaixo da fase do servidor web (WebServerStartStopLifecycle), para
+  // parar só depois dele, e acima do DataSource, destruído por último.
+  private static final int FASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+  private final SentimentAnalysisBatchRepository batchRepository;
+  private final SentimentStatsStore statsStore;
+  private final TrendRollupStore trendStore;
+  private final WriteBehindProperties properties;
+  private final BlockingQueue<SentimentAnalysis> fila;
+
+  private final Timer tempoFlush;
+  private final DistributionSummary tamanhoFlush;
+  private final Counter gravacoesNoChamador;
+  private final Counter falhas;
+
+  private volatile boolean executando;
+  private Thread escritor;
+
+  @Autowired
+  public AnalysisWriteBehind(SentimentAnalysisBatchRepository batchRepository,
+                             SentimentStatsStore statsStore,
+                             TrendRollupStore trendStore,
+                             WriteBehindProperties properties,
+                             MeterRegistry meterRegistry) {
+    this(batchRepository, statsStore, trendStore, properties, meterRegistry,
+        new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+  }
+
+  AnalysisWriteBehind(SentimentAnalysisBatchRepository batchRepository, SentimentStatsStore statsStore,
+                      TrendRollupStore trendStore, WriteBehindProperties properties, MeterRegistry meterRegistry,
+                      BlockingQueue<SentimentAnalysis> fila) {
+    this.batchRepository = batchRepository;
+    this.statsStore = statsStore;
+    this.trendStore = trendStore;
+    this.properties = properties;
+    this.fila = fila;
+
+    Gauge.builder("sentiment.persistence.queue.size", fila, BlockingQueue::size)
+        .description("Análises aguardando gravação")
+        .register(meterRegistry);
+    this.tempoFlush = Timer.builder("sentiment.persistence.flush")
+        .description("Tempo de gravação de cada lote")
+        .register(meterRegistry);
+    this.tamanhoFlush = DistributionSummary.builder("sentiment.persistence.flush.size")
+        .description("Análises por lote gravado")
+        .register(meterRegistry);
+    this.gravacoesNoChamador = Counter.builder("sentiment.persistence.caller_runs")
+        .description("Análises gravadas na thread da requisição por falta de espaço na fila")
+        .register(meterRegistry);
+    this.falhas = Counter.builder("sentiment.persistence.failed")
+        .description("Análises que não puderam ser gravadas")
+        .register(meterRegistry);
+  }
+
+  public void enfileirar(SentimentAnalysis analise) {
+    if (analise.getCreatedAt() == null) {
+      analise.setCreatedAt(LocalDateTime.now());
+    }
+
+    if (!properties.isEnabled() || !executando) {
+      gravar(List.of(analise));
+      return;
+    }
+
+    try {
+      if (fila.offer(analise, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        // O stop() pode ter acontecido entre a checagem acima e o offer, e
+        // o escritor já pode ter saído sem ver esta análise.
+        if (!executando) {
+          drenar();
+        }
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    gravacoesNoChamador.increment();
+    gravar(List.of(analise));
+  }
+
+  public void descartarPendentes() {
+    int descartadas = fila.size();
+    fila.clear();
+    log.debug("{} análises pendentes descartadas", descartadas);
+  }
+
+  public int pendentes() {
+    return fila.size();
+  }
+
+  @Override
+  public void start() {
+    executando = true;
+    escritor = new Thread(this::executar, "analysis-writer");
+    escritor.start();
+  }
+
+  @Override
+  public void stop() {
+    executando = false;
+    try {
+      escritor.join(properties.getDrainTimeout().toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    int restantes = drenar();
+    if (restantes > 0) {
+      log.warn("Desligamento: {} análises ainda na fila gravadas fora do escritor", restantes);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executando;
+  }
+
+  @Override
+  public int getPhase() {
+    return FASE;
+  }
+
+  private void executar() {
+    int tamanhoLote = Math.max(1, properties.getBatchSize());
+    long intervalo = properties.getFlushInterval().toNanos();
+    List<SentimentAnalysis> lote = new ArrayList<>(tamanhoLote);
+
+    while (executando || !fila.isEmpty()) {
+      try {
+        SentimentAnalysis primeira = fila.poll(intervalo, TimeUnit.NANOSECONDS);
+        if (primeira == null) {
+          continue;
+        }
+        lote.add(primeira);
+
+        long prazo = System.nanoTime() + intervalo;
+        while (lote.size() < tamanhoLote) {
+          fila.drainTo(lote, tamanhoLote - lote.size());
+          long restante = prazo - System.nanoTime();
+          if (lote.size() >= tamanhoLote || restante <= 0 || !executando) {
+            break;
+          }
+
+          SentimentAnalysis proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+          if (proxima == null) {
+            break;
+          }
+          lote.add(proxima);
+        }
+      } catch (InterruptedException e) {
+        // Interrompido: grava o que restou em um último lote e encerra.
+        Thread.currentThread().interrupt();
+        executando = false;
+        fila.drainTo(lote);
+      }
+
+      if (!lote.isEmpty()) {
+        gravar(lote);
+        lote.clear();
+      }
+    }
+
+    log.info("Gravação assíncrona de análises encerrada");
+  }
+
+  // Grava na thread atual o que estiver na fila, em lotes do tamanho
+  // configurado, e devolve quantas análises saíram dela.
+  private int drenar() {
+    int tamanhoLote = Math.max(1, properties.getBatchSize());
+    List<SentimentAnalysis> lote = new ArrayList<>(tamanhoLote);
+    int total = 0;
+
+    while (fila.drainTo(lote, tamanhoLote) > 0) {
+      total += lote.size();
+      gravar(lote);
+      lote.clear();
+    }
+    return total;
+  }
+
+  private void gravar(List<SentimentAnalysis> lote) {
+    try {
+      tempoFlush.record(() -> batchRepository.salvarTodos(lote));
+      tamanhoFlush.record(lote.size());
+      statsStore.registrarTodos(lote);
+      trendStore.registrarTodos(lote);
+    } catch (Exception e) {
+      falhas.increment(lote.size());
+      log.error("Erro ao salvar {} análises no banco: {}", lote.size(), e.getMessage());
+    }
+  }
+}
@@ -1,28 +1,127 @@
 package com.sentiment.backend.service;
 
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
 import com.sentiment.backend.config.BusinessRulesProperties;
 import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.KeywordAutomaton;
+import com.sentiment.backend.util.TextNormalizer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Setor, tags, alerta crítico, prioridade e sugestão de resposta. As regras
+ * ficam em um retrato imutável, compilado a partir de
+ * {@link BusinessRulesProperties} (automato de palavras-chave, ids de setor
+ * e templates já resolvidos), publicado em um campo volátil. Para trocar as
+ * regras em execução, {@link #aplicar} compila um retrato novo fora do
+ * caminho das análises e o substitui de uma vez: quem já leu o retrato
+ * anterior termina com ele, sem bloqueio.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BusinessRuleService {
 
+  private static final String SETOR_PADRAO = "GERAL";
+  private static final int MAX_TAGS = 5;
+
   private final BusinessRulesProperties properties;
+  private final TextNormalizer normalizer;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final AtomicLong versoes = new AtomicLong();
+  private volatile RegrasCompiladas regras;
+
+  @PostConstruct
+  public void compilarRegras() {
+    publicar(RegrasCompiladas.de(properties, normalizer, versoes.incrementAndGet(), "application.yml"));
+  }
+
+  /**
+   * Compila as regras e passa a usá-las nas próximas análises. Respostas em
+   * cache montadas com as regras anteriores são descartadas.
+   *
+   * @throws IllegalArgumentException se as regras forem inválidas; as
+   *     regras em vigor continuam as mesmas
+   */
+  public BusinessRulesStatus aplicar(BusinessRulesProperties novas, String origem) {
+    RegrasCompiladas compiladas = RegrasCompiladas.de(novas, normalizer, versoes.incrementAndGet(), origem);
+    publicar(compiladas);
+    eventPublisher.publishEvent(new BusinessRulesChangedEvent(origem));
+    return compiladas.status();
+  }
+
+  public BusinessRulesStatus status() {
+    return regras.status();
+  }
+
+  private void publicar(RegrasCompiladas compiladas) {
+    this.regras = compiladas;
+    log.info("Regras de negócio v{} ({}) compiladas: {} palavras-chave de setor, {} alertas críticos",
+        compiladas.versao, compiladas.origem, compiladas.quantidadePalavrasChave,
+        compiladas.automato.getQuantidadePadroes() - compiladas.quantidadePalavrasChave);
+  }
+
+  public KeywordMatchResult avaliar(AnalysisContext contexto) {
+    return avaliarNormalizado(contexto.textoNormalizado());
+  }
+
+  public KeywordMatchResult avaliarTexto(String texto) {
+    return avaliarNormalizado(normalizer.normalize(texto));
+  }
+
+  private KeywordMatchResult avaliarNormalizado(String textoNormalizado) {
+    RegrasCompiladas atuais = regras;
+    BitSet encontrados = atuais.automato.buscar(textoNormalizado);
+
+    String setor = null;
+    List<String> tags = new ArrayList<>(MAX_TAGS);
+    for (int id = encontrados.nextSetBit(0);
+        id >= 0 && id < atuais.quantidadePalavrasChave;
+        id = encontrados.nextSetBit(id + 1)) {
+      if (setor == null) {
+        setor = atuais.setorDoPadrao[id];
+      }
+
+      String palavra = atuais.padroes[id];
+      if (tags.size() < MAX_TAGS && !tags.contains(palavra)) {
+        tags.add(palavra);
+      }
+    }
+
+    boolean alertaCritico = encontrados.nextSetBit(atuais.quantidadePalavrasChave) >= 0;
+
+    return new KeywordMatchResult(setor != null ? setor : SETOR_PADRAO, tags, alertaCritico);
+  }
 
   public String identificarPrioridade(String texto, SentimentType sentimento) {
     if (sentimento != SentimentType.NEGATIVO) {
       return "BAIXA";
     }
 
-    if (contemAlertaCritico(texto)) {
+    return identificarPrioridade(avaliarTexto(texto), sentimento);
+  }
+
+  public String identificarPrioridade(KeywordMatchResult regrasTexto, SentimentType sentimento) {
+    if (sentimento != SentimentType.NEGATIVO) {
+      return "BAIXA";
+    }
+
+    if (regrasTexto.isAlertaCritico()) {
       log.warn("Alerta crítico detectado");
       return "CRÍTICA";
     }
@@ -31,60 +130,170 @@ public class BusinessRuleService {
   }
 
   public String identificarSetor(String texto) {
-    String textoLower = texto.toLowerCase();
-
-    return properties.getSectors().entrySet().stream()
-        .filter(entry -> contemPalavraChave(textoLower, entry.getValue().getKeywords()))
-        .map(Map.Entry::getKey)
-        .findFirst()
-        .orElse("GERAL");
+    return avaliarTexto(texto).getSetor();
   }
 
   public List<String> extrairTags(String texto) {
-    String textoLower = texto.toLowerCase();
-
-    return properties.getSectors().values().stream()
-        .flatMap(config -> config.getKeywords().stream())
-        .filter(textoLower::contains)
-        .distinct()
-        .limit(5)
-        .collect(Collectors.toList());
+    return avaliarTexto(texto).getTags();
   }
 
   public String gerarSugestao(SentimentType sentimento, String setor) {
-    if (sentimento == SentimentType.POSITIVO) {
-      return obterTemplate(setor, "positivo");
+    return regras.sugestoes(setor).para(sentimento);
+  }
+
+  /**
+   * Palavras-chave de todos os setores (na ordem da configuração) seguidas dos
+   * alertas críticos, compiladas em um único automato. A ordem dos ids preserva
+   * a prioridade entre setores e a ordem das tags.
+   *
+   * <p>O automato recebe as palavras normalizadas como o texto da análise, de
+   * modo que "preço" e "preco" ou "jurídico" e "juridico" se equivalem; as
+   * tags continuam com a grafia da configuração.
+   *
+   * <p>Cada setor conhecido já aponta para seus templates, com os campos
+   * ausentes preenchidos pelos de GERAL. Os ids de setor das palavras-chave
+   * são as mesmas instâncias das chaves de {@code sugestoesPorSetor}, então a
+   * busca do template acerta na comparação por referência.
+   */
+  private static final class RegrasCompiladas {
+
+    private final KeywordAutomaton automato;
+    // Grafia original, usada nas tags; o automato usa a normalizada.
+    private final String[] padroes;
+    private final String[] setorDoPadrao;
+    private final int quantidadePalavrasChave;
+    private final Map<String, Sugestoes> sugestoesPorSetor;
+    private final Sugestoes sugestoesPadrao;
+    private final long versao;
+    private final String origem;
+    private final Instant carregadoEm;
+
+    private RegrasCompiladas(KeywordAutomaton automato, String[] padroes, String[] setorDoPadrao,
+        int quantidadePalavrasChave, Map<String, Sugestoes> sugestoesPorSetor, Sugestoes sugestoesPadrao,
+        long versao, String origem) {
+      this.automato = automato;
+      this.padroes = padroes;
+      this.setorDoPadrao = setorDoPadrao;
+      this.quantidadePalavrasChave = quantidadePalavrasChave;
+      this.sugestoesPorSetor = sugestoesPorSetor;
+      this.sugestoesPadrao = sugestoesPadrao;
+      this.versao = versao;
+      this.origem = origem;
+      this.carregadoEm = Instant.now();
     }
 
-    if (sentimento == SentimentType.NEUTRO) {
-      return obterTemplate(setor, "neutro");
+    private Sugestoes sugestoes(String setor) {
+      if (setor == null) {
+        return sugestoesPadrao;
+      }
+
+      Sugestoes sugestoes = sugestoesPorSetor.get(setor);
+      if (sugestoes == null) {
+        sugestoes = sugestoesPorSetor.getOrDefault(setor.toUpperCase(Locale.ROOT), sugestoesPadrao);
+      }
+      return sugestoes;
     }
 
-    return obterTemplate(setor, "negativo");
-  }
+    private BusinessRulesStatus status() {
+      return new BusinessRulesStatus(versao, origem, carregadoEm, List.copyOf(sugestoesPorSetor.keySet()),
+          quantidadePalavrasChave, padroes.length - quantidadePalavrasChave);
+    }
 
-  private boolean contemAlertaCritico(String texto) {
-    String textoLower = texto.toLowerCase();
-    return properties.getCriticalAlerts().stream()
-        .anyMatch(textoLower::contains);
-  }
+    private static RegrasCompiladas de(BusinessRulesProperties properties, TextNormalizer normalizer,
+        long versao, String origem) {
+      Map<String, BusinessRulesProperties.ResponseTemplate> templates =
+          properties.getResponseTemplates() != null ? properties.getResponseTemplates() : Map.of();
+      Sugestoes sugestoesPadrao = Sugestoes.de(templates.get(SETOR_PADRAO), null);
 
-  private boolean contemPalavraChave(String texto, List<String> keywords) {
-    return keywords.stream().anyMatch(texto::contains);
+      // Um único objeto String por setor, compartilhado entre as
+      // palavras-chave e o mapa de templates.
+      Map<String, Sugestoes> sugestoesPorSetor = new LinkedHashMap<>();
+      templates.forEach((setor, template) ->
+          sugestoesPorSetor.put(setor, Sugestoes.de(template, sugestoesPadrao)));
+
+      List<String> padroes = new ArrayList<>();
+      List<String> setores = new ArrayList<>();
+
+      if (properties.getSectors() != null) {
+        for (Map.Entry<String, BusinessRulesProperties.SectorConfig> setor : properties.getSectors().entrySet()) {
+          String id = setor.getKey();
+          sugestoesPorSetor.putIfAbsent(id, sugestoesPadrao);
+
+          List<String> keywords = setor.getValue() != null ? setor.getValue().getKeywords() : null;
+          if (keywords == null) {
+            continue;
+          }
+          for (String keyword : keywords) {
+            if (normalizavel(keyword, normalizer)) {
+              padroes.add(keyword);
+              setores.add(id);
+            }
+          }
+        }
+      }
+
+      int quantidadePalavrasChave = padroes.size();
+      if (properties.getCriticalAlerts() != null) {
+        for (String alerta : properties.getCriticalAlerts()) {
+          if (normalizavel(alerta, normalizer)) {
+            padroes.add(alerta);
+          }
+        }
+      }
+
+      List<String> normalizados = new ArrayList<>(padroes.size());
+      padroes.forEach(padrao -> normalizados.add(normalizer.normalize(padrao)));
+
+      return new RegrasCompiladas(
+          KeywordAutomaton.compilar(normalizados),
+          padroes.toArray(String[]::new),
+          setores.toArray(String[]::new),
+          quantidadePalavrasChave,
+          Collections.unmodifiableMap(sugestoesPorSetor),
+          sugestoesPadrao,
+          versao,
+          origem);
+    }
+
+    // Uma palavra sem nenhuma letra viraria um padrão vazio, que casa com
+    // qualquer texto.
+    private static boolean normalizavel(String palavra, TextNormalizer normalizer) {
+      if (palavra == null || normalizer.normalize(palavra).isEmpty()) {
+        log.warn("Palavra-chave ignorada por não ter letras: '{}'", palavra);
+        return false;
+      }
+      return true;
+    }
   }
 
-  private String obterTemplate(String setor, String tipoSentimento) {
-    BusinessRulesProperties.ResponseTemplate template = properties.getResponseTemplates().get(setor.toUpperCase());
+  private record Sugestoes(String positivo, String neutro, String negativo) {
 
-    if (template == null) {
-      template = properties.getResponseTemplates().get("GERAL");
+    private String para(SentimentType sentimento) {
+      return switch (sentimento) {
+        case POSITIVO -> positivo;
+        case NEGATIVO -> negativo;
+        default -> neutro;
+      };
     }
 
-    return switch (tipoSentimento) {
-      case "positivo" -> template.getPositivo();
-      case "neutro" -> template.getNeutro();
-      case "negativo" -> template.getNegativo();
-      default -> template.getNeutro();
-    };
+    // Sem padrão (o próprio GERAL), todos os campos são obrigatórios.
+    private static Sugestoes de(BusinessRulesProperties.ResponseTemplate template, Sugestoes padrao) {
+      if (padrao == null) {
+        if (template == null || template.getPositivo() == null || template.getNeutro() == null
+            || template.getNegativo() == null) {
+          throw new IllegalArgumentException(
+              "business-rules.response-templates." + SETOR_PADRAO + " precisa de positivo, neutro e negativo");
+        }
+        return new Sugestoes(template.getPositivo(), template.getNeutro(), template.getNegativo());
+      }
+
+      if (template == null) {
+        return padrao;
+      }
+      return new Sugestoes(
+          template.getPositivo() != null ? template.getPositivo() : padrao.positivo(),
+          template.getNeutro() != null ? template.getNeutro() : padrao.neutro(),
+          template.getNegativo() != null ? template.getNegativo() : padrao.negativo());
+    }
   }
 }
@@ -0,0 +1,203 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.BusinessRulesProperties;
+import com.sentiment.backend.config.BusinessRulesReloadProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lê as regras de negócio de {@code business-rules-reload.file} e as aplica
+ * no {@link BusinessRuleService}: na subida, a cada mudança do arquivo
+ * (observado por um {@link WatchService} no diretório, o que cobre editores
+ * que gravam um arquivo novo e renomeiam) e sob demanda pelo endpoint
+ * {@code /actuator/businessrules}. Um arquivo inválido na subida impede a
+ * aplicação de subir; depois dela, só é registrado no log, e as regras em
+ * vigor continuam valendo.
+ */
+@Slf4j
+@Component
+public class BusinessRulesReloader implements SmartLifecycle {
+
+  private static final String PREFIXO = "business-rules";
+
+  private final BusinessRulesReloadProperties properties;
+  private final BusinessRuleService businessRuleService;
+  private final Path arquivo;
+
+  private volatile boolean executando;
+  private WatchService watchService;
+  private Thread observador;
+
+  public BusinessRulesReloader(BusinessRulesReloadProperties properties, BusinessRuleService businessRuleService) {
+    this.properties = properties;
+    this.businessRuleService = businessRuleService;
+    this.arquivo = properties.getFile() == null || properties.getFile().isBlank()
+        ? null
+        : Path.of(properties.getFile()).toAbsolutePath().normalize();
+  }
+
+  @PostConstruct
+  public void carregarArquivo() {
+    if (arquivo == null) {
+      return;
+    }
+    if (!Files.exists(arquivo)) {
+      log.warn("Arquivo de regras {} não encontrado. Usando as regras do application.yml.", arquivo);
+      return;
+    }
+
+    try {
+      recarregar();
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Arquivo de regras inválido: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Lê o arquivo e troca as regras em vigor.
+   *
+   * @throws IllegalStateException se nenhum arquivo estiver configurado
+   * @throws IllegalArgumentException se o arquivo não puder ser lido ou as
+   *     regras forem inválidas
+   */
+  public BusinessRulesStatus recarregar() {
+    if (arquivo == null) {
+      throw new IllegalStateException("business-rules-reload.file não configurado");
+    }
+
+    return businessRuleService.aplicar(ler(arquivo), arquivo.toString());
+  }
+
+  static BusinessRulesProperties ler(Path arquivo) {
+    List<PropertySource<?>> fontes;
+    try {
+      fontes = new YamlPropertySourceLoader().load(arquivo.toString(), new FileSystemResource(arquivo));
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalArgumentException("Não foi possível ler " + arquivo + ": " + e.getMessage(), e);
+    }
+
+    try {
+      return new Binder(ConfigurationPropertySources.from(fontes))
+          .bind(PREFIXO, BusinessRulesProperties.class)
+          .orElseThrow(() -> new IllegalArgumentException(arquivo + " não tem a seção " + PREFIXO));
+    } catch (BindException e) {
+      throw new IllegalArgumentException("Regras inválidas em " + arquivo + ": " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void start() {
+    if (arquivo == null || !properties.isWatch()) {
+      return;
+    }
+
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+      arquivo.getParent().register(watchService,
+          StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (IOException e) {
+      log.error("Não foi possível observar {}: {}. As regras só mudam pelo endpoint.", arquivo, e.getMessage());
+      return;
+    }
+
+    executando = true;
+    observador = new Thread(this::observar, "business-rules-watcher");
+    observador.setDaemon(true);
+    observador.start();
+    log.info("Observando {} para recarregar as regras de negócio", arquivo);
+  }
+
+  @Override
+  public void stop() {
+    if (observador == null) {
+      return;
+    }
+
+    executando = false;
+    try {
+      watchService.close();
+      observador.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (IOException e) {
+      log.warn("Erro ao encerrar o observador de regras: {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executando;
+  }
+
+  private void observar() {
+    try {
+      while (executando) {
+        WatchKey chave = watchService.take();
+        boolean alterado = doArquivo(chave);
+        chave.reset();
+        if (!alterado) {
+          continue;
+        }
+
+        // Um salvamento costuma gerar vários eventos; espera o último antes
+        // de ler.
+        Thread.sleep(properties.getDebounce().toMillis());
+        WatchKey seguinte;
+        while ((seguinte = watchService.poll()) != null) {
+          seguinte.pollEvents();
+          seguinte.reset();
+        }
+
+        aplicarMudanca();
+      }
+    } catch (ClosedWatchServiceException e) {
+      // stop()
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean doArquivo(WatchKey chave) {
+    boolean alterado = false;
+    for (WatchEvent<?> evento : chave.pollEvents()) {
+      if (evento.kind() == StandardWatchEventKinds.OVERFLOW
+          || arquivo.getFileName().equals(evento.context())) {
+        alterado = true;
+      }
+    }
+    return alterado;
+  }
+
+  private void aplicarMudanca() {
+    if (!Files.exists(arquivo)) {
+      return;
+    }
+
+    try {
+      BusinessRulesStatus status = recarregar();
+      log.info("Regras de negócio recarregadas de {} (v{})", arquivo, status.getVersao());
+    } catch (RuntimeException e) {
+      log.error("Regras de {} não aplicadas, as anteriores continuam em vigor: {}", arquivo, e.getMessage());
+    }
+  }
+}
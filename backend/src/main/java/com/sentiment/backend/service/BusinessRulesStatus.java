@@ -0,0 +1,22 @@
+package com.sentiment.backend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Resumo das regras de negócio em vigor. */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BusinessRulesStatus {
+
+  private final long versao;
+  private final String origem;
+  private final Instant carregadoEm;
+  private final List<String> setores;
+  private final int palavrasChave;
+  private final int alertasCriticos;
+}
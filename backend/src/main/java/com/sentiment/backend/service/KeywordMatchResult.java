@@ -0,0 +1,17 @@
+package com.sentiment.backend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class KeywordMatchResult {
+
+  private final String setor;
+  private final List<String> tags;
+  private final boolean alertaCritico;
+}
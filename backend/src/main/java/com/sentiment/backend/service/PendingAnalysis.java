@@ -0,0 +1,18 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.dto.SentimentResponse;
+
+/**
+ * Análise já disparada por {@link SentimentService#iniciarAnalise}: a
+ * previsão segue em outra thread até {@link #aguardar()}, que aplica as
+ * regras de negócio e devolve a resposta.
+ */
+@FunctionalInterface
+public interface PendingAnalysis {
+
+  SentimentResponse aguardar();
+
+  static PendingAnalysis concluida(SentimentResponse resposta) {
+    return () -> resposta;
+  }
+}
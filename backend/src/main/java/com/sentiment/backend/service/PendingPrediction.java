@@ -0,0 +1,16 @@
+package com.sentiment.backend.service;
+
+/**
+ * Previsão já disparada por {@link PredictionRouter#iniciar}: a chamada ao
+ * modelo segue em outra thread até {@link #aguardar()}, que devolve o
+ * resultado do modelo ou o fallback do léxico.
+ */
+@FunctionalInterface
+public interface PendingPrediction {
+
+  PredictionResult aguardar();
+
+  static PendingPrediction concluida(PredictionResult resultado) {
+    return () -> resultado;
+  }
+}
@@ -0,0 +1,17 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.SentimentType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class PredictionResult {
+
+  private final SentimentType tipo;
+  private final double confianca;
+  private final AnalysisEngine motor;
+}
@@ -0,0 +1,227 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.client.LocalModelClient;
+import com.sentiment.backend.client.ModelBatcher;
+import com.sentiment.backend.client.ModelCallRejectedException;
+import com.sentiment.backend.client.ModelClient;
+import com.sentiment.backend.client.ModelRequest;
+import com.sentiment.backend.client.ModelResponse;
+import com.sentiment.backend.client.ModelServiceGuard;
+import com.sentiment.backend.client.SingleFlight;
+import com.sentiment.backend.config.ModelRoutingProperties;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.SentimentAnalysisResult;
+import com.sentiment.backend.util.SentimentAnalyzer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Decide qual motor responde cada análise: o modelo Python, limitado pelo
+ * orçamento de latência, ou o {@link SentimentAnalyzer} local, usado como
+ * fallback quando o modelo falha/demora e, no modo lexicon-first, como
+ * atalho quando o léxico já tem confiança alta. Chamadas simultâneas para a
+ * mesma {@link AnalysisKey} compartilham uma única requisição ao modelo,
+ * e toda requisição passa pelo {@link ModelServiceGuard}: com o circuito
+ * aberto ou o limite de concorrência cheio, a análise vai direto ao léxico.
+ * Com {@code local-inference}, o próprio modelo roda na JVM
+ * ({@link LocalModelClient}) e não há chamada de rede; com
+ * {@code model-batching}, chamadas simultâneas saem juntas pelo
+ * {@link ModelBatcher}, que aplica o guard a cada lote, e uma recusa chega
+ * pelo próprio future.
+ */
+@Slf4j
+@Service
+public class PredictionRouter {
+
+  private static final String METRICA_MOTOR = "sentiment.analysis.engine";
+
+  private final ModelClient modelClient;
+  private final LocalModelClient localModelClient;
+  private final ModelBatcher modelBatcher;
+  private final SentimentAnalyzer analyzer;
+  private final ModelRoutingProperties properties;
+  private final Executor modelExecutor;
+  private final ModelServiceGuard guard;
+  private final AnalysisMetrics metrics;
+  private final SingleFlight<AnalysisKey, ModelResponse> chamadasEmVoo;
+
+  private final Counter respostasModelo;
+  private final Counter respostasModeloLocal;
+  private final Counter atalhosLexico;
+  private final Counter fallbacksTimeout;
+  private final Counter fallbacksErro;
+  private final Counter fallbacksRejeitados;
+  private final Counter fallbacksCircuitoAberto;
+  private final Counter fallbacksLimite;
+
+  public PredictionRouter(ModelClient modelClient,
+                          LocalModelClient localModelClient,
+                          ModelBatcher modelBatcher,
+                          SentimentAnalyzer analyzer,
+                          ModelRoutingProperties properties,
+                          @Qualifier("modelExecutor") Executor modelExecutor,
+                          ModelServiceGuard guard,
+                          AnalysisMetrics metrics,
+                          MeterRegistry meterRegistry) {
+    this.modelClient = modelClient;
+    this.localModelClient = localModelClient;
+    this.modelBatcher = modelBatcher;
+    this.analyzer = analyzer;
+    this.properties = properties;
+    this.modelExecutor = modelExecutor;
+    this.guard = guard;
+    this.metrics = metrics;
+    this.chamadasEmVoo = new SingleFlight<>(meterRegistry, "sentiment.model.calls");
+    this.respostasModelo = contador(meterRegistry, AnalysisEngine.MODELO, "modelo");
+    this.respostasModeloLocal = contador(meterRegistry, AnalysisEngine.MODELO, "local");
+    this.atalhosLexico = contador(meterRegistry, AnalysisEngine.LEXICO, "lexicon_first");
+    this.fallbacksTimeout = contador(meterRegistry, AnalysisEngine.LEXICO, "timeout");
+    this.fallbacksErro = contador(meterRegistry, AnalysisEngine.LEXICO, "erro");
+    this.fallbacksRejeitados = contador(meterRegistry, AnalysisEngine.LEXICO, "rejeitado");
+    this.fallbacksCircuitoAberto = contador(meterRegistry, AnalysisEngine.LEXICO, "circuito_aberto");
+    this.fallbacksLimite = contador(meterRegistry, AnalysisEngine.LEXICO, "limite");
+  }
+
+  public PredictionResult prever(AnalysisKey chave, AnalysisContext contexto) {
+    return iniciar(chave, contexto).aguardar();
+  }
+
+  /**
+   * Dispara a previsão e volta sem esperar pelo modelo, para quem chama
+   * adiantar outro trabalho. O orçamento de latência conta a partir daqui.
+   */
+  public PendingPrediction iniciar(AnalysisKey chave, AnalysisContext contexto) {
+    SentimentAnalysisResult lexico = null;
+
+    if (properties.isLexiconFirst()) {
+      lexico = analisarLexico(contexto);
+      if (lexico.hasHighConfidence()) {
+        atalhosLexico.increment();
+        return PendingPrediction.concluida(deLexico(lexico));
+      }
+    }
+
+    if (localModelClient.isAtivo()) {
+      return PendingPrediction.concluida(preverLocalmente(contexto.texto()));
+    }
+
+    long prazo = System.nanoTime() + properties.getLatencyBudget().toNanos();
+    CompletableFuture<ModelResponse> resposta;
+    try {
+      resposta = chamarIAPython(chave, contexto.texto());
+    } catch (RejectedExecutionException e) {
+      return PendingPrediction.concluida(recusada(e, contexto, lexico));
+    }
+
+    SentimentAnalysisResult lexicoCalculado = lexico;
+    return () -> aguardar(resposta, prazo, contexto, lexicoCalculado);
+  }
+
+  private PredictionResult aguardar(CompletableFuture<ModelResponse> chamada, long prazo,
+                                    AnalysisContext contexto, SentimentAnalysisResult lexico) {
+    ModelResponse resposta;
+    try {
+      resposta = chamada.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      log.warn("API Python excedeu o orçamento de {} ms. Usando análise local.",
+          properties.getLatencyBudget().toMillis());
+      return fallback(contexto, lexico, fallbacksTimeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return fallback(contexto, lexico, fallbacksErro);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RejectedExecutionException recusa) {
+        return recusada(recusa, contexto, lexico);
+      }
+      log.error("Erro ao conectar com API Python: {}", e.getCause().getMessage());
+      return fallback(contexto, lexico, fallbacksErro);
+    }
+
+    if (resposta == null) {
+      log.warn("Resposta da IA nula. Usando análise local.");
+      return fallback(contexto, lexico, fallbacksErro);
+    }
+
+    respostasModelo.increment();
+    return new PredictionResult(resposta.previsao(), resposta.probabilidade(), AnalysisEngine.MODELO);
+  }
+
+  private PredictionResult recusada(RejectedExecutionException e, AnalysisContext contexto,
+                                    SentimentAnalysisResult lexico) {
+    if (e instanceof ModelCallRejectedException recusa) {
+      // Com o circuito aberto isso acontece a cada análise; o aviso fica no
+      // log do circuit breaker, na transição.
+      log.debug("{}. Usando análise local.", recusa.getMessage());
+      Counter motivo = "limite".equals(recusa.getMotivo()) ? fallbacksLimite : fallbacksCircuitoAberto;
+      return fallback(contexto, lexico, motivo);
+    }
+    log.warn("Limite de chamadas simultâneas à API Python atingido. Usando análise local.");
+    return fallback(contexto, lexico, fallbacksRejeitados);
+  }
+
+  private CompletableFuture<ModelResponse> chamarIAPython(AnalysisKey chave, String texto) {
+    // O batcher passa cada lote pelo guard: aqui, uma vaga por pedido
+    // limitaria o tamanho dos lotes ao limite de concorrência.
+    Supplier<CompletableFuture<ModelResponse>> chamada = () -> modelBatcher.isAtivo()
+        ? modelBatcher.enviar(new ModelRequest(texto, chave.rating(), chave.recommendToFriend()))
+        : guard.executar(() -> CompletableFuture.supplyAsync(
+            () -> modelClient.prever(texto, chave.rating(), chave.recommendToFriend()), modelExecutor));
+
+    // Quem desiste por timeout não cancela o future: ele pode ser
+    // compartilhado com outras análises do mesmo texto.
+    return properties.isCoalesceRequests()
+        ? chamadasEmVoo.executar(chave, chamada)
+        : chamada.get();
+  }
+
+  private PredictionResult preverLocalmente(String texto) {
+    long inicio = metrics.iniciar();
+    ModelResponse resposta = localModelClient.prever(texto);
+    metrics.registrar(AnalysisMetrics.Etapa.MODELO_LOCAL, inicio);
+
+    respostasModeloLocal.increment();
+    return new PredictionResult(resposta.previsao(), resposta.probabilidade(), AnalysisEngine.MODELO);
+  }
+
+  private PredictionResult fallback(AnalysisContext contexto, SentimentAnalysisResult lexico, Counter motivo) {
+    motivo.increment();
+    return deLexico(lexico != null ? lexico : analisarLexico(contexto));
+  }
+
+  private SentimentAnalysisResult analisarLexico(AnalysisContext contexto) {
+    long inicio = metrics.iniciar();
+    SentimentAnalysisResult lexico = analyzer.analisar(contexto);
+    metrics.registrar(AnalysisMetrics.Etapa.LEXICO, inicio);
+    return lexico;
+  }
+
+  private PredictionResult deLexico(SentimentAnalysisResult lexico) {
+    SentimentType tipo = switch (lexico.getType()) {
+      case POSITIVO -> SentimentType.POSITIVO;
+      case NEGATIVO -> SentimentType.NEGATIVO;
+      case NEUTRO -> SentimentType.NEUTRO;
+    };
+    return new PredictionResult(tipo, lexico.getProbabilidade(), AnalysisEngine.LEXICO);
+  }
+
+  private static Counter contador(MeterRegistry meterRegistry, AnalysisEngine motor, String motivo) {
+    return Counter.builder(METRICA_MOTOR)
+        .description("Análises por motor que produziu a previsão")
+        .tag("engine", motor.name().toLowerCase())
+        .tag("reason", motivo)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,83 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.dto.PurgeStatusResponse;
+import com.sentiment.backend.model.PurgeState;
+import com.sentiment.backend.model.PurgeType;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de uma remoção em andamento. Só a thread da remoção escreve; as
+ * leituras de progresso vêm de outras threads, daí os campos voláteis.
+ */
+class PurgeJob {
+
+  private final PurgeType tipo;
+  private final LocalDateTime corte;
+  private final LocalDateTime iniciadaEm = LocalDateTime.now();
+
+  private volatile PurgeState estado = PurgeState.EM_ANDAMENTO;
+  private volatile FaixaIds faixa;
+  private volatile long ultimoIdProcessado;
+  private volatile long removidas;
+  private volatile long lotes;
+  private volatile LocalDateTime concluidaEm;
+  private volatile String erro;
+
+  PurgeJob(PurgeType tipo, LocalDateTime corte) {
+    this.tipo = tipo;
+    this.corte = corte;
+  }
+
+  LocalDateTime getCorte() {
+    return corte;
+  }
+
+  boolean emAndamento() {
+    return estado == PurgeState.EM_ANDAMENTO;
+  }
+
+  void definirFaixa(FaixaIds faixa) {
+    this.faixa = faixa;
+    this.ultimoIdProcessado = faixa.primeiro() - 1;
+  }
+
+  void avancar(long ultimoId, long removidasNoLote) {
+    ultimoIdProcessado = ultimoId;
+    removidas += removidasNoLote;
+    lotes++;
+  }
+
+  void concluir() {
+    concluidaEm = LocalDateTime.now();
+    estado = PurgeState.CONCLUIDA;
+  }
+
+  void falhar(String motivo) {
+    erro = motivo;
+    concluidaEm = LocalDateTime.now();
+    estado = PurgeState.FALHOU;
+  }
+
+  PurgeStatusResponse paraResposta() {
+    return new PurgeStatusResponse(tipo, estado, corte, removidas, lotes, calcularPercentual(),
+        iniciadaEm, concluidaEm, erro);
+  }
+
+  private double calcularPercentual() {
+    FaixaIds atual = faixa;
+    if (atual == null) {
+      return estado == PurgeState.CONCLUIDA ? 100.0 : 0.0;
+    }
+
+    double total = atual.ultimo() - atual.primeiro() + 1;
+    double percorrido = ultimoIdProcessado - atual.primeiro() + 1;
+
+    return BigDecimal.valueOf(percorrido * 100.0 / total)
+        .setScale(2, RoundingMode.HALF_UP)
+        .doubleValue();
+  }
+}
@@ -0,0 +1,171 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.dto.RescoreStatusResponse;
+import com.sentiment.backend.model.RescoreCheckpoint;
+import com.sentiment.backend.model.RescoreState;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de uma reavaliação do histórico. Como em {@link PurgeJob}, só a
+ * thread da reavaliação escreve; as leituras de progresso e o pedido de
+ * interrupção vêm de outras threads, daí os campos voláteis.
+ */
+class RescoreJob {
+
+  private final boolean incluirModelo;
+  private final LocalDateTime iniciadaEm;
+  private final long inicioExecucao = System.nanoTime();
+
+  private volatile RescoreState estado;
+  private volatile FaixaIds faixa;
+  private volatile long ultimoIdProcessado;
+  private volatile long processadas;
+  private volatile long alteradas;
+  private volatile long processadasNaExecucao;
+  private volatile long fimExecucao;
+  private volatile boolean interrupcaoPedida;
+  private volatile LocalDateTime concluidaEm;
+  private volatile String erro;
+
+  private RescoreJob(boolean incluirModelo, LocalDateTime iniciadaEm, RescoreState estado) {
+    this.incluirModelo = incluirModelo;
+    this.iniciadaEm = iniciadaEm;
+    this.estado = estado;
+  }
+
+  static RescoreJob novo(boolean incluirModelo) {
+    return new RescoreJob(incluirModelo, LocalDateTime.now(), RescoreState.EM_ANDAMENTO);
+  }
+
+  /** Continua do ponto gravado no checkpoint, com a mesma faixa e as mesmas contagens. */
+  static RescoreJob retomar(RescoreCheckpoint checkpoint) {
+    RescoreJob job = de(checkpoint);
+    job.estado = RescoreState.EM_ANDAMENTO;
+    job.concluidaEm = null;
+    job.erro = null;
+    return job;
+  }
+
+  /** Só para exibir o último checkpoint (por exemplo, depois de reiniciar). */
+  static RescoreJob de(RescoreCheckpoint checkpoint) {
+    RescoreJob job = new RescoreJob(checkpoint.getIncluirModelo(), checkpoint.getIniciadaEm(), checkpoint.getEstado());
+    job.faixa = new FaixaIds(checkpoint.getPrimeiroId(), checkpoint.getUltimoId());
+    job.ultimoIdProcessado = checkpoint.getUltimoIdProcessado();
+    job.processadas = checkpoint.getProcessadas();
+    job.alteradas = checkpoint.getAlteradas();
+    job.concluidaEm = checkpoint.getEstado() == RescoreState.EM_ANDAMENTO ? null : checkpoint.getAtualizadaEm();
+    job.erro = checkpoint.getErro();
+    job.fimExecucao = job.inicioExecucao;
+    return job;
+  }
+
+  boolean isIncluirModelo() {
+    return incluirModelo;
+  }
+
+  FaixaIds getFaixa() {
+    return faixa;
+  }
+
+  long getUltimoIdProcessado() {
+    return ultimoIdProcessado;
+  }
+
+  long getProcessadasNaExecucao() {
+    return processadasNaExecucao;
+  }
+
+  boolean emAndamento() {
+    return estado == RescoreState.EM_ANDAMENTO;
+  }
+
+  boolean interrupcaoPedida() {
+    return interrupcaoPedida;
+  }
+
+  void pedirInterrupcao() {
+    interrupcaoPedida = true;
+  }
+
+  void definirFaixa(FaixaIds faixa) {
+    this.faixa = faixa;
+    this.ultimoIdProcessado = faixa.primeiro() - 1;
+  }
+
+  void avancar(long ultimoId, long processadasNoLote, long alteradasNoLote) {
+    ultimoIdProcessado = ultimoId;
+    processadas += processadasNoLote;
+    processadasNaExecucao += processadasNoLote;
+    alteradas += alteradasNoLote;
+  }
+
+  long nanosDesdeInicio() {
+    return System.nanoTime() - inicioExecucao;
+  }
+
+  void concluir() {
+    encerrar(RescoreState.CONCLUIDA);
+  }
+
+  void interromper() {
+    encerrar(RescoreState.INTERROMPIDA);
+  }
+
+  void falhar(String motivo) {
+    erro = motivo;
+    encerrar(RescoreState.FALHOU);
+  }
+
+  private void encerrar(RescoreState destino) {
+    fimExecucao = System.nanoTime();
+    concluidaEm = LocalDateTime.now();
+    estado = destino;
+  }
+
+  RescoreCheckpoint paraCheckpoint() {
+    return RescoreCheckpoint.builder()
+        .id(RescoreCheckpoint.ID)
+        .estado(estado)
+        .primeiroId(faixa.primeiro())
+        .ultimoId(faixa.ultimo())
+        .ultimoIdProcessado(ultimoIdProcessado)
+        .processadas(processadas)
+        .alteradas(alteradas)
+        .incluirModelo(incluirModelo)
+        .iniciadaEm(iniciadaEm)
+        .atualizadaEm(LocalDateTime.now())
+        .erro(erro != null && erro.length() > 500 ? erro.substring(0, 500) : erro)
+        .build();
+  }
+
+  RescoreStatusResponse paraResposta() {
+    return new RescoreStatusResponse(estado, incluirModelo, processadas, alteradas, ultimoIdProcessado,
+        calcularPercentual(), calcularVazao(), iniciadaEm, concluidaEm, erro);
+  }
+
+  double calcularPercentual() {
+    FaixaIds atual = faixa;
+    if (atual == null) {
+      return estado == RescoreState.CONCLUIDA ? 100.0 : 0.0;
+    }
+
+    double total = atual.ultimo() - atual.primeiro() + 1;
+    double percorrido = ultimoIdProcessado - atual.primeiro() + 1;
+
+    return arredondar(percorrido * 100.0 / total);
+  }
+
+  private double calcularVazao() {
+    long fim = emAndamento() ? System.nanoTime() : fimExecucao;
+    double segundos = (fim - inicioExecucao) / 1e9;
+    return segundos > 0 ? arredondar(processadasNaExecucao / segundos) : 0.0;
+  }
+
+  private static double arredondar(double valor) {
+    return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP).doubleValue();
+  }
+}
@@ -0,0 +1,344 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
+import com.sentiment.backend.config.RescoreProperties;
+import com.sentiment.backend.dto.RescoreStatusResponse;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.RescoreCheckpoint;
+import com.sentiment.backend.model.RescoreState;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.RescoreCheckpointRepository;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+import com.sentiment.backend.repository.SentimentRescoreRepository;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reavalia o histórico gravado depois de uma mudança de regras (ou do
+ * modelo): percorre {@code sentiment_analysis} em faixas de id, recalcula
+ * setor, tags, prioridade e sugestão (e, com {@code incluirModelo}, a
+ * previsão) em um {@link ForkJoinPool} próprio e regrava só o que mudou,
+ * em lote. Cada faixa gravada avança um checkpoint, de onde uma execução
+ * interrompida ou derrubada pode ser retomada. A vazão é limitada por
+ * {@code rescore.max-rows-per-second} para não disputar CPU e banco com
+ * as análises ao vivo. Só uma reavaliação roda por vez.
+ */
+@Slf4j
+@Service
+public class RescoreService {
+
+  private final SentimentRescoreRepository repository;
+  private final RescoreCheckpointRepository checkpoints;
+  private final BusinessRuleService businessRuleService;
+  private final PredictionRouter predictionRouter;
+  private final TextNormalizer normalizer;
+  private final SentimentStatsStore statsStore;
+  private final TrendRollupStore trendStore;
+  private final RescoreProperties properties;
+  private final Executor executor;
+  private final AtomicReference<RescoreJob> atual = new AtomicReference<>();
+  private final Counter alteradas;
+  private final Counter inalteradas;
+
+  public RescoreService(SentimentRescoreRepository repository,
+                        RescoreCheckpointRepository checkpoints,
+                        BusinessRuleService businessRuleService,
+                        PredictionRouter predictionRouter,
+                        TextNormalizer normalizer,
+                        SentimentStatsStore statsStore,
+                        TrendRollupStore trendStore,
+                        RescoreProperties properties,
+                        @Qualifier("rescoreExecutor") Executor executor,
+                        MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.checkpoints = checkpoints;
+    this.businessRuleService = businessRuleService;
+    this.predictionRouter = predictionRouter;
+    this.normalizer = normalizer;
+    this.statsStore = statsStore;
+    this.trendStore = trendStore;
+    this.properties = properties;
+    this.executor = executor;
+    this.alteradas = contador(meterRegistry, "alterada");
+    this.inalteradas = contador(meterRegistry, "inalterada");
+    Gauge.builder("sentiment.rescore.progress", atual, referencia -> {
+          RescoreJob job = referencia.get();
+          return job != null ? job.calcularPercentual() : 0.0;
+        })
+        .description("Percentual da faixa de ids já reavaliada")
+        .baseUnit("percent")
+        .register(meterRegistry);
+  }
+
+  /** Uma reavaliação que estava rodando quando a aplicação parou fica pronta para ser retomada. */
+  @PostConstruct
+  public void marcarInterrompida() {
+    checkpoints.findById(RescoreCheckpoint.ID)
+        .filter(checkpoint -> checkpoint.getEstado() == RescoreState.EM_ANDAMENTO)
+        .ifPresent(checkpoint -> {
+          checkpoint.setEstado(RescoreState.INTERROMPIDA);
+          checkpoints.save(checkpoint);
+          log.warn("Reavaliação do histórico interrompida no id {}; pode ser retomada",
+              checkpoint.getUltimoIdProcessado());
+        });
+  }
+
+  /**
+   * Inicia uma reavaliação do histórico inteiro ou, com {@code retomar},
+   * continua a última interrompida (ou que falhou) do ponto onde parou.
+   *
+   * @throws IllegalStateException se já houver uma em andamento ou, ao
+   *     retomar, não houver o que retomar
+   */
+  public RescoreStatusResponse iniciar(boolean retomar, Boolean incluirModelo) {
+    RescoreJob anterior = atual.get();
+    if (anterior != null && anterior.emAndamento()) {
+      throw new IllegalStateException("Já existe uma reavaliação do histórico em andamento");
+    }
+
+    RescoreJob job = retomar
+        ? RescoreJob.retomar(checkpoints.findById(RescoreCheckpoint.ID)
+            .filter(checkpoint -> checkpoint.getEstado() == RescoreState.INTERROMPIDA
+                || checkpoint.getEstado() == RescoreState.FALHOU)
+            .orElseThrow(() -> new IllegalStateException("Não há reavaliação interrompida para retomar")))
+        : RescoreJob.novo(incluirModelo != null ? incluirModelo : properties.isIncludeModel());
+    if (!atual.compareAndSet(anterior, job)) {
+      throw new IllegalStateException("Já existe uma reavaliação do histórico em andamento");
+    }
+
+    try {
+      executor.execute(() -> executar(job));
+    } catch (RejectedExecutionException e) {
+      job.falhar("Reavaliação recusada pelo executor");
+      throw new IllegalStateException("Já existe uma reavaliação do histórico em andamento");
+    }
+
+    log.info("Reavaliação do histórico {} (modelo: {})", retomar ? "retomada" : "iniciada", job.isIncluirModelo());
+    return job.paraResposta();
+  }
+
+  /**
+   * Pede que a reavaliação pare depois do lote atual. O checkpoint fica com
+   * a última faixa gravada.
+   *
+   * @throws IllegalStateException se nenhuma estiver em andamento
+   */
+  public RescoreStatusResponse interromper() {
+    RescoreJob job = atual.get();
+    if (job == null || !job.emAndamento()) {
+      throw new IllegalStateException("Nenhuma reavaliação do histórico em andamento");
+    }
+
+    job.pedirInterrupcao();
+    return job.paraResposta();
+  }
+
+  /** Andamento da reavaliação atual ou da última (inclusive de antes de reiniciar), ou null se nenhuma rodou. */
+  public RescoreStatusResponse status() {
+    RescoreJob job = atual.get();
+    if (job != null) {
+      return job.paraResposta();
+    }
+    return checkpoints.findById(RescoreCheckpoint.ID)
+        .map(checkpoint -> RescoreJob.de(checkpoint).paraResposta())
+        .orElse(null);
+  }
+
+  @EventListener
+  public void aoAlterarRegras(BusinessRulesChangedEvent evento) {
+    if (!properties.isOnRulesChange()) {
+      return;
+    }
+
+    try {
+      iniciar(false, null);
+    } catch (IllegalStateException e) {
+      log.warn("Regras alteradas ({}), mas a reavaliação não foi iniciada: {}", evento.origem(), e.getMessage());
+    }
+  }
+
+  private void executar(RescoreJob job) {
+    ForkJoinPool pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    try {
+      if (job.getFaixa() == null) {
+        FaixaIds faixa = repository.buscarFaixa();
+        if (faixa == null) {
+          job.concluir();
+          log.info("Reavaliação do histórico concluída: histórico vazio");
+          return;
+        }
+        job.definirFaixa(faixa);
+      }
+
+      reavaliarEmLotes(job, pool);
+      if (job.interrupcaoPedida()) {
+        job.interromper();
+      } else {
+        job.concluir();
+      }
+      checkpoints.save(job.paraCheckpoint());
+
+      RescoreStatusResponse status = job.paraResposta();
+      log.info("Reavaliação do histórico {}: {} análises, {} alteradas, {} por segundo", status.getEstado(),
+          status.getProcessadas(), status.getAlteradas(), status.getAnalisesPorSegundo());
+    } catch (Exception e) {
+      job.falhar(e.getMessage());
+      log.error("Erro ao reavaliar histórico: {}", e.getMessage(), e);
+      salvarCheckpointAposFalha(job);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private void reavaliarEmLotes(RescoreJob job, ForkJoinPool pool) {
+    long tamanhoLote = Math.max(1, properties.getChunkSize());
+    FaixaIds faixa = job.getFaixa();
+    boolean incluirModelo = job.isIncluirModelo();
+
+    for (long inicio = job.getUltimoIdProcessado() + 1;
+        inicio <= faixa.ultimo() && !job.interrupcaoPedida();
+        inicio += tamanhoLote) {
+      long fim = Math.min(faixa.ultimo(), inicio + tamanhoLote - 1);
+
+      List<SentimentAnalysis> analises = repository.buscarFaixa(inicio, fim);
+      List<Alteracao> alteracoes = pool.submit(() -> analises.parallelStream()
+              .map(analise -> reavaliar(analise, incluirModelo))
+              .filter(Objects::nonNull)
+              .toList())
+          .join();
+
+      long gravadas = gravar(alteracoes);
+      alteradas.increment(gravadas);
+      inalteradas.increment(analises.size() - gravadas);
+
+      job.avancar(fim, analises.size(), gravadas);
+      checkpoints.save(job.paraCheckpoint());
+      aguardarCota(job);
+    }
+  }
+
+  private Alteracao reavaliar(SentimentAnalysis anterior, boolean incluirModelo) {
+    AnalysisContext contexto = normalizer.criarContexto(anterior.getText().trim());
+    KeywordMatchResult regras = businessRuleService.avaliar(contexto);
+
+    SentimentType tipo = anterior.getPrediction();
+    double confianca = anterior.getConfidence();
+    if (incluirModelo) {
+      // rating e recomendação não são gravados: a nova previsão é a do texto.
+      // Se o modelo não responder, a previsão gravada fica; o léxico não a
+      // substitui.
+      PredictionResult previsao = predictionRouter.prever(
+          AnalysisKey.de(contexto.textoNormalizado(), null, null), contexto);
+      if (previsao.getMotor() == AnalysisEngine.MODELO) {
+        tipo = previsao.getTipo();
+        confianca = previsao.getConfianca();
+      }
+    }
+
+    SentimentAnalysis reavaliada = SentimentAnalysis.builder()
+        .id(anterior.getId())
+        .text(anterior.getText())
+        .createdAt(anterior.getCreatedAt())
+        .prediction(tipo)
+        .confidence(confianca)
+        .prioridade(businessRuleService.identificarPrioridade(regras, tipo))
+        .setor(regras.getSetor())
+        .sugestaoResposta(businessRuleService.gerarSugestao(tipo, regras.getSetor()))
+        .tags(regras.getTags())
+        .build();
+
+    return mudou(anterior, reavaliada) ? new Alteracao(anterior, reavaliada) : null;
+  }
+
+  // Grava o lote e ajusta estatísticas e tendências só das linhas que ainda
+  // existiam.
+  private long gravar(List<Alteracao> alteracoes) {
+    if (alteracoes.isEmpty()) {
+      return 0;
+    }
+
+    boolean[] gravadas = repository.atualizarTodas(alteracoes.stream().map(Alteracao::atual).toList());
+    List<SentimentAnalysis> anteriores = new ArrayList<>();
+    List<SentimentAnalysis> atuais = new ArrayList<>();
+    for (int i = 0; i < gravadas.length; i++) {
+      if (gravadas[i]) {
+        SentimentAnalysis anterior = alteracoes.get(i).anterior();
+        statsStore.descontar(anterior.getPrediction(), anterior.getSetor(), anterior.getPrioridade(), 1);
+        statsStore.registrar(alteracoes.get(i).atual());
+        anteriores.add(anterior);
+        atuais.add(alteracoes.get(i).atual());
+      }
+    }
+    trendStore.reclassificarTodos(anteriores, atuais);
+    return anteriores.size();
+  }
+
+  // Dorme o quanto a execução estiver adiantada em relação ao teto de vazão.
+  private void aguardarCota(RescoreJob job) {
+    int maximo = properties.getMaxRowsPerSecond();
+    if (maximo <= 0) {
+      return;
+    }
+
+    long adiantado = job.getProcessadasNaExecucao() * TimeUnit.SECONDS.toNanos(1) / maximo - job.nanosDesdeInicio();
+    if (adiantado <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(adiantado);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.pedirInterrupcao();
+    }
+  }
+
+  private void salvarCheckpointAposFalha(RescoreJob job) {
+    if (job.getFaixa() == null) {
+      return;
+    }
+    try {
+      checkpoints.save(job.paraCheckpoint());
+    } catch (Exception e) {
+      log.error("Erro ao gravar o checkpoint da reavaliação: {}", e.getMessage());
+    }
+  }
+
+  private static boolean mudou(SentimentAnalysis anterior, SentimentAnalysis atual) {
+    return anterior.getPrediction() != atual.getPrediction()
+        || Double.compare(anterior.getConfidence(), atual.getConfidence()) != 0
+        || !Objects.equals(anterior.getPrioridade(), atual.getPrioridade())
+        || !Objects.equals(anterior.getSetor(), atual.getSetor())
+        || !Objects.equals(anterior.getSugestaoResposta(), atual.getSugestaoResposta())
+        // A tabela de tags não guarda a ordem.
+        || !new HashSet<>(anterior.getTags()).equals(new HashSet<>(atual.getTags()));
+  }
+
+  private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+    return Counter.builder("sentiment.rescore.rows")
+        .description("Análises do histórico reavaliadas")
+        .tag("result", resultado)
+        .register(meterRegistry);
+  }
+
+  private record Alteracao(SentimentAnalysis anterior, SentimentAnalysis atual) {
+  }
+}
@@ -0,0 +1,147 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.RetentionProperties;
+import com.sentiment.backend.dto.PurgeStatusResponse;
+import com.sentiment.backend.exception.RemocaoEmAndamentoException;
+import com.sentiment.backend.model.PurgeType;
+import com.sentiment.backend.repository.SentimentPurgeRepository;
+import com.sentiment.backend.repository.SentimentPurgeRepository.Contagem;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Remoção do histórico em segundo plano, em lotes por faixa de id, tanto
+ * para a limpeza completa quanto para a política de retenção ("manter N
+ * dias"). Cada lote é uma transação curta, e os contadores de
+ * {@link SentimentStatsStore} são descontados lote a lote com o que foi de
+ * fato apagado. Só uma remoção roda por vez.
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+  private final SentimentPurgeRepository repository;
+  private final SentimentStatsStore statsStore;
+  private final RetentionProperties properties;
+  private final Executor executor;
+  private final AtomicReference<PurgeJob> atual = new AtomicReference<>();
+  private final Counter removidas;
+
+  public RetentionService(SentimentPurgeRepository repository,
+                          SentimentStatsStore statsStore,
+                          RetentionProperties properties,
+                          @Qualifier("purgeExecutor") Executor executor,
+                          MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.statsStore = statsStore;
+    this.properties = properties;
+    this.executor = executor;
+    this.removidas = Counter.builder("sentiment.retention.deleted")
+        .description("Análises removidas pela limpeza ou pela política de retenção")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Inicia a remoção de todo o histórico. {@code preparar} roda só se a
+   * remoção for aceita, antes do primeiro lote ser apagado.
+   *
+   * @throws RemocaoEmAndamentoException se já houver uma remoção em andamento
+   */
+  public PurgeStatusResponse iniciarLimpeza(Runnable preparar) {
+    return iniciar(PurgeType.LIMPEZA, LocalDateTime.now(), preparar);
+  }
+
+  public PurgeStatusResponse iniciarRetencao(Duration manter) {
+    Duration periodo = manter != null ? manter : properties.getKeep();
+    if (periodo.isNegative() || periodo.isZero()) {
+      throw new IllegalArgumentException("O período de retenção deve ser positivo");
+    }
+    return iniciar(PurgeType.RETENCAO, LocalDateTime.now().minus(periodo), () -> { });
+  }
+
+  @Scheduled(cron = "${retention.cron:-}")
+  public void aplicarRetencaoAgendada() {
+    try {
+      PurgeStatusResponse status = iniciarRetencao(null);
+      log.info("Retenção agendada iniciada: removendo análises anteriores a {}", status.getCorte());
+    } catch (RemocaoEmAndamentoException e) {
+      log.info("Retenção agendada ignorada: {}", e.getMessage());
+    }
+  }
+
+  /** Andamento da remoção atual ou da última, ou null se nenhuma rodou. */
+  public PurgeStatusResponse status() {
+    PurgeJob job = atual.get();
+    return job != null ? job.paraResposta() : null;
+  }
+
+  private PurgeStatusResponse iniciar(PurgeType tipo, LocalDateTime corte, Runnable preparar) {
+    PurgeJob anterior = atual.get();
+    PurgeJob job = new PurgeJob(tipo, corte);
+    if ((anterior != null && anterior.emAndamento()) || !atual.compareAndSet(anterior, job)) {
+      throw new RemocaoEmAndamentoException();
+    }
+
+    try {
+      preparar.run();
+    } catch (RuntimeException e) {
+      job.falhar(e.getMessage());
+      throw e;
+    }
+
+    try {
+      executor.execute(() -> executar(job));
+    } catch (RejectedExecutionException e) {
+      job.falhar("Remoção recusada pelo executor");
+      throw new RemocaoEmAndamentoException();
+    }
+
+    log.info("Remoção do histórico ({}) iniciada: análises anteriores a {}", tipo, corte);
+    return job.paraResposta();
+  }
+
+  private void executar(PurgeJob job) {
+    try {
+      FaixaIds faixa = repository.buscarFaixa(job.getCorte());
+      if (faixa != null) {
+        job.definirFaixa(faixa);
+        apagarEmLotes(job, faixa);
+      }
+      job.concluir();
+
+      PurgeStatusResponse status = job.paraResposta();
+      log.info("Remoção do histórico concluída: {} análises em {} lotes", status.getRemovidas(), status.getLotes());
+    } catch (Exception e) {
+      job.falhar(e.getMessage());
+      log.error("Erro ao remover histórico: {}", e.getMessage(), e);
+    }
+  }
+
+  private void apagarEmLotes(PurgeJob job, FaixaIds faixa) {
+    long tamanhoLote = Math.max(1, properties.getChunkSize());
+
+    for (long inicio = faixa.primeiro(); inicio <= faixa.ultimo(); inicio += tamanhoLote) {
+      long fim = Math.min(faixa.ultimo(), inicio + tamanhoLote - 1);
+
+      long apagadasNoLote = 0;
+      for (Contagem contagem : repository.apagarFaixa(inicio, fim, job.getCorte())) {
+        statsStore.descontar(contagem.sentimento(), contagem.setor(), contagem.prioridade(), contagem.quantidade());
+        apagadasNoLote += contagem.quantidade();
+      }
+
+      removidas.increment(apagadasNoLote);
+      job.avancar(fim, apagadasNoLote);
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.sentiment.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sentiment.backend.config.BatchProperties;
+import com.sentiment.backend.dto.SentimentBatchItemResponse;
+import com.sentiment.backend.dto.SentimentBatchResponse;
+import com.sentiment.backend.dto.SentimentRequest;
+import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.mapper.SentimentAnalysisMapper;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.repository.SentimentAnalysisBatchRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SentimentBatchService {
+
+  private final SentimentService sentimentService;
+  private final SentimentAnalysisMapper mapper;
+  private final SentimentAnalysisBatchRepository batchRepository;
+  private final BatchProperties properties;
+  private final Validator validator;
+  private final ObjectReader leitorRequest;
+  private final Executor executor;
+  private final SentimentStatsStore statsStore;
+  private final TrendRollupStore trendStore;
+
+  public SentimentBatchService(SentimentService sentimentService,
+      SentimentAnalysisMapper mapper,
+      SentimentAnalysisBatchRepository batchRepository,
+      SentimentStatsStore statsStore,
+      TrendRollupStore trendStore,
+      BatchProperties properties,
+      Validator validator,
+      ObjectMapper objectMapper,
+      @Qualifier("batchExecutor") Executor executor) {
+    this.sentimentService = sentimentService;
+    this.mapper = mapper;
+    this.batchRepository = batchRepository;
+    this.statsStore = statsStore;
+    this.trendStore = trendStore;
+    this.properties = properties;
+    this.validator = validator;
+    this.leitorRequest = objectMapper.readerFor(SentimentRequest.class);
+    this.executor = executor;
+  }
+
+  public SentimentBatchResponse analisarLote(List<SentimentRequest> requests) {
+    verificarLimite(requests.size());
+    return processar(requests, new HashMap<>());
+  }
+
+  public SentimentBatchResponse analisarNdjson(InputStream corpo) throws IOException {
+    List<SentimentRequest> requests = new ArrayList<>();
+    Map<Integer, String> errosLeitura = new HashMap<>();
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+      String linha;
+      while ((linha = reader.readLine()) != null) {
+        if (linha.isBlank()) {
+          continue;
+        }
+
+        verificarLimite(requests.size() + 1);
+
+        try {
+          requests.add(leitorRequest.readValue(linha));
+        } catch (JsonProcessingException e) {
+          errosLeitura.put(requests.size(), "JSON inválido: " + e.getOriginalMessage());
+          requests.add(null);
+        }
+      }
+    }
+
+    return processar(requests, errosLeitura);
+  }
+
+  private SentimentBatchResponse processar(List<SentimentRequest> requests, Map<Integer, String> erros) {
+    log.debug("Iniciando análise em lote de {} itens", requests.size());
+
+    List<Integer> validos = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      if (erros.containsKey(i)) {
+        continue;
+      }
+
+      String erroValidacao = validar(requests.get(i));
+      if (erroValidacao != null) {
+        erros.put(i, erroValidacao);
+      } else {
+        validos.add(i);
+      }
+    }
+
+    SentimentBatchItemResponse[] resultados = new SentimentBatchItemResponse[requests.size()];
+    erros.forEach((indice, erro) -> resultados[indice] = SentimentBatchItemResponse.erro(indice, erro));
+
+    int tamanhoLote = Math.max(1, properties.getChunkSize());
+    List<CompletableFuture<Void>> lotes = new ArrayList<>();
+    for (int inicio = 0; inicio < validos.size(); inicio += tamanhoLote) {
+      List<Integer> lote = validos.subList(inicio, Math.min(inicio + tamanhoLote, validos.size()));
+      lotes.add(CompletableFuture.runAsync(() -> processarMicroLote(lote, requests, resultados), executor));
+    }
+
+    CompletableFuture.allOf(lotes.toArray(CompletableFuture[]::new)).join();
+
+    int sucessos = (int) Arrays.stream(resultados).filter(SentimentBatchItemResponse::isSucesso).count();
+
+    log.info("Análise em lote concluída - Total: {}, Sucessos: {}, Falhas: {}",
+        resultados.length, sucessos, resultados.length - sucessos);
+
+    return SentimentBatchResponse.builder()
+        .total(resultados.length)
+        .sucessos(sucessos)
+        .falhas(resultados.length - sucessos)
+        .resultados(Arrays.asList(resultados))
+        .build();
+  }
+
+  // Dispara as previsões de todo o micro-lote antes de esperar pela
+  // primeira, para que as chamadas ao modelo (ou ao batcher) saiam juntas.
+  private void processarMicroLote(List<Integer> lote, List<SentimentRequest> requests,
+      SentimentBatchItemResponse[] resultados) {
+    Map<Integer, PendingAnalysis> emAndamento = new LinkedHashMap<>();
+    for (int indice : lote) {
+      try {
+        emAndamento.put(indice, sentimentService.iniciarAnalise(requests.get(indice)));
+      } catch (Exception e) {
+        resultados[indice] = erroAoAnalisar(indice, e);
+      }
+    }
+
+    List<Integer> analisados = new ArrayList<>(emAndamento.size());
+    List<SentimentResponse> respostas = new ArrayList<>(emAndamento.size());
+    List<SentimentAnalysis> entidades = new ArrayList<>(emAndamento.size());
+    emAndamento.forEach((indice, analise) -> {
+      try {
+        SentimentResponse response = analise.aguardar();
+        entidades.add(mapper.toEntity(requests.get(indice), response));
+        respostas.add(response);
+        analisados.add(indice);
+      } catch (Exception e) {
+        resultados[indice] = erroAoAnalisar(indice, e);
+      }
+    });
+
+    // Só é sucesso o que foi gravado.
+    try {
+      batchRepository.salvarTodos(entidades);
+    } catch (Exception e) {
+      log.error("Erro ao salvar micro-lote de {} análises no banco: {}", entidades.size(), e.getMessage());
+      analisados.forEach(indice ->
+          resultados[indice] = SentimentBatchItemResponse.erro(indice, "Erro ao salvar: " + e.getMessage()));
+      return;
+    }
+
+    for (int i = 0; i < analisados.size(); i++) {
+      resultados[analisados.get(i)] = SentimentBatchItemResponse.sucesso(analisados.get(i), respostas.get(i));
+    }
+    statsStore.registrarTodos(entidades);
+    trendStore.registrarTodos(entidades);
+  }
+
+  private static SentimentBatchItemResponse erroAoAnalisar(int indice, Exception e) {
+    log.warn("Erro ao analisar item {} do lote: {}", indice, e.getMessage());
+    return SentimentBatchItemResponse.erro(indice, "Erro ao analisar: " + e.getMessage());
+  }
+
+  private String validar(SentimentRequest request) {
+    if (request == null) {
+      return "Item nulo";
+    }
+
+    Set<ConstraintViolation<SentimentRequest>> violacoes = validator.validate(request);
+    if (violacoes.isEmpty()) {
+      return null;
+    }
+
+    return violacoes.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .collect(Collectors.joining(" "));
+  }
+
+  private void verificarLimite(int quantidade) {
+    if (quantidade > properties.getMaxItems()) {
+      throw new IllegalArgumentException(
+          "O lote ultrapassou o limite máximo de " + properties.getMaxItems() + " itens.");
+    }
+  }
+}
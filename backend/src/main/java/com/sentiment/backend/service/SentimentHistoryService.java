@@ -0,0 +1,161 @@
+package com.sentiment.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sentiment.backend.config.HistoryProperties;
+import com.sentiment.backend.dto.HistoryExportFormat;
+import com.sentiment.backend.dto.SentimentHistoryFilter;
+import com.sentiment.backend.dto.SentimentHistoryItem;
+import com.sentiment.backend.dto.SentimentHistoryResponse;
+import com.sentiment.backend.repository.HistoryCursor;
+import com.sentiment.backend.repository.SentimentHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class SentimentHistoryService {
+
+  private static final String CABECALHO_CSV =
+      "id,created_at,prediction,confidence,prioridade,setor,tags,text,sugestao_resposta\n";
+
+  private final SentimentHistoryRepository repository;
+  private final HistoryProperties properties;
+  private final ObjectWriter escritorNdjson;
+
+  public SentimentHistoryService(SentimentHistoryRepository repository,
+                                 HistoryProperties properties,
+                                 ObjectMapper objectMapper) {
+    this.repository = repository;
+    this.properties = properties;
+    this.escritorNdjson = objectMapper.writerFor(SentimentHistoryItem.class)
+        .without(SerializationFeature.INDENT_OUTPUT)
+        .withRootValueSeparator("\n");
+  }
+
+  public SentimentHistoryResponse listar(SentimentHistoryFilter filtro, String cursor, int limite) {
+    if (limite < 1 || limite > properties.getMaxPageSize()) {
+      throw new IllegalArgumentException(String.format(
+          "O limite deve estar entre 1 e %d", properties.getMaxPageSize()));
+    }
+
+    HistoryCursor apos = cursor != null && !cursor.isBlank() ? HistoryCursor.decodificar(cursor) : null;
+
+    // Um item a mais só para saber se existe próxima página.
+    List<SentimentHistoryItem> itens = repository.buscarPagina(filtro, apos, limite + 1);
+    if (itens.size() <= limite) {
+      return new SentimentHistoryResponse(itens, null);
+    }
+
+    List<SentimentHistoryItem> pagina = itens.subList(0, limite);
+    SentimentHistoryItem ultimo = pagina.get(limite - 1);
+    return new SentimentHistoryResponse(pagina, new HistoryCursor(ultimo.getCriadoEm(), ultimo.getId()).codificar());
+  }
+
+  /**
+   * Escreve todas as análises do filtro no formato pedido à medida que são
+   * lidas do banco, com memória constante. A transação só existe para o
+   * driver JDBC manter o cursor aberto entre os fetches.
+   */
+  @Transactional(readOnly = true)
+  public long exportar(SentimentHistoryFilter filtro, HistoryExportFormat formato, OutputStream saida) throws IOException {
+    AtomicLong exportadas = new AtomicLong();
+
+    try {
+      if (formato == HistoryExportFormat.CSV) {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escritor.write(CABECALHO_CSV);
+        repository.percorrer(filtro, properties.getExportFetchSize(), item -> {
+          escreverCsv(escritor, item);
+          exportadas.incrementAndGet();
+        });
+        escritor.flush();
+      } else {
+        SequenceWriter escritor = escritorNdjson.writeValues(saida);
+        repository.percorrer(filtro, properties.getExportFetchSize(), item -> {
+          escreverNdjson(escritor, item);
+          exportadas.incrementAndGet();
+        });
+        escritor.flush();
+        if (exportadas.get() > 0) {
+          saida.write('\n');
+        }
+        saida.flush();
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    log.info("Exportação do histórico em {} concluída: {} análises", formato, exportadas.get());
+    return exportadas.get();
+  }
+
+  private static void escreverNdjson(SequenceWriter escritor, SentimentHistoryItem item) {
+    try {
+      escritor.write(item);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void escreverCsv(Writer escritor, SentimentHistoryItem item) {
+    try {
+      escritor.write(Long.toString(item.getId()));
+      escritor.write(',');
+      escritor.write(item.getCriadoEm().toString());
+      escritor.write(',');
+      escritor.write(item.getPrevisao().name());
+      escritor.write(',');
+      escritor.write(Double.toString(item.getProbabilidade()));
+      escritor.write(',');
+      escreverCampoCsv(escritor, item.getPrioridade());
+      escritor.write(',');
+      escreverCampoCsv(escritor, item.getSetor());
+      escritor.write(',');
+      escreverCampoCsv(escritor, String.join("|", item.getTags()));
+      escritor.write(',');
+      escreverCampoCsv(escritor, item.getTexto());
+      escritor.write(',');
+      escreverCampoCsv(escritor, item.getSugestaoResposta());
+      escritor.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas,
+  // com as aspas internas duplicadas.
+  private static void escreverCampoCsv(Writer escritor, String valor) throws IOException {
+    if (valor == null) {
+      return;
+    }
+
+    boolean precisaAspas = false;
+    for (int i = 0; i < valor.length() && !precisaAspas; i++) {
+      char c = valor.charAt(i);
+      precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+
+    if (!precisaAspas) {
+      escritor.write(valor);
+      return;
+    }
+
+    escritor.write('"');
+    escritor.write(valor.replace("\"", "\"\""));
+    escritor.write('"');
+  }
+}
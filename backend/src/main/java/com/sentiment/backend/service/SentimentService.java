@@ -1,21 +1,25 @@
 package com.sentiment.backend.service;
 
+import com.sentiment.backend.dto.PurgeStatusResponse;
+import com.sentiment.backend.dto.SentimentDistributionResponse;
 import com.sentiment.backend.dto.SentimentRequest;
 import com.sentiment.backend.dto.SentimentResponse;
 import com.sentiment.backend.dto.SentimentStatsResponse;
+import com.sentiment.backend.dto.SentimentTrendResponse;
+import com.sentiment.backend.model.AnalysisEngine;
 import com.sentiment.backend.model.SentimentAnalysis;
 import com.sentiment.backend.model.SentimentType;
-import com.sentiment.backend.repository.SentimentAnalysisRepository;
+import com.sentiment.backend.model.TrendGranularity;
 import com.sentiment.backend.mapper.SentimentAnalysisMapper;
+import com.sentiment.backend.service.AnalysisMetrics.Etapa;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,110 +27,151 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SentimentService {
 
-  private static final String PYTHON_URL = "http://python-api:8000/predict";
-  private static final String PYTHON_URL_AUTO = "http://python-api:8000/predict/auto";
-  private static final double CONFIDENCE_DEFAULT = 0.85;
-
-  private final SentimentAnalysisRepository repository;
   private final BusinessRuleService businessRuleService;
   private final SentimentAnalysisMapper mapper;
-  private final RestTemplate restTemplate;
+  private final PredictionRouter predictionRouter;
+  private final AnalysisCache analysisCache;
+  private final TextNormalizer normalizer;
+  private final SentimentStatsStore statsStore;
+  private final AnalysisWriteBehind writeBehind;
+  private final TrendRollupStore trendStore;
+  private final RetentionService retentionService;
+  private final AnalysisMetrics metrics;
 
-  @Transactional
   public SentimentResponse analisarSentimento(SentimentRequest request) {
+    SentimentResponse response = calcularAnalise(request);
+
+    persistirAnalise(request, response);
+
+    return response;
+  }
+
+  public SentimentResponse calcularAnalise(SentimentRequest request) {
+    return iniciarAnalise(request).aguardar();
+  }
+
+  /**
+   * Dispara a previsão e volta sem esperar pelo modelo, para quem analisa
+   * vários textos disparar todos antes de esperar pelo primeiro.
+   */
+  public PendingAnalysis iniciarAnalise(SentimentRequest request) {
     String texto = request.getText().trim();
     log.debug("Iniciando análise para texto com {} caracteres", texto.length());
-  
-    Map<String, Object> dadosIA = chamarIAPython(texto, request.getRating(), request.getRecommendToFriend());
 
-    if (dadosIA == null) {
-      dadosIA = new HashMap<>();
-      log.warn("Resposta da IA nula. Usando valores padrão.");
+    // O texto é normalizado uma única vez; chave de cache, regras e léxico
+    // usam o mesmo contexto.
+    long inicio = metrics.iniciar();
+    AnalysisContext contexto = normalizer.criarContexto(texto);
+    AnalysisKey chave = AnalysisKey.de(contexto.textoNormalizado(), request.getRating(), request.getRecommendToFriend());
+    metrics.registrar(Etapa.NORMALIZACAO, inicio);
+
+    inicio = metrics.iniciar();
+    long versaoCache = analysisCache.versao();
+    SentimentResponse emCache = analysisCache.buscar(chave);
+    metrics.registrar(Etapa.CACHE, inicio);
+    if (emCache != null) {
+      log.debug("Resposta encontrada em cache");
+      contarResultado(emCache);
+      return PendingAnalysis.concluida(emCache);
     }
 
-    String previsaoStr = (String) dadosIA.getOrDefault("previsao", "neutro");
-    SentimentType tipoSentimento = mapearPrevisao(previsaoStr);
-    SentimentResponse response = construirResposta(texto, tipoSentimento, dadosIA);
+    PendingPrediction emAndamento = predictionRouter.iniciar(chave, contexto);
+    return () -> concluirAnalise(emAndamento, chave, versaoCache, contexto);
+  }
 
-    persistirAnalise(request, response);
+  private SentimentResponse concluirAnalise(PendingPrediction emAndamento, AnalysisKey chave, long versaoCache,
+                                            AnalysisContext contexto) {
+    // Setor, tags e alerta crítico só dependem do texto: são avaliados aqui
+    // enquanto o modelo responde no modelExecutor. Só prioridade e sugestão
+    // esperam pela previsão.
+    long inicio = metrics.iniciar();
+    KeywordMatchResult regras = businessRuleService.avaliar(contexto);
+    metrics.registrar(Etapa.REGRAS_TEXTO, inicio);
+
+    inicio = metrics.iniciar();
+    PredictionResult previsao = emAndamento.aguardar();
+    metrics.registrar(Etapa.ESPERA_MODELO, inicio);
+    SentimentResponse response = construirResposta(regras, previsao);
+
+    // Respostas do léxico não vão para o cache: são baratas de recalcular e,
+    // quando vêm de fallback, não devem mascarar a volta do modelo.
+    if (previsao.getMotor() == AnalysisEngine.MODELO) {
+      analysisCache.guardar(chave, versaoCache, response);
+    }
 
+    contarResultado(response);
     return response;
   }
 
-  @Transactional(readOnly = true)
-  public List<SentimentAnalysis> listarHistorico() {
-    return repository.findTop10ByOrderByCreatedAtDesc();
-  }
-
-  @Transactional(readOnly = true)
   public List<SentimentStatsResponse> gerarEstatisticas() {
-    long total = repository.count();
+    long total = statsStore.total();
     log.debug("Gerando estatísticas para {} análises", total);
 
     return java.util.Arrays.stream(SentimentType.values())
-            .map(tipo -> {
-              long quantidade = repository.countByPrediction(tipo);
-              return new SentimentStatsResponse(tipo, quantidade, (double) total);
-            })
+            .map(tipo -> new SentimentStatsResponse(tipo, statsStore.quantidade(tipo), (double) total))
             .collect(Collectors.toList());
   }
 
-  @Transactional
-  public void limparHistorico() {
-    repository.deleteAll();
+  public SentimentDistributionResponse gerarDistribuicao() {
+    return new SentimentDistributionResponse(statsStore.total(), statsStore.porSetor(), statsStore.porPrioridade());
   }
 
-  private Map<String, Object> chamarIAPython(String texto, Integer rating, Boolean recommendToFriend) {
-    try {
-      Map<String, Object> corpo = new HashMap<>();
-      corpo.put("text", texto);
+  public SentimentTrendResponse gerarTendencias(TrendGranularity granularidade, LocalDateTime inicio, LocalDateTime fim) {
+    LocalDateTime ate = fim != null ? fim : LocalDateTime.now();
+    LocalDateTime desde = inicio != null ? inicio : ate.minus(granularidade.getJanelaPadrao());
 
-      boolean useEnhanced = rating != null && recommendToFriend != null;
-      String url = useEnhanced ? PYTHON_URL_AUTO : PYTHON_URL;
+    return trendStore.consultar(granularidade, desde, ate);
+  }
 
-      return restTemplate.postForObject(url, corpo, Map.class);
-    } catch (Exception e) {
-      log.error("Erro ao conectar com API Python: {}", e.getMessage());
-      return null;
-    }
+  /**
+   * Inicia a remoção de todo o histórico em segundo plano. Os contadores de
+   * estatísticas são descontados à medida que os lotes são apagados; a fila
+   * de gravação e as tendências só são descartadas se a remoção for aceita.
+   */
+  public PurgeStatusResponse limparHistorico() {
+    return retentionService.iniciarLimpeza(() -> {
+      writeBehind.descartarPendentes();
+      trendStore.limpar();
+    });
   }
 
-  private SentimentResponse construirResposta(String texto, SentimentType tipoSentimento, Map<String, Object> dadosIA) {
-    String setor = businessRuleService.identificarSetor(texto);
-    Double confianca = CONFIDENCE_DEFAULT;
+  private SentimentResponse construirResposta(KeywordMatchResult regras, PredictionResult previsao) {
+    SentimentType tipoSentimento = previsao.getTipo();
 
-    if (dadosIA != null && dadosIA.containsKey("probabilidade")) {
-      Object prob = dadosIA.get("probabilidade");
-      if (prob instanceof Number n) {
-        confianca = n.doubleValue();
-      }
-    }
+    long inicio = metrics.iniciar();
+    String prioridade = businessRuleService.identificarPrioridade(regras, tipoSentimento);
+    metrics.registrar(Etapa.PRIORIDADE, inicio);
+
+    inicio = metrics.iniciar();
+    String sugestao = businessRuleService.gerarSugestao(tipoSentimento, regras.getSetor());
+    metrics.registrar(Etapa.SUGESTAO, inicio);
 
     return SentimentResponse.builder()
             .previsao(tipoSentimento)
-            .probabilidade(confianca)
-            .prioridade(businessRuleService.identificarPrioridade(texto, tipoSentimento))
-            .setor(setor)
-            .tags(businessRuleService.extrairTags(texto))
-            .sugestaoResposta(businessRuleService.gerarSugestao(tipoSentimento, setor))
+            .probabilidade(previsao.getConfianca())
+            .prioridade(prioridade)
+            .setor(regras.getSetor())
+            .tags(regras.getTags())
+            .sugestaoResposta(sugestao)
+            .motor(previsao.getMotor())
             .build();
   }
 
-  private SentimentType mapearPrevisao(String previsao) {
-    if (previsao == null) return SentimentType.NEUTRO;
-    return switch (previsao.toLowerCase()) {
-      case "positivo" -> SentimentType.POSITIVO;
-      case "negativo" -> SentimentType.NEGATIVO;
-      default -> SentimentType.NEUTRO;
-    };
+  private void contarResultado(SentimentResponse response) {
+    metrics.contarResultado(response.getPrevisao(), response.getSetor(), response.getPrioridade(), response.getMotor());
   }
 
   private void persistirAnalise(SentimentRequest request, SentimentResponse response) {
     try {
-      repository.save(mapper.toEntity(request, response));
-      log.debug("Análise persistida com sucesso");
+      long inicio = metrics.iniciar();
+      SentimentAnalysis analise = mapper.toEntity(request, response);
+      metrics.registrar(Etapa.MAPEAMENTO, inicio);
+
+      inicio = metrics.iniciar();
+      writeBehind.enfileirar(analise);
+      metrics.registrar(Etapa.PERSISTENCIA, inicio);
     } catch (Exception e) {
       log.error("Erro ao salvar no banco: {}", e.getMessage());
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentAnalysisRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores agregados das análises persistidas (por sentimento, setor e
+ * prioridade), mantidos em memória para que as estatísticas não dependam de
+ * COUNTs sobre a tabela. São reconciliados com o banco na inicialização e
+ * atualizados a cada gravação confirmada e a cada limpeza do histórico.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SentimentStatsStore {
+
+  private final SentimentAnalysisRepository repository;
+
+  private final Map<SentimentType, LongAdder> porSentimento = criarContadoresPorSentimento();
+  private final ConcurrentMap<String, LongAdder> porSetor = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> porPrioridade = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void reconciliar() {
+    zerar();
+
+    for (Object[] linha : repository.contarPorSentimento()) {
+      if (linha[0] != null) {
+        porSentimento.get((SentimentType) linha[0]).add((Long) linha[1]);
+      }
+    }
+    somar(porSetor, repository.contarPorSetor());
+    somar(porPrioridade, repository.contarPorPrioridade());
+
+    log.info("Estatísticas reconciliadas com o banco: {} análises", total());
+  }
+
+  public void registrar(SentimentAnalysis analise) {
+    porSentimento.get(analise.getPrediction()).increment();
+    incrementar(porSetor, analise.getSetor());
+    incrementar(porPrioridade, analise.getPrioridade());
+  }
+
+  public void registrarTodos(Collection<SentimentAnalysis> analises) {
+    analises.forEach(this::registrar);
+  }
+
+  /** Desconta análises removidas do banco (limpeza ou retenção). */
+  public void descontar(SentimentType sentimento, String setor, String prioridade, long quantidade) {
+    porSentimento.get(sentimento).add(-quantidade);
+    subtrair(porSetor, setor, quantidade);
+    subtrair(porPrioridade, prioridade, quantidade);
+  }
+
+  public void zerar() {
+    porSentimento.values().forEach(LongAdder::reset);
+    porSetor.clear();
+    porPrioridade.clear();
+  }
+
+  public long total() {
+    long total = 0;
+    for (LongAdder contador : porSentimento.values()) {
+      total += contador.sum();
+    }
+    return total;
+  }
+
+  public long quantidade(SentimentType sentimento) {
+    return porSentimento.get(sentimento).sum();
+  }
+
+  public Map<String, Long> porSetor() {
+    return fotografar(porSetor);
+  }
+
+  public Map<String, Long> porPrioridade() {
+    return fotografar(porPrioridade);
+  }
+
+  private static void incrementar(ConcurrentMap<String, LongAdder> contadores, String chave) {
+    if (chave != null) {
+      contadores.computeIfAbsent(chave, k -> new LongAdder()).increment();
+    }
+  }
+
+  private static void subtrair(ConcurrentMap<String, LongAdder> contadores, String chave, long quantidade) {
+    if (chave != null) {
+      contadores.computeIfAbsent(chave, k -> new LongAdder()).add(-quantidade);
+    }
+  }
+
+  private static void somar(ConcurrentMap<String, LongAdder> contadores, List<Object[]> linhas) {
+    for (Object[] linha : linhas) {
+      if (linha[0] != null) {
+        contadores.computeIfAbsent((String) linha[0], k -> new LongAdder()).add((Long) linha[1]);
+      }
+    }
+  }
+
+  private static Map<String, Long> fotografar(ConcurrentMap<String, LongAdder> contadores) {
+    Map<String, Long> fotografia = new TreeMap<>();
+    contadores.forEach((chave, contador) -> {
+      long quantidade = contador.sum();
+      if (quantidade != 0) {
+        fotografia.put(chave, quantidade);
+      }
+    });
+    return fotografia;
+  }
+
+  private static Map<SentimentType, LongAdder> criarContadoresPorSentimento() {
+    Map<SentimentType, LongAdder> contadores = new EnumMap<>(SentimentType.class);
+    for (SentimentType tipo : SentimentType.values()) {
+      contadores.put(tipo, new LongAdder());
+    }
+    return contadores;
+  }
+}
@@ -0,0 +1,349 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.TrendProperties;
+import com.sentiment.backend.dto.SentimentTrendPoint;
+import com.sentiment.backend.dto.SentimentTrendResponse;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentTrendRollup;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.model.TrendGranularity;
+import com.sentiment.backend.repository.SentimentTrendRollupBatchRepository;
+import com.sentiment.backend.repository.SentimentTrendRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados de tendência por minuto, hora e dia. Os baldes recentes ficam em
+ * anéis em memória, um por granularidade, e toda gravação também é somada na
+ * tabela {@code sentiment_trend_rollup}. Consultas fora da janela em memória
+ * leem só as linhas pré-agregadas do período, nunca {@code sentiment_analysis}.
+ *
+ * <p>Os anéis só recebem o que a tabela confirmou: se a soma no banco falha,
+ * o lote fica fora das tendências (e conta em
+ * {@code sentiment.trends.rollup.failed}), em vez de aparecer na memória e
+ * sumir na próxima reconciliação.
+ */
+@Slf4j
+@Component
+public class TrendRollupStore {
+
+  private static final String SEM_VALOR = "";
+  private static final int TENTATIVAS_ROLLUP = 2;
+
+  private final SentimentTrendRollupRepository repository;
+  private final SentimentTrendRollupBatchRepository batchRepository;
+  private final TrendProperties properties;
+  private final Map<TrendGranularity, Anel> aneis = new EnumMap<>(TrendGranularity.class);
+  private final Counter falhas;
+
+  public TrendRollupStore(SentimentTrendRollupRepository repository,
+                          SentimentTrendRollupBatchRepository batchRepository,
+                          TrendProperties properties,
+                          MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.batchRepository = batchRepository;
+    this.properties = properties;
+    for (TrendGranularity granularidade : TrendGranularity.values()) {
+      aneis.put(granularidade, new Anel(properties.baldesEmMemoria(granularidade)));
+    }
+    this.falhas = Counter.builder("sentiment.trends.rollup.failed")
+        .description("Análises que não puderam ser somadas na tabela de tendências")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void reconciliar() {
+    LocalDateTime agora = LocalDateTime.now();
+    int celulas = 0;
+
+    for (TrendGranularity granularidade : TrendGranularity.values()) {
+      Anel anel = aneis.get(granularidade);
+      anel.zerar();
+
+      List<SentimentTrendRollup> linhas = repository.buscarPorPeriodo(granularidade,
+          granularidade.inicio(limiteMemoria(granularidade, agora)),
+          granularidade.inicio(granularidade.numero(agora) + 1));
+      for (SentimentTrendRollup linha : linhas) {
+        anel.somar(granularidade.numero(linha.getInicio()), Celula.de(linha), linha.getQuantidade());
+      }
+      celulas += linhas.size();
+    }
+
+    log.info("Tendências carregadas da tabela de rollup: {} células em memória", celulas);
+  }
+
+  public void registrarTodos(Collection<SentimentAnalysis> analises) {
+    if (analises.isEmpty()) {
+      return;
+    }
+
+    Map<Incremento, Long> incrementos = new HashMap<>();
+    for (SentimentAnalysis analise : analises) {
+      somar(incrementos, analise, 1L);
+    }
+    aplicar(incrementos, analises.size());
+  }
+
+  /**
+   * Move cada análise reclassificada (pela reavaliação do histórico) da
+   * célula antiga para a nova, nos baldes do seu {@code createdAt}. As duas
+   * listas andam juntas: {@code atuais.get(i)} é a versão nova de
+   * {@code anteriores.get(i)}.
+   */
+  public void reclassificarTodos(List<SentimentAnalysis> anteriores, List<SentimentAnalysis> atuais) {
+    Map<Incremento, Long> incrementos = new HashMap<>();
+    for (int i = 0; i < anteriores.size(); i++) {
+      somar(incrementos, anteriores.get(i), -1L);
+      somar(incrementos, atuais.get(i), 1L);
+    }
+    // Análises que só mudaram tags ou sugestão continuam na mesma célula.
+    incrementos.values().removeIf(quantidade -> quantidade == 0L);
+    if (incrementos.isEmpty()) {
+      return;
+    }
+    aplicar(incrementos, anteriores.size());
+  }
+
+  public SentimentTrendResponse consultar(TrendGranularity granularidade, LocalDateTime inicio, LocalDateTime fim) {
+    long primeiro = granularidade.numero(inicio);
+    long ultimoNumero = granularidade.numero(fim);
+    long aposUltimo = granularidade.inicio(ultimoNumero).equals(fim) ? ultimoNumero : ultimoNumero + 1;
+    long quantidadePontos = aposUltimo - primeiro;
+
+    if (quantidadePontos <= 0) {
+      throw new IllegalArgumentException("O início do período deve ser anterior ao fim");
+    }
+    if (quantidadePontos > properties.getMaxPoints()) {
+      throw new IllegalArgumentException(String.format(
+          "O período pedido tem %d baldes de %s; o máximo é %d. Use uma granularidade maior.",
+          quantidadePontos, granularidade, properties.getMaxPoints()));
+    }
+
+    Acumulador[] acumuladores = new Acumulador[(int) quantidadePontos];
+    for (int i = 0; i < acumuladores.length; i++) {
+      acumuladores[i] = new Acumulador();
+    }
+
+    // Baldes antigos vêm da tabela de rollup; os que ainda estão na janela
+    // do anel são lidos da memória.
+    long inicioMemoria = Math.min(aposUltimo, Math.max(primeiro, limiteMemoria(granularidade, LocalDateTime.now())));
+    if (inicioMemoria > primeiro) {
+      for (SentimentTrendRollup linha : repository.buscarPorPeriodo(granularidade,
+          granularidade.inicio(primeiro), granularidade.inicio(inicioMemoria))) {
+        acumuladores[(int) (granularidade.numero(linha.getInicio()) - primeiro)]
+            .somar(Celula.de(linha), linha.getQuantidade());
+      }
+    }
+
+    Anel anel = aneis.get(granularidade);
+    for (long numero = inicioMemoria; numero < aposUltimo; numero++) {
+      Balde balde = anel.ler(numero);
+      if (balde != null) {
+        Acumulador acumulador = acumuladores[(int) (numero - primeiro)];
+        balde.contagens().forEach((celula, contador) -> acumulador.somar(celula, contador.sum()));
+      }
+    }
+
+    List<SentimentTrendPoint> pontos = new ArrayList<>(acumuladores.length);
+    for (int i = 0; i < acumuladores.length; i++) {
+      pontos.add(acumuladores[i].paraPonto(granularidade.inicio(primeiro + i)));
+    }
+
+    return new SentimentTrendResponse(granularidade, granularidade.inicio(primeiro),
+        granularidade.inicio(aposUltimo), pontos);
+  }
+
+  public void limpar() {
+    repository.deleteAllInBatch();
+    aneis.values().forEach(Anel::zerar);
+  }
+
+  private static void somar(Map<Incremento, Long> incrementos, SentimentAnalysis analise, long quantidade) {
+    LocalDateTime criadaEm = analise.getCreatedAt() != null ? analise.getCreatedAt() : LocalDateTime.now();
+    Celula celula = Celula.de(analise);
+    for (TrendGranularity granularidade : TrendGranularity.values()) {
+      incrementos.merge(new Incremento(granularidade, granularidade.numero(criadaEm), celula), quantidade, Long::sum);
+    }
+  }
+
+  private void aplicar(Map<Incremento, Long> incrementos, int quantidadeAnalises) {
+    List<SentimentTrendRollup> linhas = new ArrayList<>(incrementos.size());
+    incrementos.forEach((incremento, quantidade) -> linhas.add(incremento.paraRollup(quantidade)));
+    if (!persistir(linhas, quantidadeAnalises)) {
+      return;
+    }
+
+    incrementos.forEach((incremento, quantidade) ->
+        aneis.get(incremento.granularidade()).somar(incremento.numero(), incremento.celula(), quantidade));
+  }
+
+  private boolean persistir(List<SentimentTrendRollup> linhas, int quantidadeAnalises) {
+    Exception erro = null;
+    for (int tentativa = 1; tentativa <= TENTATIVAS_ROLLUP; tentativa++) {
+      try {
+        batchRepository.somarTodos(linhas);
+        return true;
+      } catch (DataIntegrityViolationException e) {
+        // Duas gravações criaram a mesma célula ao mesmo tempo; na nova
+        // tentativa ela já existe e o MERGE apenas soma.
+        log.debug("Conflito ao somar rollup de tendências (tentativa {}): {}", tentativa, e.getMessage());
+        erro = e;
+      } catch (Exception e) {
+        erro = e;
+        break;
+      }
+    }
+
+    falhas.increment(quantidadeAnalises);
+    log.error("Erro ao somar {} análises na tabela de tendências; elas ficam fora das tendências",
+        quantidadeAnalises, erro);
+    return false;
+  }
+
+  private long limiteMemoria(TrendGranularity granularidade, LocalDateTime agora) {
+    return granularidade.numero(agora) - aneis.get(granularidade).tamanho() + 1;
+  }
+
+  private record Celula(SentimentType sentimento, String setor, String prioridade) {
+
+    static Celula de(SentimentAnalysis analise) {
+      return new Celula(analise.getPrediction(), valorOuVazio(analise.getSetor()), valorOuVazio(analise.getPrioridade()));
+    }
+
+    static Celula de(SentimentTrendRollup linha) {
+      return new Celula(linha.getSentimento(), linha.getSetor(), linha.getPrioridade());
+    }
+
+    private static String valorOuVazio(String valor) {
+      return valor != null ? valor : SEM_VALOR;
+    }
+  }
+
+  private record Incremento(TrendGranularity granularidade, long numero, Celula celula) {
+
+    SentimentTrendRollup paraRollup(long quantidade) {
+      return SentimentTrendRollup.builder()
+          .granularidade(granularidade)
+          .inicio(granularidade.inicio(numero))
+          .sentimento(celula.sentimento())
+          .setor(celula.setor())
+          .prioridade(celula.prioridade())
+          .quantidade(quantidade)
+          .build();
+    }
+  }
+
+  private record Balde(long numero, ConcurrentMap<Celula, LongAdder> contagens) {
+  }
+
+  /**
+   * Buffer circular de baldes: a posição de um balde é o seu número módulo o
+   * tamanho, e um balde mais novo substitui o que ocupava a posição.
+   */
+  private static final class Anel {
+
+    private final AtomicReferenceArray<Balde> baldes;
+
+    Anel(int tamanho) {
+      this.baldes = new AtomicReferenceArray<>(Math.max(1, tamanho));
+    }
+
+    int tamanho() {
+      return baldes.length();
+    }
+
+    void somar(long numero, Celula celula, long quantidade) {
+      Balde balde = obter(numero);
+      if (balde != null) {
+        balde.contagens().computeIfAbsent(celula, c -> new LongAdder()).add(quantidade);
+      }
+    }
+
+    Balde ler(long numero) {
+      Balde balde = baldes.get(posicao(numero));
+      return balde != null && balde.numero() == numero ? balde : null;
+    }
+
+    void zerar() {
+      for (int i = 0; i < baldes.length(); i++) {
+        baldes.set(i, null);
+      }
+    }
+
+    // Devolve null quando a posição já pertence a um balde mais novo, ou
+    // seja, o número pedido saiu da janela em memória.
+    private Balde obter(long numero) {
+      int posicao = posicao(numero);
+      while (true) {
+        Balde atual = baldes.get(posicao);
+        if (atual != null && atual.numero() == numero) {
+          return atual;
+        }
+        if (atual != null && atual.numero() > numero) {
+          return null;
+        }
+
+        Balde novo = new Balde(numero, new ConcurrentHashMap<>());
+        if (baldes.compareAndSet(posicao, atual, novo)) {
+          return novo;
+        }
+      }
+    }
+
+    private int posicao(long numero) {
+      return Math.floorMod(numero, baldes.length());
+    }
+  }
+
+  private static final class Acumulador {
+
+    private long total;
+    private final Map<SentimentType, Long> sentimentos = criarContagensPorSentimento();
+    private final Map<String, Long> setores = new TreeMap<>();
+    private final Map<String, Long> prioridades = new TreeMap<>();
+
+    void somar(Celula celula, long quantidade) {
+      // Células esvaziadas por uma reclassificação não aparecem no ponto.
+      if (quantidade == 0) {
+        return;
+      }
+      total += quantidade;
+      sentimentos.merge(celula.sentimento(), quantidade, Long::sum);
+      if (!celula.setor().isEmpty()) {
+        setores.merge(celula.setor(), quantidade, Long::sum);
+      }
+      if (!celula.prioridade().isEmpty()) {
+        prioridades.merge(celula.prioridade(), quantidade, Long::sum);
+      }
+    }
+
+    SentimentTrendPoint paraPonto(LocalDateTime inicio) {
+      return new SentimentTrendPoint(inicio, total, sentimentos, setores, prioridades);
+    }
+
+    private static Map<SentimentType, Long> criarContagensPorSentimento() {
+      Map<SentimentType, Long> contagens = new EnumMap<>(SentimentType.class);
+      for (SentimentType tipo : SentimentType.values()) {
+        contagens.put(tipo, 0L);
+      }
+      return contagens;
+    }
+  }
+}
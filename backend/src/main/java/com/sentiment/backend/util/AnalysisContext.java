@@ -0,0 +1,44 @@
+package com.sentiment.backend.util;
+
+/**
+ * Texto de uma análise já preparado para todas as etapas: o texto como
+ * chegou (para o modelo), a forma normalizada (minúsculas, sem acentos e só
+ * letras, usada na chave de cache e nas regras de negócio) e os tokens do
+ * léxico. Criado uma vez por requisição por
+ * {@link TextNormalizer#criarContexto}; nenhuma etapa normaliza de novo.
+ *
+ * <p>Os tokens só são montados na primeira chamada a {@link #tokens()}, já
+ * que o léxico não roda quando o modelo responde. O buffer devolvido não
+ * deve ser alterado.
+ */
+public final class AnalysisContext {
+
+  private final String texto;
+  private final String textoNormalizado;
+  private volatile TokenBuffer tokens;
+
+  AnalysisContext(String texto, String textoNormalizado) {
+    this.texto = texto;
+    this.textoNormalizado = textoNormalizado;
+  }
+
+  public String texto() {
+    return texto;
+  }
+
+  public String textoNormalizado() {
+    return textoNormalizado;
+  }
+
+  public TokenBuffer tokens() {
+    TokenBuffer atuais = tokens;
+    if (atuais == null) {
+      // Corrida benigna: duas threads podem montar o mesmo buffer, e
+      // qualquer um deles serve.
+      atuais = new TokenBuffer(textoNormalizado.length());
+      TextNormalizer.tokenizarNormalizado(textoNormalizado, atuais);
+      tokens = atuais;
+    }
+    return atuais;
+  }
+}
@@ -7,6 +7,10 @@ import java.util.List;
 @Component
 public class ContextAnalyzer {
 
+  private static final String[] NEGACOES = SentimentLexicon.NEGACOES.toArray(String[]::new);
+  private static final String[] INTENSIFICADORES = SentimentLexicon.INTENSIFICADORES.toArray(String[]::new);
+  private static final String[] ADVERSATIVAS = SentimentLexicon.ADVERSATIVAS.toArray(String[]::new);
+
   public boolean hasNegation(List<String> tokens, int index) {
     return (index > 0 && SentimentLexicon.NEGACOES.contains(tokens.get(index - 1))) ||
         (index > 1 && SentimentLexicon.NEGACOES.contains(tokens.get(index - 2)));
@@ -19,4 +23,17 @@ public class ContextAnalyzer {
   public boolean isAdversative(String token) {
     return SentimentLexicon.ADVERSATIVAS.contains(token);
   }
+
+  public boolean hasNegation(TokenBuffer tokens, int index) {
+    return (index > 0 && tokens.tokenIgualAAlgum(index - 1, NEGACOES)) ||
+        (index > 1 && tokens.tokenIgualAAlgum(index - 2, NEGACOES));
+  }
+
+  public boolean hasIntensifier(TokenBuffer tokens, int index) {
+    return index > 0 && tokens.tokenIgualAAlgum(index - 1, INTENSIFICADORES);
+  }
+
+  public boolean isAdversative(TokenBuffer tokens, int index) {
+    return tokens.tokenIgualAAlgum(index, ADVERSATIVAS);
+  }
 }
@@ -0,0 +1,227 @@
+package com.sentiment.backend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Automato de Aho-Corasick que encontra todos os padrões de uma lista em uma
+ * única passada pelo texto. O texto é comparado em minúsculas, caractere a
+ * caractere, sem criar uma cópia; os padrões são usados como estão.
+ */
+public final class KeywordAutomaton {
+
+  private static final int[] SEM_SAIDA = new int[0];
+  private static final char I_MAIUSCULO_COM_PONTO = '\u0130';
+  private static final char PONTO_COMBINANTE = '\u0307';
+  private static final int TAMANHO_MINIMO_TABELA = 0x250;
+  private static final int CARACTERE_ESPECIAL = -2;
+  private static final int COM_SAIDA = Integer.MIN_VALUE;
+
+  private final int[] simbolos;
+  private final int tamanhoAlfabeto;
+  private final int[] transicoes;
+  private final int[][] saidas;
+  private final BitSet padroesVazios;
+  private final int quantidadePadroes;
+
+  private KeywordAutomaton(int[] simbolos, int tamanhoAlfabeto, int[] transicoes, int[][] saidas,
+      BitSet padroesVazios, int quantidadePadroes) {
+    this.simbolos = simbolos;
+    this.tamanhoAlfabeto = tamanhoAlfabeto;
+    this.transicoes = transicoes;
+    this.saidas = saidas;
+    this.padroesVazios = padroesVazios;
+    this.quantidadePadroes = quantidadePadroes;
+  }
+
+  public static KeywordAutomaton compilar(List<String> padroes) {
+    char maiorCaractere = 0;
+    for (String padrao : padroes) {
+      for (int i = 0; i < padrao.length(); i++) {
+        maiorCaractere = (char) Math.max(maiorCaractere, padrao.charAt(i));
+      }
+    }
+
+    int[] alfabeto = new int[maiorCaractere + 1];
+    Arrays.fill(alfabeto, -1);
+    int tamanhoAlfabeto = 0;
+    for (String padrao : padroes) {
+      for (int i = 0; i < padrao.length(); i++) {
+        char c = padrao.charAt(i);
+        if (alfabeto[c] < 0) {
+          alfabeto[c] = tamanhoAlfabeto++;
+        }
+      }
+    }
+
+    // Tabela de entrada já com a conversão para minúsculas embutida, cobrindo
+    // ao menos o Latin-1 e o Latin Extended-A/B.
+    int[] simbolos = new int[Math.max(alfabeto.length, TAMANHO_MINIMO_TABELA)];
+    for (int c = 0; c < simbolos.length; c++) {
+      char minusculo = Character.toLowerCase((char) c);
+      simbolos[c] = minusculo < alfabeto.length ? alfabeto[minusculo] : -1;
+    }
+    simbolos[I_MAIUSCULO_COM_PONTO] = CARACTERE_ESPECIAL;
+
+    List<int[]> filhos = new ArrayList<>();
+    List<int[]> saidasPorEstado = new ArrayList<>();
+    filhos.add(novoEstado(tamanhoAlfabeto));
+    saidasPorEstado.add(SEM_SAIDA);
+    BitSet padroesVazios = new BitSet(padroes.size());
+
+    for (int id = 0; id < padroes.size(); id++) {
+      String padrao = padroes.get(id);
+      if (padrao.isEmpty()) {
+        padroesVazios.set(id);
+        continue;
+      }
+
+      int estado = 0;
+      for (int i = 0; i < padrao.length(); i++) {
+        int simbolo = alfabeto[padrao.charAt(i)];
+        if (filhos.get(estado)[simbolo] < 0) {
+          filhos.get(estado)[simbolo] = filhos.size();
+          filhos.add(novoEstado(tamanhoAlfabeto));
+          saidasPorEstado.add(SEM_SAIDA);
+        }
+        estado = filhos.get(estado)[simbolo];
+      }
+      saidasPorEstado.set(estado, adicionar(saidasPorEstado.get(estado), id));
+    }
+
+    int quantidadeEstados = filhos.size();
+    int[] transicoes = new int[quantidadeEstados * tamanhoAlfabeto];
+    int[] falhas = new int[quantidadeEstados];
+    int[][] saidas = saidasPorEstado.toArray(new int[0][]);
+
+    // Percorre o trie em largura, resolvendo cada transição ausente pelo
+    // estado de falha, de modo que a busca nunca precise voltar no texto.
+    Queue<Integer> fila = new ArrayDeque<>();
+    for (int simbolo = 0; simbolo < tamanhoAlfabeto; simbolo++) {
+      int filho = filhos.get(0)[simbolo];
+      if (filho > 0) {
+        transicoes[simbolo] = filho;
+        fila.add(filho);
+      }
+    }
+
+    while (!fila.isEmpty()) {
+      int estado = fila.poll();
+      saidas[estado] = unir(saidas[estado], saidas[falhas[estado]]);
+
+      for (int simbolo = 0; simbolo < tamanhoAlfabeto; simbolo++) {
+        int filho = filhos.get(estado)[simbolo];
+        int destinoFalha = transicoes[falhas[estado] * tamanhoAlfabeto + simbolo];
+        if (filho > 0) {
+          falhas[filho] = destinoFalha;
+          transicoes[estado * tamanhoAlfabeto + simbolo] = filho;
+          fila.add(filho);
+        } else {
+          transicoes[estado * tamanhoAlfabeto + simbolo] = destinoFalha;
+        }
+      }
+    }
+
+    // Cada transição guarda diretamente o deslocamento da linha do estado de
+    // destino, com o bit de sinal indicando se ele tem padrões de saída.
+    for (int i = 0; i < transicoes.length; i++) {
+      int destino = transicoes[i];
+      transicoes[i] = destino * tamanhoAlfabeto | (saidas[destino].length > 0 ? COM_SAIDA : 0);
+    }
+
+    return new KeywordAutomaton(simbolos, tamanhoAlfabeto, transicoes, saidas, padroesVazios, padroes.size());
+  }
+
+  /**
+   * Retorna os índices (na lista usada em {@link #compilar}) dos padrões
+   * contidos no texto.
+   */
+  public BitSet buscar(CharSequence texto) {
+    BitSet encontrados = new BitSet(quantidadePadroes);
+    encontrados.or(padroesVazios);
+
+    int linha = 0;
+    for (int i = 0; i < texto.length(); i++) {
+      char c = texto.charAt(i);
+      int simbolo = c < simbolos.length ? simbolos[c] : CARACTERE_ESPECIAL;
+
+      if (simbolo == CARACTERE_ESPECIAL) {
+        linha = avancarEspecial(linha, c, encontrados);
+        continue;
+      }
+
+      int transicao = simbolo < 0 ? 0 : transicoes[linha + simbolo];
+      linha = transicao & ~COM_SAIDA;
+      if (transicao < 0) {
+        registrarSaidas(linha, encontrados);
+      }
+    }
+
+    return encontrados;
+  }
+
+  public int getQuantidadePadroes() {
+    return quantidadePadroes;
+  }
+
+  private int avancarEspecial(int linha, char c, BitSet encontrados) {
+    if (c == I_MAIUSCULO_COM_PONTO) {
+      // Único caractere cujo minúsculo (em String.toLowerCase) ocupa dois chars.
+      linha = avancar(linha, 'i', encontrados);
+      return avancar(linha, PONTO_COMBINANTE, encontrados);
+    }
+
+    return avancar(linha, Character.toLowerCase(c), encontrados);
+  }
+
+  private int avancar(int linha, char minusculo, BitSet encontrados) {
+    int simbolo = minusculo < simbolos.length && simbolos[minusculo] != CARACTERE_ESPECIAL
+        ? simbolos[minusculo]
+        : -1;
+    if (simbolo < 0) {
+      return 0;
+    }
+
+    int transicao = transicoes[linha + simbolo];
+    int proxima = transicao & ~COM_SAIDA;
+    if (transicao < 0) {
+      registrarSaidas(proxima, encontrados);
+    }
+    return proxima;
+  }
+
+  private void registrarSaidas(int linha, BitSet encontrados) {
+    for (int padrao : saidas[linha / tamanhoAlfabeto]) {
+      encontrados.set(padrao);
+    }
+  }
+
+  private static int[] novoEstado(int tamanhoAlfabeto) {
+    int[] estado = new int[tamanhoAlfabeto];
+    Arrays.fill(estado, -1);
+    return estado;
+  }
+
+  private static int[] adicionar(int[] ids, int id) {
+    int[] novo = Arrays.copyOf(ids, ids.length + 1);
+    novo[ids.length] = id;
+    return novo;
+  }
+
+  private static int[] unir(int[] proprias, int[] herdadas) {
+    if (herdadas.length == 0) {
+      return proprias;
+    }
+    if (proprias.length == 0) {
+      return herdadas;
+    }
+
+    int[] unidas = Arrays.copyOf(proprias, proprias.length + herdadas.length);
+    System.arraycopy(herdadas, 0, unidas, proprias.length, herdadas.length);
+    return unidas;
+  }
+}
@@ -0,0 +1,207 @@
+package com.sentiment.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Índice de radicais do léxico em um trie de prefixos compactado em arrays.
+ * Uma única descida pelo token informa se algum radical positivo e/ou
+ * negativo é prefixo dele, sem alocar objetos; o custo depende do tamanho do
+ * token e não da quantidade de radicais.
+ */
+public final class LexiconIndex {
+
+  private static final LexiconIndex PADRAO = builder()
+      .positivas(SentimentLexicon.POSITIVAS)
+      .negativas(SentimentLexicon.NEGATIVAS)
+      .build();
+
+  private final int[] inicioFilhos;
+  private final char[] rotulos;
+  private final int[] destinos;
+  private final double[] pesoPositivo;
+  private final double[] pesoNegativo;
+
+  private LexiconIndex(int[] inicioFilhos, char[] rotulos, int[] destinos,
+      double[] pesoPositivo, double[] pesoNegativo) {
+    this.inicioFilhos = inicioFilhos;
+    this.rotulos = rotulos;
+    this.destinos = destinos;
+    this.pesoPositivo = pesoPositivo;
+    this.pesoNegativo = pesoNegativo;
+  }
+
+  public static LexiconIndex padrao() {
+    return PADRAO;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Polaridade do token: o peso do radical positivo mais longo que é prefixo
+   * dele; senão, o peso (negativo) do radical negativo mais longo; senão, 0.
+   */
+  public double polaridade(CharSequence token) {
+    int no = 0;
+    double positivo = 0.0;
+    double negativo = 0.0;
+
+    for (int i = 0; i < token.length() && no >= 0; i++) {
+      no = filho(no, token.charAt(i));
+      if (no >= 0) {
+        positivo = pesoPositivo[no] > 0 ? pesoPositivo[no] : positivo;
+        negativo = pesoNegativo[no] > 0 ? pesoNegativo[no] : negativo;
+      }
+    }
+
+    return positivo > 0 ? positivo : negativo > 0 ? -negativo : 0.0;
+  }
+
+  public double polaridade(char[] texto, int inicio, int fim) {
+    int no = 0;
+    double positivo = 0.0;
+    double negativo = 0.0;
+
+    for (int i = inicio; i < fim && no >= 0; i++) {
+      no = filho(no, texto[i]);
+      if (no >= 0) {
+        positivo = pesoPositivo[no] > 0 ? pesoPositivo[no] : positivo;
+        negativo = pesoNegativo[no] > 0 ? pesoNegativo[no] : negativo;
+      }
+    }
+
+    return positivo > 0 ? positivo : negativo > 0 ? -negativo : 0.0;
+  }
+
+  public boolean temPrefixoPositivo(CharSequence token) {
+    return encontrarPrefixo(token, pesoPositivo);
+  }
+
+  public boolean temPrefixoNegativo(CharSequence token) {
+    return encontrarPrefixo(token, pesoNegativo);
+  }
+
+  private boolean encontrarPrefixo(CharSequence token, double[] pesos) {
+    int no = 0;
+    for (int i = 0; i < token.length(); i++) {
+      no = filho(no, token.charAt(i));
+      if (no < 0) {
+        return false;
+      }
+      if (pesos[no] > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int filho(int no, char c) {
+    int inicio = inicioFilhos[no];
+    int fim = inicioFilhos[no + 1] - 1;
+
+    while (inicio <= fim) {
+      int meio = (inicio + fim) >>> 1;
+      char rotulo = rotulos[meio];
+      if (rotulo < c) {
+        inicio = meio + 1;
+      } else if (rotulo > c) {
+        fim = meio - 1;
+      } else {
+        return destinos[meio];
+      }
+    }
+
+    return -1;
+  }
+
+  public static final class Builder {
+
+    private final No raiz = new No();
+
+    private Builder() {
+    }
+
+    public Builder positiva(String radical, double peso) {
+      adicionar(radical, peso, true);
+      return this;
+    }
+
+    public Builder negativa(String radical, double peso) {
+      adicionar(radical, peso, false);
+      return this;
+    }
+
+    public Builder positivas(List<String> radicais) {
+      radicais.forEach(radical -> positiva(radical, 1.0));
+      return this;
+    }
+
+    public Builder negativas(List<String> radicais) {
+      radicais.forEach(radical -> negativa(radical, 1.0));
+      return this;
+    }
+
+    public LexiconIndex build() {
+      // Numera os nós em largura para que os filhos de cada nó fiquem
+      // contíguos (e ordenados) nos arrays de rótulos e destinos.
+      List<No> nos = new ArrayList<>();
+      nos.add(raiz);
+      for (int i = 0; i < nos.size(); i++) {
+        nos.addAll(nos.get(i).filhos.values());
+      }
+
+      int[] inicioFilhos = new int[nos.size() + 1];
+      char[] rotulos = new char[nos.size() - 1];
+      int[] destinos = new int[nos.size() - 1];
+      double[] pesoPositivo = new double[nos.size()];
+      double[] pesoNegativo = new double[nos.size()];
+
+      int proximoFilho = 0;
+      int proximoId = 1;
+      for (int id = 0; id < nos.size(); id++) {
+        No no = nos.get(id);
+        inicioFilhos[id] = proximoFilho;
+        pesoPositivo[id] = no.pesoPositivo;
+        pesoNegativo[id] = no.pesoNegativo;
+
+        for (char rotulo : no.filhos.keySet()) {
+          rotulos[proximoFilho] = rotulo;
+          destinos[proximoFilho] = proximoId++;
+          proximoFilho++;
+        }
+      }
+      inicioFilhos[nos.size()] = proximoFilho;
+
+      return new LexiconIndex(inicioFilhos, rotulos, destinos, pesoPositivo, pesoNegativo);
+    }
+
+    private void adicionar(String radical, double peso, boolean positiva) {
+      if (radical == null || radical.isEmpty()) {
+        throw new IllegalArgumentException("Radical do léxico não pode ser vazio");
+      }
+      if (!(peso > 0)) {
+        throw new IllegalArgumentException("Peso do radical '" + radical + "' deve ser maior que zero");
+      }
+
+      No no = raiz;
+      for (int i = 0; i < radical.length(); i++) {
+        no = no.filhos.computeIfAbsent(radical.charAt(i), c -> new No());
+      }
+
+      if (positiva) {
+        no.pesoPositivo = peso;
+      } else {
+        no.pesoNegativo = peso;
+      }
+    }
+  }
+
+  private static final class No {
+    private final TreeMap<Character, No> filhos = new TreeMap<>();
+    private double pesoPositivo;
+    private double pesoNegativo;
+  }
+}
@@ -5,15 +5,29 @@ import org.springframework.stereotype.Component;
 @Component
 public class PolarityChecker {
 
+  private final LexiconIndex lexicon;
+
+  public PolarityChecker() {
+    this(LexiconIndex.padrao());
+  }
+
+  public PolarityChecker(LexiconIndex lexicon) {
+    this.lexicon = lexicon;
+  }
+
   public boolean isPositive(String palavra) {
-    return checkPolarity(palavra, SentimentLexicon.POSITIVAS);
+    return lexicon.temPrefixoPositivo(palavra);
   }
 
   public boolean isNegative(String palavra) {
-    return checkPolarity(palavra, SentimentLexicon.NEGATIVAS);
+    return lexicon.temPrefixoNegativo(palavra);
+  }
+
+  public double polarity(String palavra) {
+    return lexicon.polaridade(palavra);
   }
 
-  private boolean checkPolarity(String palavra, java.util.List<String> lexicon) {
-    return lexicon.stream().anyMatch(palavra::startsWith);
+  public double polarity(char[] texto, int inicio, int fim) {
+    return lexicon.polaridade(texto, inicio, fim);
   }
 }
@@ -4,39 +4,60 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class SentimentAnalyzer {
 
-  private final TextNormalizer normalizer;
   private final Tokenizer tokenizer;
   private final SentimentScoreCalculator scoreCalculator;
   private final SentimentClassifier classifier;
 
   public SentimentAnalysisResult analisar(String texto) {
+    return analisar(texto, new TokenBuffer(texto == null ? 0 : texto.length()));
+  }
+
+  public SentimentAnalysisResult analisar(String texto, TokenBuffer tokens) {
     if (texto == null || texto.isBlank()) {
-      log.warn("Texto vazio recebido para análise");
-      return SentimentAnalysisResult.of(
-          SentimentAnalysisResult.SentimentType.NEUTRO,
-          0.0,
-          0.5);
+      return vazio();
     }
 
     log.debug("Analisando texto com {} caracteres", texto.length());
 
-    String textoNormalizado = normalizer.normalize(texto);
-    List<String> tokens = tokenizer.tokenize(textoNormalizado);
+    tokenizer.normalizeAndTokenize(texto, tokens);
+    return classificar(tokens);
+  }
+
+  /** Usa os tokens já preparados no contexto, sem normalizar o texto de novo. */
+  public SentimentAnalysisResult analisar(AnalysisContext contexto) {
+    if (contexto.texto() == null || contexto.texto().isBlank()) {
+      return vazio();
+    }
+
+    log.debug("Analisando texto com {} caracteres", contexto.texto().length());
+
+    return classificar(contexto.tokens());
+  }
+
+  private SentimentAnalysisResult classificar(TokenBuffer tokens) {
     double score = scoreCalculator.calculate(tokens);
 
     SentimentAnalysisResult.SentimentType tipo = classifier.classify(score);
     double probabilidade = classifier.calculateProbability(score);
 
-    log.debug("Análise concluída - Score: {}, Tipo: {}, Probabilidade: {}",
-        String.format("%.2f", score), tipo, String.format("%.2f", probabilidade));
+    if (log.isDebugEnabled()) {
+      log.debug("Análise concluída - Score: {}, Tipo: {}, Probabilidade: {}",
+          String.format("%.2f", score), tipo, String.format("%.2f", probabilidade));
+    }
 
     return SentimentAnalysisResult.of(tipo, score, probabilidade);
   }
+
+  private static SentimentAnalysisResult vazio() {
+    log.warn("Texto vazio recebido para análise");
+    return SentimentAnalysisResult.of(
+        SentimentAnalysisResult.SentimentType.NEUTRO,
+        0.0,
+        0.5);
+  }
 }
@@ -19,13 +19,15 @@ public class SentimentScoreCalculator {
   private final PolarityChecker polarityChecker;
 
   public double calculate(List<String> tokens) {
+    return calculate(TokenBuffer.of(tokens));
+  }
+
+  public double calculate(TokenBuffer tokens) {
     double scoreTotal = 0.0;
     boolean efeitoAdversativa = false;
 
     for (int i = 0; i < tokens.size(); i++) {
-      String token = tokens.get(i);
-
-      if (contextAnalyzer.isAdversative(token)) {
+      if (contextAnalyzer.isAdversative(tokens, i)) {
         scoreTotal *= PESO_ADVERSATIVA;
         efeitoAdversativa = true;
         continue;
@@ -36,13 +38,11 @@ public class SentimentScoreCalculator {
 
       double peso = calculateWeight(efeitoAdversativa, temIntensificador);
 
-      boolean ehPositivo = polarityChecker.isPositive(token);
-      boolean ehNegativo = polarityChecker.isNegative(token);
+      double polaridade = polarityChecker.polarity(tokens.chars(), tokens.inicio(i), tokens.fim(i));
 
-      if (ehPositivo) {
-        scoreTotal += temNegacao ? -peso : peso;
-      } else if (ehNegativo) {
-        scoreTotal += temNegacao ? peso : -peso;
+      if (polaridade != 0.0) {
+        double contribuicao = peso * polaridade;
+        scoreTotal += temNegacao ? -contribuicao : contribuicao;
       }
     }
 
@@ -0,0 +1,91 @@
+package com.sentiment.backend.util;
+
+/**
+ * Vocabulário termo → índice em endereçamento aberto (sondagem linear) sobre
+ * arrays primitivos. A busca recebe um trecho de um {@link CharSequence} e
+ * calcula o hash sobre ele, então tokens e n-gramas são procurados sem criar
+ * uma {@link String} para cada um.
+ */
+public final class TermIndex {
+
+  private static final int VAZIO = 0;
+
+  private final String[] termos;
+  // Índice do termo + 1 em cada posição; 0 marca posição livre.
+  private final int[] posicoes;
+  private final int[] hashes;
+  private final int mascara;
+
+  private TermIndex(String[] termos) {
+    this.termos = termos;
+
+    int capacidade = Integer.highestOneBit(Math.max(2, termos.length * 2) - 1) << 1;
+    this.posicoes = new int[capacidade];
+    this.hashes = new int[capacidade];
+    this.mascara = capacidade - 1;
+
+    for (int indice = 0; indice < termos.length; indice++) {
+      String termo = termos[indice];
+      int hash = espalhar(termo.hashCode());
+      int posicao = hash & mascara;
+      while (posicoes[posicao] != VAZIO) {
+        if (hashes[posicao] == hash && termos[posicoes[posicao] - 1].equals(termo)) {
+          throw new IllegalArgumentException("Termo repetido no vocabulário: " + termo);
+        }
+        posicao = (posicao + 1) & mascara;
+      }
+      posicoes[posicao] = indice + 1;
+      hashes[posicao] = hash;
+    }
+  }
+
+  /** Cria o índice; o termo na posição {@code i} recebe o índice {@code i}. */
+  public static TermIndex de(String[] termos) {
+    return new TermIndex(termos.clone());
+  }
+
+  public int tamanho() {
+    return termos.length;
+  }
+
+  public String termo(int indice) {
+    return termos[indice];
+  }
+
+  public int indice(CharSequence termo) {
+    return indice(termo, 0, termo.length());
+  }
+
+  /** Índice do termo {@code texto[inicio, fim)}, ou -1 se não estiver no vocabulário. */
+  public int indice(CharSequence texto, int inicio, int fim) {
+    // Mesmo cálculo de String.hashCode() sobre o trecho.
+    int h = 0;
+    for (int i = inicio; i < fim; i++) {
+      h = 31 * h + texto.charAt(i);
+    }
+    int hash = espalhar(h);
+
+    for (int posicao = hash & mascara; posicoes[posicao] != VAZIO; posicao = (posicao + 1) & mascara) {
+      if (hashes[posicao] == hash && iguais(termos[posicoes[posicao] - 1], texto, inicio, fim)) {
+        return posicoes[posicao] - 1;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean iguais(String termo, CharSequence texto, int inicio, int fim) {
+    if (termo.length() != fim - inicio) {
+      return false;
+    }
+    for (int i = 0; i < termo.length(); i++) {
+      if (termo.charAt(i) != texto.charAt(inicio + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int espalhar(int h) {
+    return h ^ (h >>> 16);
+  }
+}
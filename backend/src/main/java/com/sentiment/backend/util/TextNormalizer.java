@@ -4,21 +4,59 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.text.Normalizer;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
 public class TextNormalizer {
 
+  private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+  private static final Pattern NAO_LETRA_OU_ESPACO = Pattern.compile("[^a-z\\s]");
+  private static final Pattern NAO_LETRA = Pattern.compile("[^a-z]");
+  private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+  // Tabela de dobra para Latin-1 e Latin Extended-A: cada caractere vira uma
+  // letra a-z, um separador ou nada. Gerada a partir do próprio algoritmo por
+  // regex, para que os dois caminhos produzam exatamente a mesma saída.
+  private static final int LIMITE_TABELA = 0x180;
+  private static final char SEPARADOR = ' ';
+  private static final char REMOVIDO = 0;
+  private static final char SEM_DOBRA = 1;
+  private static final char[] DOBRA = criarTabelaDobra();
+
   public String normalize(String texto) {
     if (texto == null || texto.isBlank()) {
       return "";
     }
 
-    return Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD)
-        .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-        .replaceAll("[^a-z\\s]", " ")
-        .replaceAll("\\s+", " ")
-        .trim();
+    StringBuilder normalizado = new StringBuilder(texto.length());
+    boolean separadorPendente = false;
+
+    for (int i = 0; i < texto.length(); i++) {
+      char c = texto.charAt(i);
+      char dobrado = c < LIMITE_TABELA ? DOBRA[c] : SEM_DOBRA;
+
+      if (dobrado == SEM_DOBRA) {
+        return normalizarPorRegex(texto);
+      }
+
+      if (dobrado == SEPARADOR) {
+        separadorPendente = normalizado.length() > 0;
+      } else if (dobrado != REMOVIDO) {
+        if (separadorPendente) {
+          normalizado.append(' ');
+          separadorPendente = false;
+        }
+        normalizado.append(dobrado);
+      }
+    }
+
+    return normalizado.toString();
+  }
+
+  /** Normaliza o texto uma única vez para todas as etapas da análise. */
+  public AnalysisContext criarContexto(String texto) {
+    return new AnalysisContext(texto, normalize(texto));
   }
 
   public String normalizeWord(String palavra) {
@@ -26,10 +64,102 @@ public class TextNormalizer {
       return "";
     }
 
-    String normalizada = Normalizer.normalize(palavra.toLowerCase(), Normalizer.Form.NFD)
-        .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-        .replaceAll("[^a-z]", "");
+    StringBuilder letras = new StringBuilder(palavra.length());
+    for (int i = 0; i < palavra.length(); i++) {
+      char c = palavra.charAt(i);
+      char dobrado = c < LIMITE_TABELA ? DOBRA[c] : SEM_DOBRA;
+
+      if (dobrado == SEM_DOBRA) {
+        return reduzirSufixo(normalizarPalavraPorRegex(palavra));
+      }
+      if (dobrado != SEPARADOR && dobrado != REMOVIDO) {
+        letras.append(dobrado);
+      }
+    }
+
+    return reduzirSufixo(letras.toString());
+  }
+
+  /**
+   * Normaliza, separa e reduz os tokens de um texto bruto em uma única
+   * passada, gravando-os no buffer. Equivale a
+   * {@code tokenize(normalize(texto))}.
+   */
+  void tokenizar(String texto, TokenBuffer destino) {
+    destino.limpar(texto == null ? 0 : texto.length());
+    if (texto == null || texto.isBlank()) {
+      return;
+    }
+
+    int inicioToken = -1;
+    for (int i = 0; i < texto.length(); i++) {
+      char c = texto.charAt(i);
+      char dobrado = c < LIMITE_TABELA ? DOBRA[c] : SEM_DOBRA;
+
+      if (dobrado == SEM_DOBRA) {
+        tokenizarNormalizado(normalizarPorRegex(texto), destino);
+        return;
+      }
+
+      if (dobrado == SEPARADOR) {
+        if (inicioToken >= 0) {
+          registrarToken(destino, inicioToken);
+          inicioToken = -1;
+        }
+      } else if (dobrado != REMOVIDO) {
+        if (inicioToken < 0) {
+          inicioToken = destino.posicao();
+        }
+        destino.anexar(dobrado);
+      }
+    }
+
+    if (inicioToken >= 0) {
+      registrarToken(destino, inicioToken);
+    }
+  }
+
+  static void tokenizarNormalizado(String normalizado, TokenBuffer destino) {
+    destino.limpar(normalizado.length());
+
+    int inicioToken = -1;
+    for (int i = 0; i < normalizado.length(); i++) {
+      char c = normalizado.charAt(i);
+      if (c == ' ') {
+        if (inicioToken >= 0) {
+          registrarToken(destino, inicioToken);
+          inicioToken = -1;
+        }
+      } else {
+        if (inicioToken < 0) {
+          inicioToken = destino.posicao();
+        }
+        destino.anexar(c);
+      }
+    }
+
+    if (inicioToken >= 0) {
+      registrarToken(destino, inicioToken);
+    }
+  }
+
+  private static void registrarToken(TokenBuffer destino, int inicio) {
+    char[] chars = destino.chars();
+    int fim = destino.posicao();
+
+    if (fim - inicio > 3) {
+      if (chars[fim - 1] == 's') {
+        fim--;
+      }
+      if (fim - inicio > 3 && (chars[fim - 1] == 'a' || chars[fim - 1] == 'o' || chars[fim - 1] == 'e')) {
+        fim--;
+      }
+    }
+
+    destino.registrar(inicio, fim);
+  }
 
+  private String reduzirSufixo(String normalizada) {
     if (normalizada.length() <= 3) {
       return normalizada;
     }
@@ -45,4 +175,40 @@ public class TextNormalizer {
 
     return normalizada;
   }
+
+  private static String normalizarPorRegex(String texto) {
+    String semAcentos = MARCAS_DIACRITICAS
+        .matcher(Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD))
+        .replaceAll("");
+    String apenasLetras = NAO_LETRA_OU_ESPACO.matcher(semAcentos).replaceAll(" ");
+    return ESPACOS.matcher(apenasLetras).replaceAll(" ").trim();
+  }
+
+  private static String normalizarPalavraPorRegex(String palavra) {
+    String semAcentos = MARCAS_DIACRITICAS
+        .matcher(Normalizer.normalize(palavra.toLowerCase(), Normalizer.Form.NFD))
+        .replaceAll("");
+    return NAO_LETRA.matcher(semAcentos).replaceAll("");
+  }
+
+  private static char[] criarTabelaDobra() {
+    char[] tabela = new char[LIMITE_TABELA];
+
+    for (char c = 0; c < LIMITE_TABELA; c++) {
+      String dobrado = MARCAS_DIACRITICAS
+          .matcher(Normalizer.normalize(String.valueOf(c).toLowerCase(), Normalizer.Form.NFD))
+          .replaceAll("");
+
+      if (dobrado.isEmpty()) {
+        tabela[c] = REMOVIDO;
+      } else if (dobrado.length() > 1) {
+        tabela[c] = SEM_DOBRA;
+      } else {
+        char resultado = dobrado.charAt(0);
+        tabela[c] = resultado >= 'a' && resultado <= 'z' ? resultado : SEPARADOR;
+      }
+    }
+
+    return tabela;
+  }
 }
@@ -0,0 +1,294 @@
+package com.sentiment.backend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Regressão logística sobre TF-IDF exportada por
+ * {@code data-analysis-api/tools/export_model.py}: reproduz o
+ * {@code predict_basic} da API Python (TfidfVectorizer do scikit-learn com
+ * tokens {@code \w\w+}, n-gramas, IDF e norma L2, seguido de softmax sobre
+ * os coeficientes) dentro da JVM.
+ *
+ * <p>Cada texto vira um vetor esparso com só as features presentes; o custo
+ * é proporcional ao tamanho do texto, não ao do vocabulário.
+ */
+public final class TfidfLogisticModel {
+
+  private static final int MAGIC = 0x4D465453; // "STFM" lido em little-endian
+  private static final int VERSAO = 1;
+  private static final String PADRAO_TOKEN = "(?u)\\b\\w\\w+\\b";
+
+  private final boolean minusculas;
+  private final boolean removerAcentos;
+  private final boolean tfSublinear;
+  private final int ngramMinimo;
+  private final int ngramMaximo;
+  private final String[] rotulos;
+  private final TermIndex vocabulario;
+  private final double[] idf;
+  // Coeficientes por feature: pesos[feature * classes + classe].
+  private final double[] pesos;
+  private final double[] intercepts;
+
+  private TfidfLogisticModel(boolean minusculas, boolean removerAcentos, boolean tfSublinear,
+                             int ngramMinimo, int ngramMaximo, String[] rotulos, TermIndex vocabulario,
+                             double[] idf, double[] pesos, double[] intercepts) {
+    this.minusculas = minusculas;
+    this.removerAcentos = removerAcentos;
+    this.tfSublinear = tfSublinear;
+    this.ngramMinimo = ngramMinimo;
+    this.ngramMaximo = ngramMaximo;
+    this.rotulos = rotulos;
+    this.vocabulario = vocabulario;
+    this.idf = idf;
+    this.pesos = pesos;
+    this.intercepts = intercepts;
+  }
+
+  public static TfidfLogisticModel carregar(InputStream entrada) throws IOException {
+    ByteBuffer dados = ByteBuffer.wrap(entrada.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      return ler(dados);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Arquivo de modelo truncado", e);
+    }
+  }
+
+  private static TfidfLogisticModel ler(ByteBuffer dados) throws IOException {
+    if (dados.getInt() != MAGIC) {
+      throw new IOException("Arquivo não é um modelo exportado por export_model.py");
+    }
+    int versao = dados.getInt();
+    if (versao != VERSAO) {
+      throw new IOException("Versão de modelo não suportada: " + versao);
+    }
+
+    boolean minusculas = dados.get() != 0;
+    boolean removerAcentos = dados.get() != 0;
+    boolean tfSublinear = dados.get() != 0;
+    dados.get(); // norma L2, a única exportada
+
+    int ngramMinimo = dados.getInt();
+    int ngramMaximo = dados.getInt();
+    String padraoToken = lerString(dados);
+    if (!PADRAO_TOKEN.equals(padraoToken) || ngramMinimo < 1 || ngramMaximo < ngramMinimo) {
+      throw new IOException("Tokenização não suportada: " + padraoToken + " " + ngramMinimo + "-" + ngramMaximo);
+    }
+
+    int features = dados.getInt();
+    int classes = dados.getInt();
+
+    String[] rotulos = new String[classes];
+    for (int c = 0; c < classes; c++) {
+      rotulos[c] = lerString(dados);
+    }
+    String[] termos = new String[features];
+    for (int f = 0; f < features; f++) {
+      termos[f] = lerString(dados);
+    }
+
+    double[] idf = new double[features];
+    dados.asDoubleBuffer().get(idf);
+    dados.position(dados.position() + features * Double.BYTES);
+
+    double[] pesos = new double[features * classes];
+    for (int c = 0; c < classes; c++) {
+      for (int f = 0; f < features; f++) {
+        pesos[f * classes + c] = dados.getDouble();
+      }
+    }
+
+    double[] intercepts = new double[classes];
+    dados.asDoubleBuffer().get(intercepts);
+
+    return new TfidfLogisticModel(minusculas, removerAcentos, tfSublinear, ngramMinimo, ngramMaximo,
+        rotulos, TermIndex.de(termos), idf, pesos, intercepts);
+  }
+
+  public int quantidadeFeatures() {
+    return vocabulario.tamanho();
+  }
+
+  /** Rótulos das classes, na ordem de {@link #probabilidades}. */
+  public String[] rotulos() {
+    return rotulos.clone();
+  }
+
+  /** Probabilidade de cada classe, como o {@code predict_proba} do scikit-learn. */
+  public double[] probabilidades(String texto) {
+    String documento = preprocessar(texto);
+
+    // Limites dos tokens: [inicios[i], fins[i]).
+    int[] inicios = new int[16];
+    int[] fins = new int[16];
+    int tokens = 0;
+    int i = 0;
+    while (i < documento.length()) {
+      int cp = documento.codePointAt(i);
+      if (!caractereDePalavra(cp)) {
+        i += Character.charCount(cp);
+        continue;
+      }
+
+      int inicio = i;
+      int tamanho = 0;
+      while (i < documento.length() && caractereDePalavra(cp = documento.codePointAt(i))) {
+        i += Character.charCount(cp);
+        tamanho++;
+      }
+      if (tamanho >= 2) {
+        if (tokens == inicios.length) {
+          inicios = Arrays.copyOf(inicios, tokens * 2);
+          fins = Arrays.copyOf(fins, tokens * 2);
+        }
+        inicios[tokens] = inicio;
+        fins[tokens] = i;
+        tokens++;
+      }
+    }
+
+    int[] encontradas = new int[Math.max(1, tokens * (ngramMaximo - ngramMinimo + 1))];
+    int quantidade = 0;
+    StringBuilder ngrama = ngramMaximo > 1 ? new StringBuilder() : null;
+
+    for (int n = ngramMinimo; n <= ngramMaximo; n++) {
+      for (int t = 0; t + n <= tokens; t++) {
+        int indice;
+        if (n == 1) {
+          indice = vocabulario.indice(documento, inicios[t], fins[t]);
+        } else {
+          ngrama.setLength(0);
+          ngrama.append(documento, inicios[t], fins[t]);
+          for (int k = 1; k < n; k++) {
+            ngrama.append(' ').append(documento, inicios[t + k], fins[t + k]);
+          }
+          indice = vocabulario.indice(ngrama, 0, ngrama.length());
+        }
+        if (indice >= 0) {
+          encontradas[quantidade++] = indice;
+        }
+      }
+    }
+
+    return softmax(pontuar(encontradas, quantidade));
+  }
+
+  /** Índice da classe mais provável (primeira em caso de empate, como o argmax do numpy). */
+  public static int maisProvavel(double[] probabilidades) {
+    int melhor = 0;
+    for (int c = 1; c < probabilidades.length; c++) {
+      if (probabilidades[c] > probabilidades[melhor]) {
+        melhor = c;
+      }
+    }
+    return melhor;
+  }
+
+  // Junta as ocorrências em contagens, aplica IDF e norma L2 e calcula o
+  // produto escalar com os coeficientes de cada classe.
+  private double[] pontuar(int[] encontradas, int quantidade) {
+    Arrays.sort(encontradas, 0, quantidade);
+
+    int classes = intercepts.length;
+    int distintas = 0;
+    int[] features = encontradas;
+    double[] valores = new double[quantidade];
+    double soma = 0.0;
+
+    for (int i = 0; i < quantidade; ) {
+      int feature = encontradas[i];
+      int contagem = 0;
+      while (i < quantidade && encontradas[i] == feature) {
+        contagem++;
+        i++;
+      }
+      double tf = tfSublinear ? 1.0 + Math.log(contagem) : contagem;
+      double valor = tf * idf[feature];
+      features[distintas] = feature;
+      valores[distintas++] = valor;
+      soma += valor * valor;
+    }
+
+    double norma = Math.sqrt(soma);
+    double[] decisao = intercepts.clone();
+    for (int i = 0; i < distintas; i++) {
+      double valor = valores[i] / norma;
+      int base = features[i] * classes;
+      for (int c = 0; c < classes; c++) {
+        decisao[c] += valor * pesos[base + c];
+      }
+    }
+    return decisao;
+  }
+
+  private static double[] softmax(double[] decisao) {
+    double maximo = Double.NEGATIVE_INFINITY;
+    for (double valor : decisao) {
+      maximo = Math.max(maximo, valor);
+    }
+
+    double soma = 0.0;
+    for (int c = 0; c < decisao.length; c++) {
+      decisao[c] = Math.exp(decisao[c] - maximo);
+      soma += decisao[c];
+    }
+    for (int c = 0; c < decisao.length; c++) {
+      decisao[c] /= soma;
+    }
+    return decisao;
+  }
+
+  // Mesma ordem do scikit-learn: minúsculas e depois strip_accents="unicode"
+  // (NFKD sem as marcas combinantes), pulado quando o texto é ASCII.
+  private String preprocessar(String texto) {
+    String documento = minusculas ? texto.toLowerCase(Locale.ROOT) : texto;
+    if (!removerAcentos || ascii(documento)) {
+      return documento;
+    }
+
+    String decomposto = Normalizer.normalize(documento, Normalizer.Form.NFKD);
+    StringBuilder semAcentos = new StringBuilder(decomposto.length());
+    for (int i = 0; i < decomposto.length(); i++) {
+      char c = decomposto.charAt(i);
+      if (Character.getType(c) != Character.NON_SPACING_MARK) {
+        semAcentos.append(c);
+      }
+    }
+    return semAcentos.toString();
+  }
+
+  private static boolean ascii(String texto) {
+    for (int i = 0; i < texto.length(); i++) {
+      if (texto.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // \w do Python em str: alfanumérico (str.isalnum) ou sublinhado.
+  private static boolean caractereDePalavra(int cp) {
+    if (cp < 0x80) {
+      return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') || (cp >= '0' && cp <= '9') || cp == '_';
+    }
+    if (Character.isLetter(cp)) {
+      return true;
+    }
+    int tipo = Character.getType(cp);
+    return tipo == Character.DECIMAL_DIGIT_NUMBER || tipo == Character.LETTER_NUMBER || tipo == Character.OTHER_NUMBER;
+  }
+
+  private static String lerString(ByteBuffer dados) {
+    byte[] bytes = new byte[Short.toUnsignedInt(dados.getShort())];
+    dados.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
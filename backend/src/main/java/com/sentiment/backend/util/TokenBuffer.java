@@ -0,0 +1,128 @@
+package com.sentiment.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tokens de um texto guardados como intervalos [inicio, fim) sobre um único
+ * array de caracteres. Pode ser reutilizado entre análises para evitar criar
+ * uma String por token.
+ */
+public final class TokenBuffer {
+
+  private char[] chars;
+  private int[] inicios;
+  private int[] fins;
+  private int quantidade;
+  private int tamanho;
+
+  public TokenBuffer() {
+    this(64);
+  }
+
+  public TokenBuffer(int capacidade) {
+    int capacidadeInicial = Math.max(capacidade, 16);
+    this.chars = new char[capacidadeInicial];
+    this.inicios = new int[capacidadeInicial / 2 + 1];
+    this.fins = new int[capacidadeInicial / 2 + 1];
+  }
+
+  public static TokenBuffer of(List<String> tokens) {
+    TokenBuffer buffer = new TokenBuffer(tokens.stream().mapToInt(String::length).sum() + tokens.size());
+    tokens.forEach(buffer::adicionar);
+    return buffer;
+  }
+
+  public int size() {
+    return quantidade;
+  }
+
+  public char[] chars() {
+    return chars;
+  }
+
+  public int inicio(int indice) {
+    return inicios[indice];
+  }
+
+  public int fim(int indice) {
+    return fins[indice];
+  }
+
+  public String token(int indice) {
+    return new String(chars, inicios[indice], fins[indice] - inicios[indice]);
+  }
+
+  public List<String> toList() {
+    List<String> tokens = new ArrayList<>(quantidade);
+    for (int i = 0; i < quantidade; i++) {
+      tokens.add(token(i));
+    }
+    return tokens;
+  }
+
+  public boolean tokenIgual(int indice, String palavra) {
+    int inicio = inicios[indice];
+    int comprimento = fins[indice] - inicio;
+    if (comprimento != palavra.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < comprimento; i++) {
+      if (chars[inicio + i] != palavra.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean tokenIgualAAlgum(int indice, String[] palavras) {
+    for (String palavra : palavras) {
+      if (tokenIgual(indice, palavra)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  void limpar(int capacidade) {
+    quantidade = 0;
+    tamanho = 0;
+    if (chars.length < capacidade) {
+      chars = new char[capacidade];
+    }
+    if (inicios.length < capacidade / 2 + 1) {
+      inicios = new int[capacidade / 2 + 1];
+      fins = new int[capacidade / 2 + 1];
+    }
+  }
+
+  int posicao() {
+    return tamanho;
+  }
+
+  void anexar(char c) {
+    chars[tamanho++] = c;
+  }
+
+  void registrar(int inicio, int fim) {
+    if (quantidade == inicios.length) {
+      inicios = Arrays.copyOf(inicios, quantidade * 2);
+      fins = Arrays.copyOf(fins, quantidade * 2);
+    }
+    inicios[quantidade] = inicio;
+    fins[quantidade] = fim;
+    quantidade++;
+  }
+
+  private void adicionar(String token) {
+    int inicio = tamanho;
+    if (chars.length < tamanho + token.length()) {
+      chars = Arrays.copyOf(chars, Math.max(chars.length * 2, tamanho + token.length()));
+    }
+    token.getChars(0, token.length(), chars, tamanho);
+    tamanho += token.length();
+    registrar(inicio, tamanho);
+  }
+}
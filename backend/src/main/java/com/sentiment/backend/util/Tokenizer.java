@@ -4,9 +4,8 @@ package com.sentiment.backend.util;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -15,9 +14,32 @@ public class Tokenizer {
   private final TextNormalizer normalizer;
 
   public List<String> tokenize(String textoNormalizado) {
-    return Arrays.stream(textoNormalizado.split("\\s+"))
-        .filter(palavra -> !palavra.isEmpty())
-        .map(normalizer::normalizeWord)
-        .collect(Collectors.toList());
+    List<String> tokens = new ArrayList<>();
+    int inicio = -1;
+
+    for (int i = 0; i <= textoNormalizado.length(); i++) {
+      boolean fimDePalavra = i == textoNormalizado.length() || ehEspaco(textoNormalizado.charAt(i));
+      if (!fimDePalavra) {
+        inicio = inicio < 0 ? i : inicio;
+      } else if (inicio >= 0) {
+        tokens.add(normalizer.normalizeWord(textoNormalizado.substring(inicio, i)));
+        inicio = -1;
+      }
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Normaliza o texto bruto e grava seus tokens no buffer em uma única
+   * passada; o resultado é o mesmo de {@code tokenize(normalizer.normalize(texto))}.
+   */
+  public void normalizeAndTokenize(String texto, TokenBuffer destino) {
+    normalizer.tokenizar(texto, destino);
+  }
+
+  // Mesmo conjunto de espaços de "\\s" nas expressões regulares do Java.
+  private static boolean ehEspaco(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
   }
 }
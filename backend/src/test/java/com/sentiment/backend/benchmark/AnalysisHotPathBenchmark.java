@@ -0,0 +1,167 @@
+package com.sentiment.backend.benchmark;
+
+import com.sentiment.backend.dto.SentimentRequest;
+import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.mapper.SentimentAnalysisMapper;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.service.BusinessRuleService;
+import com.sentiment.backend.service.KeywordMatchResult;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.ContextAnalyzer;
+import com.sentiment.backend.util.PolarityChecker;
+import com.sentiment.backend.util.SentimentAnalysisResult;
+import com.sentiment.backend.util.SentimentAnalyzer;
+import com.sentiment.backend.util.SentimentClassifier;
+import com.sentiment.backend.util.SentimentScoreCalculator;
+import com.sentiment.backend.util.TextNormalizer;
+import com.sentiment.backend.util.TokenBuffer;
+import com.sentiment.backend.util.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linha de base de cada etapa do caminho de análise, com textos de 50, 500 e
+ * 5000 caracteres. O perfil {@code benchmark} já liga o profiler {@code gc},
+ * então cada resultado traz também a alocação por operação
+ * ({@code gc.alloc.rate.norm}). Para rodar só uma parte:
+ * {@code -Djmh.include='AnalysisHotPathBenchmark.(normalizar|tokenizar)'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisHotPathBenchmark {
+
+  @Param({ "frases", "backlog" })
+  private String corpus;
+
+  @Param({ "50", "500", "5000" })
+  private int tamanho;
+
+  private String texto;
+  private String textoNormalizado;
+  private AnalysisContext contexto;
+  private List<String> tokens;
+  private TokenBuffer bufferTokens;
+  private KeywordMatchResult regras;
+  private SentimentRequest request;
+  private SentimentResponse response;
+
+  private TextNormalizer normalizer;
+  private Tokenizer tokenizer;
+  private SentimentScoreCalculator scoreCalculator;
+  private SentimentAnalyzer analyzer;
+  private BusinessRuleService businessRuleService;
+  private SentimentAnalysisMapper mapper;
+
+  @Setup
+  public void setup() {
+    BenchmarkFixtures.silenciarLogs();
+
+    normalizer = new TextNormalizer();
+    tokenizer = new Tokenizer(normalizer);
+    scoreCalculator = new SentimentScoreCalculator(new ContextAnalyzer(), new PolarityChecker());
+    analyzer = new SentimentAnalyzer(tokenizer, scoreCalculator, new SentimentClassifier());
+    businessRuleService = new BusinessRuleService(BenchmarkFixtures.regrasDeNegocio(), normalizer, evento -> { });
+    businessRuleService.compilarRegras();
+    mapper = new SentimentAnalysisMapper();
+
+    texto = BenchmarkFixtures.texto(corpus, tamanho);
+    textoNormalizado = normalizer.normalize(texto);
+    contexto = normalizer.criarContexto(texto);
+    tokens = tokenizer.tokenize(textoNormalizado);
+    bufferTokens = new TokenBuffer();
+    tokenizer.normalizeAndTokenize(texto, bufferTokens);
+    regras = businessRuleService.avaliarTexto(texto);
+
+    request = SentimentRequest.builder().text(texto).build();
+    response = SentimentResponse.builder()
+        .previsao(SentimentType.NEGATIVO)
+        .probabilidade(0.87)
+        .prioridade(businessRuleService.identificarPrioridade(regras, SentimentType.NEGATIVO))
+        .setor(regras.getSetor())
+        .tags(regras.getTags())
+        .sugestaoResposta(businessRuleService.gerarSugestao(SentimentType.NEGATIVO, regras.getSetor()))
+        .build();
+  }
+
+  @Benchmark
+  public String normalizar() {
+    return normalizer.normalize(texto);
+  }
+
+  @Benchmark
+  public AnalysisContext criarContexto() {
+    return normalizer.criarContexto(texto);
+  }
+
+  @Benchmark
+  public List<String> tokenizar() {
+    return tokenizer.tokenize(textoNormalizado);
+  }
+
+  @Benchmark
+  public double calcularScore() {
+    return scoreCalculator.calculate(tokens);
+  }
+
+  @Benchmark
+  public double calcularScoreTokenBuffer() {
+    return scoreCalculator.calculate(bufferTokens);
+  }
+
+  @Benchmark
+  public SentimentAnalysisResult analisar() {
+    return analyzer.analisar(texto);
+  }
+
+  @Benchmark
+  public KeywordMatchResult avaliarRegras() {
+    return businessRuleService.avaliarTexto(texto);
+  }
+
+  @Benchmark
+  public KeywordMatchResult avaliarRegrasContexto() {
+    return businessRuleService.avaliar(contexto);
+  }
+
+  @Benchmark
+  public String identificarSetor() {
+    return businessRuleService.identificarSetor(texto);
+  }
+
+  @Benchmark
+  public List<String> extrairTags() {
+    return businessRuleService.extrairTags(texto);
+  }
+
+  @Benchmark
+  public String identificarPrioridade() {
+    return businessRuleService.identificarPrioridade(regras, SentimentType.NEGATIVO);
+  }
+
+  @Benchmark
+  public String gerarSugestao() {
+    return businessRuleService.gerarSugestao(SentimentType.NEGATIVO, regras.getSetor());
+  }
+
+  @Benchmark
+  public SentimentAnalysis mapearEntidade() {
+    return mapper.toEntity(request, response);
+  }
+}
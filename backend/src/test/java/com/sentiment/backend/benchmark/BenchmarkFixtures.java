@@ -0,0 +1,97 @@
+package com.sentiment.backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.config.BusinessRulesProperties;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+  // Os benchmarks rodam a partir de backend/ (exec-maven-plugin).
+  private static final Path BACKLOG = Path.of("..", "requests.jsonl");
+
+  private static final List<String> FRASES = List.of(
+      "A entrega atrasou mais de uma semana e a transportadora não respondeu.",
+      "O produto chegou com a embalagem rasgada, mas a qualidade do material é excelente.",
+      "Atendimento péssimo, o suporte demorou para responder e a ligação caiu duas vezes.",
+      "Preço justo, pagamento pelo boleto foi rápido e recebi o desconto prometido.",
+      "Se não resolverem vou abrir reclamação no Procon e procurar um advogado.",
+      "Gostei bastante, recomendo para todos os meus amigos!",
+      "O tamanho veio errado e o estorno do cartão ainda não apareceu na fatura.",
+      "Nada de especial, o produto funciona como descrito.");
+
+  private BenchmarkFixtures() {
+  }
+
+  static BusinessRulesProperties regrasDeNegocio() {
+    try {
+      StandardEnvironment environment = new StandardEnvironment();
+      new YamlPropertySourceLoader()
+          .load("application", new ClassPathResource("application.yml"))
+          .forEach(environment.getPropertySources()::addLast);
+
+      return Binder.get(environment)
+          .bind("business-rules", BusinessRulesProperties.class)
+          .get();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static String texto(int tamanho) {
+    return repetir(FRASES, tamanho);
+  }
+
+  /**
+   * Texto do corpus pedido com o tamanho exato: {@code frases} usa as frases
+   * de clientes acima; {@code backlog} usa títulos e descrições de
+   * {@code requests.jsonl} (texto real, longo e com pouca palavra-chave), ou
+   * as frases, se o arquivo não existir.
+   */
+  static String texto(String corpus, int tamanho) {
+    if (!"backlog".equals(corpus) || !Files.exists(BACKLOG)) {
+      return texto(tamanho);
+    }
+
+    try {
+      ObjectMapper mapper = new ObjectMapper();
+      List<String> textos = new ArrayList<>();
+      for (String linha : Files.readAllLines(BACKLOG)) {
+        if (!linha.isBlank()) {
+          JsonNode request = mapper.readTree(linha);
+          textos.add(request.path("title").asText());
+          textos.add(request.path("body").asText());
+        }
+      }
+      return repetir(textos, tamanho);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Sem configuração do Spring, o Logback registra DEBUG no console. */
+  static void silenciarLogs() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+  }
+
+  private static String repetir(List<String> trechos, int tamanho) {
+    StringBuilder texto = new StringBuilder(tamanho + 100);
+    for (int i = 0; texto.length() < tamanho; i++) {
+      texto.append(trechos.get(i % trechos.size())).append(' ');
+    }
+    return texto.substring(0, tamanho);
+  }
+}
@@ -0,0 +1,89 @@
+package com.sentiment.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara o resultado do JMH ({@code target/jmh-result.json}) com uma linha
+ * de base gravada antes, na mesma máquina, e falha o build se algum
+ * benchmark piorar além da tolerância: menos vazão (ou mais tempo por
+ * operação) ou mais bytes alocados por operação. Sem arquivo de linha de
+ * base também falha, a não ser que ela seja opcional (para a primeira
+ * execução em uma máquina nova).
+ *
+ * <p>Uso: {@code BenchmarkGate <resultado.json> <baseline.json> [tolerancia] [baselineOpcional]}.
+ */
+public final class BenchmarkGate {
+
+  private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+  // Alocações minúsculas oscilam alguns bytes entre execuções.
+  private static final double FOLGA_ALOCACAO_BYTES = 16.0;
+
+  private BenchmarkGate() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path resultado = Path.of(args[0]);
+    Path baseline = Path.of(args[1]);
+    double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+    boolean baselineOpcional = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+    if (!Files.exists(baseline)) {
+      System.out.printf("Sem linha de base em %s. Para criar uma: cp %s %s%n", baseline, resultado, baseline);
+      if (!baselineOpcional) {
+        System.out.println("Nada foi comparado; use -Djmh.baseline.optional=true para só medir");
+        System.exit(1);
+      }
+      return;
+    }
+
+    Map<String, JsonNode> atuais = ler(resultado);
+    Map<String, JsonNode> anteriores = ler(baseline);
+    int regressoes = 0;
+
+    for (Map.Entry<String, JsonNode> entrada : atuais.entrySet()) {
+      JsonNode anterior = anteriores.get(entrada.getKey());
+      if (anterior == null) {
+        continue;
+      }
+      JsonNode atual = entrada.getValue();
+
+      double score = atual.path("primaryMetric").path("score").asDouble();
+      double scoreBase = anterior.path("primaryMetric").path("score").asDouble();
+      boolean maiorEMelhor = "thrpt".equals(atual.path("mode").asText());
+      double variacao = (score - scoreBase) / scoreBase;
+      boolean piorou = maiorEMelhor ? variacao < -tolerancia : variacao > tolerancia;
+
+      double alocacao = atual.path("secondaryMetrics").path(ALOCACAO).path("score").asDouble(Double.NaN);
+      double alocacaoBase = anterior.path("secondaryMetrics").path(ALOCACAO).path("score").asDouble(Double.NaN);
+      boolean alocouMais = !Double.isNaN(alocacao) && !Double.isNaN(alocacaoBase)
+          && alocacao > alocacaoBase * (1 + tolerancia) + FOLGA_ALOCACAO_BYTES;
+
+      System.out.printf("%-4s %-90s %+7.1f%%  %10.1f -> %10.1f B/op%n",
+          piorou || alocouMais ? "PIOR" : "ok", entrada.getKey(), variacao * 100, alocacaoBase, alocacao);
+      if (piorou || alocouMais) {
+        regressoes++;
+      }
+    }
+
+    if (regressoes > 0) {
+      System.out.printf("%d benchmark(s) piores que a linha de base (tolerância de %.0f%%)%n", regressoes, tolerancia * 100);
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, JsonNode> ler(Path arquivo) throws IOException {
+    Map<String, JsonNode> porChave = new LinkedHashMap<>();
+    for (JsonNode resultado : new ObjectMapper().readTree(arquivo.toFile())) {
+      porChave.put(resultado.path("benchmark").asText() + resultado.path("params"), resultado);
+    }
+    return porChave;
+  }
+}
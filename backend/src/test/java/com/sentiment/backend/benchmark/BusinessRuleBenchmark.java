@@ -0,0 +1,90 @@
+package com.sentiment.backend.benchmark;
+
+import com.sentiment.backend.config.BusinessRulesProperties;
+import com.sentiment.backend.service.BusinessRuleService;
+import com.sentiment.backend.service.KeywordMatchResult;
+import com.sentiment.backend.util.TextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara o automato de palavras-chave do {@link BusinessRuleService} com a
+ * implementação anterior, baseada em streams e {@code String.contains}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessRuleBenchmark {
+
+  @Param({ "50", "500", "5000" })
+  private int tamanho;
+
+  private String texto;
+  private BusinessRulesProperties properties;
+  private BusinessRuleService service;
+
+  @Setup
+  public void setup() {
+    texto = BenchmarkFixtures.texto(tamanho);
+    properties = BenchmarkFixtures.regrasDeNegocio();
+    service = new BusinessRuleService(properties, new TextNormalizer(), evento -> { });
+    service.compilarRegras();
+  }
+
+  @Benchmark
+  public KeywordMatchResult automato() {
+    return service.avaliarTexto(texto);
+  }
+
+  @Benchmark
+  public void streams(Blackhole blackhole) {
+    blackhole.consume(identificarSetor(texto));
+    blackhole.consume(extrairTags(texto));
+    blackhole.consume(contemAlertaCritico(texto));
+  }
+
+  private String identificarSetor(String texto) {
+    String textoLower = texto.toLowerCase();
+
+    return properties.getSectors().entrySet().stream()
+        .filter(entry -> entry.getValue().getKeywords().stream().anyMatch(textoLower::contains))
+        .map(Map.Entry::getKey)
+        .findFirst()
+        .orElse("GERAL");
+  }
+
+  private List<String> extrairTags(String texto) {
+    String textoLower = texto.toLowerCase();
+
+    return properties.getSectors().values().stream()
+        .flatMap(config -> config.getKeywords().stream())
+        .filter(textoLower::contains)
+        .distinct()
+        .limit(5)
+        .collect(Collectors.toList());
+  }
+
+  private boolean contemAlertaCritico(String texto) {
+    String textoLower = texto.toLowerCase();
+    return properties.getCriticalAlerts().stream()
+        .anyMatch(textoLower::contains);
+  }
+}
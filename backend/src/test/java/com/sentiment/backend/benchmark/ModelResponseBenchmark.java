@@ -0,0 +1,94 @@
+package com.sentiment.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.client.ModelResponse;
+import com.sentiment.backend.client.ModelResponseDecoder;
+import com.sentiment.backend.model.SentimentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura da resposta da API Python com o {@link ModelResponseDecoder}
+ * e a leitura anterior, em um {@code Map<String, Object>}. Rodar com
+ * {@code -Djmh.profilers=gc} para ver a alocação por chamada
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelResponseBenchmark {
+
+  private static final String RESPOSTA = """
+      {
+        "previsao": "Negativo",
+        "probabilidade": 0.9134,
+        "probabilidades_detalhadas": {
+          "Negativo": 0.9134,
+          "Neutro": 0.0521,
+          "Positivo": 0.0345
+        },
+        "modelo_usado": "enhanced_text_priority"
+      }
+      """;
+
+  private byte[] corpo;
+  private ObjectMapper objectMapper;
+  private JsonFactory jsonFactory;
+
+  @Setup
+  public void setup() {
+    corpo = RESPOSTA.getBytes(StandardCharsets.UTF_8);
+    objectMapper = new ObjectMapper();
+    jsonFactory = objectMapper.getFactory();
+  }
+
+  @Benchmark
+  public ModelResponse streaming() throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(corpo)) {
+      return ModelResponseDecoder.decodificar(parser);
+    }
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public void mapa(Blackhole blackhole) throws IOException {
+    Map<String, Object> dadosIA = objectMapper.readValue(corpo, Map.class);
+
+    String previsaoStr = (String) dadosIA.getOrDefault("previsao", "neutro");
+    blackhole.consume(mapearPrevisao(previsaoStr));
+
+    double confianca = 0.85;
+    if (dadosIA.get("probabilidade") instanceof Number n) {
+      confianca = n.doubleValue();
+    }
+    blackhole.consume(confianca);
+  }
+
+  private SentimentType mapearPrevisao(String previsao) {
+    if (previsao == null) return SentimentType.NEUTRO;
+    return switch (previsao.toLowerCase()) {
+      case "positivo" -> SentimentType.POSITIVO;
+      case "negativo" -> SentimentType.NEGATIVO;
+      default -> SentimentType.NEUTRO;
+    };
+  }
+}
@@ -0,0 +1,78 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelProtectionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long RAPIDA = Duration.ofMillis(20).toNanos();
+    private static final long LENTA = Duration.ofSeconds(2).toNanos();
+
+    private final ModelProtectionProperties.ConcurrencyLimit properties = new ModelProtectionProperties.ConcurrencyLimit();
+    private AdaptiveConcurrencyLimit limite;
+
+    @BeforeEach
+    void setUp() {
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(8);
+        properties.setLatencyThreshold(Duration.ofSeconds(1));
+        properties.setBackoffRatio(0.5);
+        limite = new AdaptiveConcurrencyLimit(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveRecusarAlemDoLimiteEDevolverAVaga() {
+        for (int i = 0; i < 4; i++) {
+            limite.adquirir();
+        }
+
+        ModelCallRejectedException recusa = assertThrows(ModelCallRejectedException.class, limite::adquirir);
+        assertEquals("limite", recusa.getMotivo());
+
+        limite.liberar();
+        limite.adquirir();
+        assertEquals(4, limite.emVoo());
+    }
+
+    @Test
+    void deveReduzirComFalhasEChamadasLentasAteOMinimo() {
+        limite.adquirir();
+        limite.registrar(LENTA, true);
+        assertEquals(2, limite.limite());
+
+        limite.adquirir();
+        limite.registrar(RAPIDA, false);
+        assertEquals(2, limite.limite());
+        assertEquals(0, limite.emVoo());
+    }
+
+    @Test
+    void deveCrescerAosPoucosSoQuandoOLimiteEstaEmUso() {
+        // Uma chamada por vez não usa o limite de 4: nada muda
+        for (int i = 0; i < 20; i++) {
+            limite.adquirir();
+            limite.registrar(RAPIDA, true);
+        }
+        assertEquals(4, limite.limite());
+
+        // Com o limite ocupado, cada rodada soma cerca de 1
+        for (int rodada = 0; rodada < 20; rodada++) {
+            int vagas = limite.limite();
+            for (int i = 0; i < vagas; i++) {
+                limite.adquirir();
+            }
+            for (int i = 0; i < vagas; i++) {
+                limite.registrar(RAPIDA, true);
+            }
+        }
+        assertEquals(8, limite.limite());
+    }
+}
@@ -0,0 +1,208 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelBatchingProperties;
+import com.sentiment.backend.config.ModelProtectionProperties;
+import com.sentiment.backend.model.SentimentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ModelBatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ModelClient modelClient = mock(ModelClient.class);
+    private final ModelBatchingProperties properties = new ModelBatchingProperties();
+    private final ModelProtectionProperties protecao = new ModelProtectionProperties();
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    // O despachante entrega o primeiro lote e fica parado dentro do
+    // execute() até ser liberado; os pedidos enviados nesse meio-tempo
+    // formam, juntos, o lote seguinte.
+    private final CountDownLatch despachanteParado = new CountDownLatch(1);
+    private final CountDownLatch liberarDespachante = new CountDownLatch(1);
+    private final AtomicBoolean primeiraExecucao = new AtomicBoolean(true);
+    private final Executor executorQueSegura = comando -> {
+        if (primeiraExecucao.getAndSet(false)) {
+            despachanteParado.countDown();
+            try {
+                liberarDespachante.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        executor.execute(comando);
+    };
+    private ModelBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveJuntarPedidosSimultaneosEDevolverCadaRespostaAoSeuPedido() throws Exception {
+        when(modelClient.prever(anyString(), any(), any())).thenReturn(new ModelResponse(SentimentType.NEUTRO, 0.5));
+        when(modelClient.preverLote(anyList())).thenAnswer(invocacao -> {
+            List<ModelRequest> requests = invocacao.getArgument(0);
+            List<ModelResponse> respostas = new ArrayList<>();
+            for (ModelRequest request : requests) {
+                respostas.add(request.text().startsWith("bom")
+                    ? new ModelResponse(SentimentType.POSITIVO, 0.9)
+                    : null);
+            }
+            return respostas;
+        });
+        iniciar(8, Duration.ofMillis(5));
+
+        CompletableFuture<ModelResponse> primeiro = batcher.enviar(new ModelRequest("primeiro", null, null));
+        assertTrue(despachanteParado.await(2, TimeUnit.SECONDS));
+
+        List<CompletableFuture<ModelResponse>> seguintes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            seguintes.add(batcher.enviar(new ModelRequest((i % 2 == 0 ? "bom " : "recusado ") + i, null, null)));
+        }
+        liberarDespachante.countDown();
+
+        assertEquals(SentimentType.NEUTRO, primeiro.get(2, TimeUnit.SECONDS).previsao());
+        assertEquals(SentimentType.POSITIVO, seguintes.get(0).get(2, TimeUnit.SECONDS).previsao());
+        assertNull(seguintes.get(1).get(2, TimeUnit.SECONDS));
+        assertEquals(SentimentType.POSITIVO, seguintes.get(2).get(2, TimeUnit.SECONDS).previsao());
+        assertNull(seguintes.get(3).get(2, TimeUnit.SECONDS));
+        verify(modelClient).preverLote(argThat(requests -> requests.size() == 4));
+    }
+
+    @Test
+    void deveFalharTodosOsPedidosDoLoteQuandoAChamadaFalha() throws Exception {
+        when(modelClient.prever(anyString(), any(), any())).thenReturn(new ModelResponse(SentimentType.NEUTRO, 0.5));
+        when(modelClient.preverLote(anyList())).thenThrow(new IllegalStateException("python-api indisponível"));
+        iniciar(8, Duration.ofMillis(5));
+
+        batcher.enviar(new ModelRequest("primeiro", null, null));
+        assertTrue(despachanteParado.await(2, TimeUnit.SECONDS));
+        CompletableFuture<ModelResponse> a = batcher.enviar(new ModelRequest("segundo", null, null));
+        CompletableFuture<ModelResponse> b = batcher.enviar(new ModelRequest("terceiro", null, null));
+        liberarDespachante.countDown();
+
+        assertThrows(Exception.class, () -> a.get(2, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> b.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveOcuparUmaVagaDoLimitePorLoteENaoPorPedido() throws Exception {
+        protecao.getConcurrencyLimit().setInitialLimit(2);
+        protecao.getConcurrencyLimit().setMinLimit(1);
+        protecao.getConcurrencyLimit().setMaxLimit(2);
+        when(modelClient.prever(anyString(), any(), any())).thenReturn(new ModelResponse(SentimentType.NEUTRO, 0.5));
+        when(modelClient.preverLote(anyList())).thenAnswer(invocacao -> {
+            List<ModelRequest> requests = invocacao.getArgument(0);
+            // Todos os pedidos do lote seguram uma única vaga.
+            assertEquals(1, concurrencyLimit.emVoo());
+            return requests.stream().map(request -> new ModelResponse(SentimentType.POSITIVO, 0.9)).toList();
+        });
+        iniciar(32, Duration.ofMillis(5));
+
+        batcher.enviar(new ModelRequest("primeiro", null, null));
+        assertTrue(despachanteParado.await(2, TimeUnit.SECONDS));
+
+        // Mais pedidos simultâneos do que o limite de concorrência.
+        List<CompletableFuture<ModelResponse>> seguintes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            seguintes.add(batcher.enviar(new ModelRequest("pedido " + i, null, null)));
+        }
+        liberarDespachante.countDown();
+
+        for (CompletableFuture<ModelResponse> resposta : seguintes) {
+            assertEquals(SentimentType.POSITIVO, resposta.get(2, TimeUnit.SECONDS).previsao());
+        }
+        verify(modelClient).preverLote(argThat(requests -> requests.size() == 10));
+        assertEquals(0, concurrencyLimit.emVoo());
+    }
+
+    @Test
+    void deveFalharOLoteComARecusaDoGuard() throws Exception {
+        protecao.getConcurrencyLimit().setInitialLimit(1);
+        protecao.getConcurrencyLimit().setMinLimit(1);
+        protecao.getConcurrencyLimit().setMaxLimit(1);
+        iniciar(8, Duration.ofMillis(5));
+        // Ocupa a única vaga, como uma chamada que ainda não voltou.
+        concurrencyLimit.adquirir();
+
+        CompletableFuture<ModelResponse> resposta = batcher.enviar(new ModelRequest("sozinho", null, null));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> resposta.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(ModelCallRejectedException.class, erro.getCause());
+        verify(modelClient, never()).prever(anyString(), any(), any());
+    }
+
+    @Test
+    void deveResponderPedidoQueEntraNaFilaDepoisDoStop() throws Exception {
+        when(modelClient.prever(anyString(), any(), any())).thenReturn(new ModelResponse(SentimentType.NEUTRO, 0.5));
+        properties.setEnabled(true);
+        // O stop() inteiro (sinal, join e drenagem) roda entre a checagem de
+        // executando e o offer do pedido.
+        BlockingQueue<ModelBatcher.Pedido> fila = new ArrayBlockingQueue<>(10) {
+            @Override
+            public boolean offer(ModelBatcher.Pedido pedido) {
+                batcher.stop();
+                return super.offer(pedido);
+            }
+        };
+        batcher = new ModelBatcher(modelClient, guard(), properties, executor, new SimpleMeterRegistry(), fila);
+        batcher.start();
+
+        CompletableFuture<ModelResponse> resposta = batcher.enviar(new ModelRequest("atrasado", null, null));
+
+        assertEquals(SentimentType.NEUTRO, resposta.get(2, TimeUnit.SECONDS).previsao());
+        assertTrue(fila.isEmpty());
+    }
+
+    @Test
+    void deveChamarDiretoQuandoDesligado() throws Exception {
+        when(modelClient.prever("sozinho", 5, true)).thenReturn(new ModelResponse(SentimentType.POSITIVO, 0.8));
+        batcher = new ModelBatcher(modelClient, guard(), properties, executor, new SimpleMeterRegistry());
+        batcher.start();
+
+        assertFalse(batcher.isAtivo());
+        assertEquals(0.8, batcher.enviar(new ModelRequest("sozinho", 5, true)).get(2, TimeUnit.SECONDS).probabilidade());
+        verify(modelClient, never()).preverLote(anyList());
+    }
+
+    private void iniciar(int maxBatchSize, Duration maxWait) {
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxWait(maxWait);
+        batcher = new ModelBatcher(modelClient, guard(), properties, executorQueSegura, new SimpleMeterRegistry());
+        batcher.start();
+    }
+
+    private ModelServiceGuard guard() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        concurrencyLimit = new AdaptiveConcurrencyLimit(protecao.getConcurrencyLimit(), registry);
+        return new ModelServiceGuard(new ModelCircuitBreaker(protecao, registry), concurrencyLimit);
+    }
+}
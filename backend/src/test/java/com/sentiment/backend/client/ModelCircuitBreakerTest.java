@@ -0,0 +1,113 @@
+package com.sentiment.backend.client;
+
+import com.sentiment.backend.config.ModelProtectionProperties;
+import com.sentiment.backend.model.CircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelCircuitBreakerTest {
+
+    private static final long RAPIDA = Duration.ofMillis(20).toNanos();
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final ModelProtectionProperties.CircuitBreaker properties = new ModelProtectionProperties.CircuitBreaker();
+    private ModelCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallThreshold(Duration.ofMillis(500));
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        breaker = new ModelCircuitBreaker(properties, new SimpleMeterRegistry(), relogio::get);
+    }
+
+    @Test
+    void deveAbrirQuandoMetadeDasChamadasFalhaOuDemora() {
+        chamar(true, RAPIDA);
+        chamar(false, RAPIDA);
+        chamar(true, RAPIDA);
+        assertEquals(CircuitState.FECHADO, breaker.estado());
+
+        chamar(true, Duration.ofSeconds(1).toNanos());
+
+        assertEquals(CircuitState.ABERTO, breaker.estado());
+        ModelCallRejectedException recusa = assertThrows(ModelCallRejectedException.class, breaker::adquirir);
+        assertEquals("circuito_aberto", recusa.getMotivo());
+    }
+
+    @Test
+    void deveFecharDepoisDasChamadasDeTesteBemSucedidas() {
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        long primeira = breaker.adquirir();
+        long segunda = breaker.adquirir();
+        assertEquals(CircuitState.MEIO_ABERTO, breaker.estado());
+        assertThrows(ModelCallRejectedException.class, breaker::adquirir);
+
+        breaker.registrar(primeira, RAPIDA, true);
+        breaker.registrar(segunda, RAPIDA, true);
+
+        assertEquals(CircuitState.FECHADO, breaker.estado());
+        assertEquals(0.0, breaker.taxaDeFalhas());
+    }
+
+    @Test
+    void deveReabrirNaPrimeiraFalhaDoMeioAberto() {
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        breaker.registrar(breaker.adquirir(), RAPIDA, false);
+
+        assertEquals(CircuitState.ABERTO, breaker.estado());
+        relogio.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThrows(ModelCallRejectedException.class, breaker::adquirir);
+    }
+
+    @Test
+    void deveIgnorarResultadoDeChamadaIniciadaAntesDaTransicao() {
+        long antiga = breaker.adquirir();
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        long teste = breaker.adquirir();
+
+        // A chamada lenta de antes da abertura não deve reabrir o circuito
+        breaker.registrar(antiga, Duration.ofSeconds(5).toNanos(), false);
+        breaker.registrar(teste, RAPIDA, true);
+        breaker.registrar(breaker.adquirir(), RAPIDA, true);
+
+        assertEquals(CircuitState.FECHADO, breaker.estado());
+    }
+
+    @Test
+    void naoDeveRecusarNadaQuandoDesabilitado() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 20; i++) {
+            chamar(false, RAPIDA);
+        }
+
+        assertEquals(CircuitState.FECHADO, breaker.estado());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < properties.getMinimumCalls(); i++) {
+            chamar(false, RAPIDA);
+        }
+        assertEquals(CircuitState.ABERTO, breaker.estado());
+    }
+
+    private void chamar(boolean sucesso, long duracao) {
+        breaker.registrar(breaker.adquirir(), duracao, sucesso);
+    }
+}
@@ -0,0 +1,106 @@
+package com.sentiment.backend.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.model.SentimentType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelResponseDecoderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void deveLerPrevisaoEProbabilidadeIgnorandoCamposDesconhecidos() throws IOException {
+        ModelResponse resposta = decodificar("""
+            {
+              "previsao": "Negativo",
+              "probabilidades_detalhadas": {"Negativo": 0.91, "Neutro": 0.05, "Positivo": 0.04},
+              "extras": [1, [2, 3], {"a": null}],
+              "probabilidade": 0.91,
+              "modelo_usado": "enhanced"
+            }
+            """);
+
+        assertEquals(SentimentType.NEGATIVO, resposta.previsao());
+        assertEquals(0.91, resposta.probabilidade());
+    }
+
+    @Test
+    void deveMapearPrevisaoSemDiferenciarCaixa() throws IOException {
+        assertEquals(SentimentType.POSITIVO, decodificar("{\"previsao\": \"POSITIVO\"}").previsao());
+        assertEquals(SentimentType.POSITIVO, decodificar("{\"previsao\": \"positivo\"}").previsao());
+        assertEquals(SentimentType.NEGATIVO, decodificar("{\"previsao\": \"Nega\\u0074ivo\"}").previsao());
+        assertEquals(SentimentType.NEUTRO, decodificar("{\"previsao\": \"Neutro\"}").previsao());
+        assertEquals(SentimentType.NEUTRO, decodificar("{\"previsao\": \"positiva\"}").previsao());
+    }
+
+    @Test
+    void deveUsarValoresPadraoQuandoCamposFaltamOuTemTipoInesperado() throws IOException {
+        ModelResponse vazia = decodificar("{}");
+        assertEquals(SentimentType.NEUTRO, vazia.previsao());
+        assertEquals(ModelResponse.CONFIANCA_PADRAO, vazia.probabilidade());
+
+        ModelResponse tiposInesperados = decodificar("{\"previsao\": null, \"probabilidade\": \"0.99\"}");
+        assertEquals(SentimentType.NEUTRO, tiposInesperados.previsao());
+        assertEquals(ModelResponse.CONFIANCA_PADRAO, tiposInesperados.probabilidade());
+
+        assertEquals(1.0, decodificar("{\"previsao\": \"Positivo\", \"probabilidade\": 1}").probabilidade());
+    }
+
+    @Test
+    void deveRetornarNuloParaCorpoVazioOuNull() throws IOException {
+        assertNull(decodificar(""));
+        assertNull(decodificar("null"));
+    }
+
+    @Test
+    void deveRejeitarCorpoQueNaoEhObjeto() {
+        assertThrows(JsonParseException.class, () -> decodificar("[\"Positivo\"]"));
+    }
+
+    @Test
+    void deveLerLoteNaOrdemComNuloParaItemRecusado() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser("""
+            {"resultados": [
+              {"previsao": "Positivo", "probabilidade": 0.7, "probabilidades_detalhadas": {"Positivo": 0.7}},
+              {"erro": "Texto deve ter no mínimo 3 caracteres"},
+              {"previsao": "Negativo", "probabilidade": 0.9}
+            ]}
+            """)) {
+            List<ModelResponse> respostas = ModelResponseDecoder.decodificarLote(parser);
+
+            assertEquals(3, respostas.size());
+            assertEquals(new ModelResponse(SentimentType.POSITIVO, 0.7), respostas.get(0));
+            assertNull(respostas.get(1));
+            assertEquals(new ModelResponse(SentimentType.NEGATIVO, 0.9), respostas.get(2));
+        }
+
+        try (JsonParser parser = jsonFactory.createParser("{\"detail\": \"Not Found\"}")) {
+            assertThrows(JsonParseException.class, () -> ModelResponseDecoder.decodificarLote(parser));
+        }
+    }
+
+    @Test
+    void deveSerializarRequisicaoNoFormatoDaApi() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(mapper.readTree("{\"text\": \"ok\"}"),
+            mapper.valueToTree(new ModelRequest("ok", null, null)));
+        assertEquals(mapper.readTree("{\"text\": \"ok\", \"rating\": 4, \"recommend_to_friend\": true}"),
+            mapper.valueToTree(new ModelRequest("ok", 4, true)));
+    }
+
+    private ModelResponse decodificar(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return ModelResponseDecoder.decodificar(parser);
+        }
+    }
+}
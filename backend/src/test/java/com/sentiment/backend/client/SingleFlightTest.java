@@ -0,0 +1,87 @@
+package com.sentiment.backend.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(meterRegistry, "teste");
+
+    @Test
+    void deveCompartilharChamadaEmAndamentoEntreChavesIguais() throws Exception {
+        CompletableFuture<String> chamadaLenta = new CompletableFuture<>();
+        AtomicInteger chamadas = new AtomicInteger();
+
+        List<CompletableFuture<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            resultados.add(singleFlight.executar("mesmo texto", () -> {
+                chamadas.incrementAndGet();
+                return chamadaLenta;
+            }));
+        }
+
+        assertEquals(1, singleFlight.emAndamento());
+        chamadaLenta.complete("NEGATIVO");
+
+        for (CompletableFuture<String> resultado : resultados) {
+            assertEquals("NEGATIVO", resultado.get());
+        }
+        assertEquals(1, chamadas.get());
+        assertEquals(9.0, meterRegistry.get("teste.coalesced").counter().count());
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    void deveDispararNovaChamadaDepoisQueAAnteriorTermina() throws Exception {
+        AtomicInteger chamadas = new AtomicInteger();
+
+        singleFlight.executar("texto", () -> CompletableFuture.completedFuture("v" + chamadas.incrementAndGet())).get();
+        String segunda = singleFlight.executar("texto",
+            () -> CompletableFuture.completedFuture("v" + chamadas.incrementAndGet())).get();
+
+        assertEquals("v2", segunda);
+        assertEquals(0.0, meterRegistry.get("teste.coalesced").counter().count());
+    }
+
+    @Test
+    void deveNaoCoalescerChavesDiferentes() {
+        CompletableFuture<String> a = singleFlight.executar("a", CompletableFuture::new);
+        CompletableFuture<String> b = singleFlight.executar("b", CompletableFuture::new);
+
+        assertNotSame(a, b);
+        assertEquals(2, singleFlight.emAndamento());
+    }
+
+    @Test
+    void devePropagarFalhaParaTodosQueAguardam() {
+        CompletableFuture<String> chamada = new CompletableFuture<>();
+        CompletableFuture<String> primeira = singleFlight.executar("texto", () -> chamada);
+        CompletableFuture<String> segunda = singleFlight.executar("texto", () -> chamada);
+
+        chamada.completeExceptionally(new IllegalStateException("python-api fora do ar"));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, primeira::get);
+        assertInstanceOf(IllegalStateException.class, erro.getCause());
+        assertThrows(ExecutionException.class, segunda::get);
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    void deveLiberarChaveQuandoChamadaNaoPodeSerIniciada() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.executar("texto", () -> {
+            throw new IllegalStateException("pool cheio");
+        }));
+
+        assertEquals(0, singleFlight.emAndamento());
+    }
+}
@@ -0,0 +1,115 @@
+package com.sentiment.backend.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setPinnedThreshold(Duration.ofMillis(5));
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void deveRegistrarVirtualThreadBloqueadaDentroDeSynchronized() throws Exception {
+        Object monitorDeObjeto = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorDeObjeto) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        Timer pinagens = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+        long prazo = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinagens.count() == 0 && System.nanoTime() < prazo) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(1, pinagens.count());
+        assertTrue(pinagens.totalTime(TimeUnit.MILLISECONDS) >= 40);
+    }
+
+    @Test
+    void deveCriarWorkersVirtuaisSoNoModoDeVirtualThreads() throws Exception {
+        ModelRoutingProperties routing = new ModelRoutingProperties();
+        ExecutorConfig config = new ExecutorConfig();
+
+        assertTrue(executarEmThreadVirtual(config.modelExecutor(routing,
+            new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"))));
+        assertFalse(executarEmThreadVirtual(config.modelExecutor(routing, new MockEnvironment())));
+    }
+
+    @Test
+    void naoDeveLimitarChamadasAoModeloPeloPoolNoModoDeVirtualThreads() throws Exception {
+        ModelRoutingProperties routing = new ModelRoutingProperties();
+        routing.setMaxConcurrentCalls(1);
+        routing.setQueueCapacity(1);
+        AsyncTaskExecutor executor = new ExecutorConfig().modelExecutor(routing,
+            new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<CompletableFuture<Void>> chamadas = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                chamadas.add(CompletableFuture.runAsync(() -> aguardar(liberar), executor));
+            }
+        } finally {
+            liberar.countDown();
+        }
+        CompletableFuture.allOf(chamadas.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    }
+
+    private boolean executarEmThreadVirtual(AsyncTaskExecutor executor) throws Exception {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).get();
+        } finally {
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void aguardar(CountDownLatch trava) {
+        try {
+            trava.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
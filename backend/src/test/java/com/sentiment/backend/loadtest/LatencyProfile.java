@@ -0,0 +1,79 @@
+package com.sentiment.backend.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Distribuição de latência do stub do modelo, no formato
+ * {@code fixa:50ms}, {@code uniforme:20ms:200ms} ou
+ * {@code lognormal:80ms:600ms} (mediana e p99).
+ */
+final class LatencyProfile {
+
+  // Quantil 0,99 da normal padrão.
+  private static final double Z_99 = 2.3263478740408408;
+
+  private final String descricao;
+  private final Amostrador amostrador;
+
+  private LatencyProfile(String descricao, Amostrador amostrador) {
+    this.descricao = descricao;
+    this.amostrador = amostrador;
+  }
+
+  static LatencyProfile parse(String especificacao) {
+    String[] partes = especificacao.trim().toLowerCase(Locale.ROOT).split(":");
+    switch (partes[0]) {
+      case "fixa" -> {
+        exigirPartes(especificacao, partes, 2);
+        long nanos = nanos(partes[1]);
+        return new LatencyProfile(especificacao, random -> nanos);
+      }
+      case "uniforme" -> {
+        exigirPartes(especificacao, partes, 3);
+        long minimo = nanos(partes[1]);
+        long maximo = nanos(partes[2]);
+        return new LatencyProfile(especificacao, random -> minimo + (long) (random.nextDouble() * (maximo - minimo)));
+      }
+      case "lognormal" -> {
+        exigirPartes(especificacao, partes, 3);
+        double mu = Math.log(nanos(partes[1]));
+        double sigma = (Math.log(nanos(partes[2])) - mu) / Z_99;
+        return new LatencyProfile(especificacao, random -> (long) Math.exp(mu + sigma * random.nextGaussian()));
+      }
+      default -> throw new IllegalArgumentException("Perfil de latência desconhecido: " + especificacao);
+    }
+  }
+
+  long amostrarNanos(Random random) {
+    return amostrador.amostrar(random);
+  }
+
+  @Override
+  public String toString() {
+    return descricao;
+  }
+
+  private static void exigirPartes(String especificacao, String[] partes, int quantidade) {
+    if (partes.length != quantidade) {
+      throw new IllegalArgumentException("Perfil de latência inválido: " + especificacao);
+    }
+  }
+
+  static long nanos(String duracao) {
+    String valor = duracao.trim().toLowerCase(Locale.ROOT);
+    if (valor.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(valor.substring(0, valor.length() - 2))).toNanos();
+    }
+    if (valor.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(valor.substring(0, valor.length() - 1))).toNanos();
+    }
+    throw new IllegalArgumentException("Duração sem unidade (ms ou s): " + duracao);
+  }
+
+  @FunctionalInterface
+  private interface Amostrador {
+    long amostrar(Random random);
+  }
+}
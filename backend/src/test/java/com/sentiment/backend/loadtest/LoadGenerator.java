@@ -0,0 +1,200 @@
+package com.sentiment.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Gerador de carga HTTP em dois modos:
+ * <ul>
+ *   <li>{@link Modo#FECHADO}: {@code concorrencia} clientes, cada um enviando a
+ *   próxima requisição assim que recebe a resposta. Mede a vazão máxima, mas
+ *   esconde filas: quando o servidor trava, os clientes também param.</li>
+ *   <li>{@link Modo#ABERTO}: requisições chegam a uma taxa fixa,
+ *   independentemente das respostas, e a latência é contada a partir do
+ *   instante em que a requisição deveria ter saído, não de quando saiu (sem
+ *   omissão coordenada).</li>
+ * </ul>
+ * As latências do período de aquecimento são descartadas; as demais vão para
+ * um histograma HdrHistogram em microssegundos.
+ */
+final class LoadGenerator {
+
+  /** Status registrado quando não há resposta HTTP (timeout, conexão recusada). */
+  static final int SEM_RESPOSTA = 0;
+
+  enum Modo {
+    FECHADO,
+    ABERTO
+  }
+
+  record Configuracao(URI alvo, Modo modo, int concorrencia, double taxa,
+                      Duration aquecimento, Duration duracao, int maxEmVoo, Duration timeout) {
+  }
+
+  record Resultado(Histogram latencias, long enviadas, long descartadas, Duration periodo,
+                   Map<Integer, Long> porStatus, Map<String, Long> porMotor) {
+
+    double vazao() {
+      return enviadas / (periodo.toNanos() / 1e9);
+    }
+
+    long sucessos() {
+      return porStatus.getOrDefault(200, 0L);
+    }
+  }
+
+  private final Configuracao configuracao;
+  private final LongFunction<byte[]> corpos;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final Recorder recorder = new Recorder(3);
+  private final AtomicLong sequencia = new AtomicLong();
+  private final LongAdder enviadas = new LongAdder();
+  private final LongAdder descartadas = new LongAdder();
+  private final ConcurrentMap<Integer, LongAdder> porStatus = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> porMotor = new ConcurrentHashMap<>();
+
+  /**
+   * @param corpos corpo JSON da n-ésima requisição; é chamado uma vez por
+   *               requisição, com {@code n} crescente a partir de zero
+   */
+  LoadGenerator(Configuracao configuracao, LongFunction<byte[]> corpos) {
+    this.configuracao = configuracao;
+    this.corpos = corpos;
+  }
+
+  Resultado executar() {
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+         HttpClient cliente = HttpClient.newBuilder()
+             .version(HttpClient.Version.HTTP_1_1)
+             .connectTimeout(configuracao.timeout())
+             .build()) {
+      // O relógio começa depois de criar o cliente, que leva centenas de ms
+      // na primeira vez (inicialização do TLS).
+      long inicio = System.nanoTime();
+      long inicioMedicao = inicio + configuracao.aquecimento().toNanos();
+      long fim = inicioMedicao + configuracao.duracao().toNanos();
+
+      if (configuracao.modo() == Modo.FECHADO) {
+        executarFechado(cliente, threads, inicioMedicao, fim);
+      } else {
+        executarAberto(cliente, threads, inicio, inicioMedicao, fim);
+      }
+      threads.shutdown();
+      threads.awaitTermination(configuracao.timeout().toNanos() * 2, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return new Resultado(recorder.getIntervalHistogram(), enviadas.sum(), descartadas.sum(),
+        configuracao.duracao(), fotografar(porStatus), fotografar(porMotor));
+  }
+
+  private void executarFechado(HttpClient cliente, ExecutorService threads, long inicioMedicao, long fim)
+      throws InterruptedException {
+    for (int i = 0; i < configuracao.concorrencia(); i++) {
+      threads.submit(() -> {
+        long agora;
+        while ((agora = System.nanoTime()) < fim) {
+          enviar(cliente, agora, inicioMedicao);
+        }
+      });
+    }
+    TimeUnit.NANOSECONDS.sleep(Math.max(0, fim - System.nanoTime()));
+  }
+
+  private void executarAberto(HttpClient cliente, ExecutorService threads, long inicio, long inicioMedicao, long fim) {
+    long intervalo = Math.max(1, (long) (1e9 / configuracao.taxa()));
+    AtomicInteger emVoo = new AtomicInteger();
+
+    for (long i = 0; ; i++) {
+      long previsto = inicio + i * intervalo;
+      if (previsto >= fim) {
+        break;
+      }
+      long espera = previsto - System.nanoTime();
+      if (espera > 0) {
+        LockSupport.parkNanos(espera);
+      }
+
+      // Um servidor travado acumularia threads sem limite; acima do teto a
+      // chegada é contada como descartada em vez de enviada.
+      if (emVoo.get() >= configuracao.maxEmVoo()) {
+        if (previsto >= inicioMedicao) {
+          descartadas.increment();
+        }
+        continue;
+      }
+
+      emVoo.incrementAndGet();
+      threads.submit(() -> {
+        try {
+          enviar(cliente, previsto, inicioMedicao);
+        } finally {
+          emVoo.decrementAndGet();
+        }
+      });
+    }
+  }
+
+  private void enviar(HttpClient cliente, long inicioPrevisto, long inicioMedicao) {
+    HttpRequest requisicao = HttpRequest.newBuilder(configuracao.alvo())
+        .timeout(configuracao.timeout())
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(corpos.apply(sequencia.getAndIncrement())))
+        .build();
+
+    int status;
+    String motor = null;
+    try {
+      HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+      status = resposta.statusCode();
+      if (status == 200) {
+        motor = mapper.readTree(resposta.body()).path("engine").asText(null);
+      }
+    } catch (IOException e) {
+      status = SEM_RESPOSTA;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    long fim = System.nanoTime();
+    if (inicioPrevisto < inicioMedicao) {
+      return;
+    }
+
+    recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(fim - inicioPrevisto)));
+    enviadas.increment();
+    porStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+    if (motor != null) {
+      porMotor.computeIfAbsent(motor, m -> new LongAdder()).increment();
+    }
+  }
+
+  private static <K> Map<K, Long> fotografar(ConcurrentMap<K, LongAdder> contadores) {
+    Map<K, Long> fotografia = new TreeMap<>();
+    contadores.forEach((chave, contador) -> fotografia.put(chave, contador.sum()));
+    return fotografia;
+  }
+}
@@ -0,0 +1,67 @@
+package com.sentiment.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private static final byte[] CORPO = "{\"texto\":\"produto excelente\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void deveMedirLatenciaDoStubNoModoFechado() throws Exception {
+        try (StubModelServer stub = new StubModelServer(LatencyProfile.parse("fixa:20ms"), 0, 0, 0)) {
+            LoadGenerator.Resultado resultado = executar(stub, LoadGenerator.Modo.FECHADO);
+
+            assertTrue(resultado.enviadas() > 0);
+            assertEquals(resultado.enviadas(), resultado.sucessos());
+            assertTrue(resultado.latencias().getValueAtPercentile(50) >= 20_000);
+        }
+    }
+
+    @Test
+    void deveContarErrosDoStubNoModoAberto() throws Exception {
+        try (StubModelServer stub = new StubModelServer(LatencyProfile.parse("fixa:1ms"), 1.0, 0, 0)) {
+            LoadGenerator.Resultado resultado = executar(stub, LoadGenerator.Modo.ABERTO);
+
+            assertTrue(resultado.enviadas() > 0);
+            assertEquals(resultado.enviadas(), resultado.porStatus().get(500));
+            assertEquals(0, resultado.sucessos());
+        }
+    }
+
+    @Test
+    void deveSortearLatenciasDoPerfil() {
+        Random random = new Random(42);
+
+        assertEquals(Duration.ofMillis(50).toNanos(), LatencyProfile.parse("fixa:50ms").amostrarNanos(random));
+
+        LatencyProfile uniforme = LatencyProfile.parse("uniforme:10ms:20ms");
+        LatencyProfile lognormal = LatencyProfile.parse("lognormal:10ms:100ms");
+        int acimaDaMediana = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long amostra = uniforme.amostrarNanos(random);
+            assertTrue(amostra >= 10_000_000 && amostra < 20_000_000);
+            if (lognormal.amostrarNanos(random) > 10_000_000) {
+                acimaDaMediana++;
+            }
+        }
+        assertTrue(acimaDaMediana > 4_500 && acimaDaMediana < 5_500);
+
+        assertThrows(IllegalArgumentException.class, () -> LatencyProfile.parse("normal:10ms"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyProfile.parse("fixa:10"));
+    }
+
+    private LoadGenerator.Resultado executar(StubModelServer stub, LoadGenerator.Modo modo) {
+        LoadGenerator.Configuracao configuracao = new LoadGenerator.Configuracao(
+            URI.create(stub.baseUrl() + "/predict"), modo, 4, 100,
+            Duration.ZERO, Duration.ofSeconds(1), 1_000, Duration.ofSeconds(5));
+
+        return new LoadGenerator(configuracao, n -> CORPO).executar();
+    }
+}
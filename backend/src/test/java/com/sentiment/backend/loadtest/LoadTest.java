@@ -0,0 +1,246 @@
+package com.sentiment.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.BackendApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Teste de carga de ponta a ponta: sobe o stub do modelo, sobe o backend no
+ * mesmo processo apontando para ele (ou usa um backend já rodando, com
+ * {@code --alvo}) e envia {@code POST /sentiment} com os títulos e descrições
+ * de {@code requests.jsonl}. Metade das requisições leva rating e
+ * recomendação, para exercitar também {@code /predict/auto}.
+ *
+ * <p>Opções (todas {@code --nome=valor}): {@code modo} (fechado|aberto),
+ * {@code concorrencia}, {@code taxa} (req/s no modo aberto), {@code duracao},
+ * {@code aquecimento}, {@code latencia} (perfil do stub, ver
+ * {@link LatencyProfile}), {@code erros} e {@code timeouts} (frações de 0 a
+ * 1), {@code textos-unicos} (acrescenta uma referência única a cada texto
+ * para não acertar o cache de análises), {@code threads-virtuais} (sobe o
+ * backend com {@code spring.threads.virtual.enabled}), {@code alvo} e
+ * {@code saida} (arquivo {@code .hgrm}). Opções {@code backend.<propriedade>}
+ * são repassadas ao backend, ex.: {@code --backend.model-service.max-connections=2000}.
+ */
+public final class LoadTest {
+
+  // Roda a partir de backend/ (exec-maven-plugin).
+  private static final Path BACKLOG = Path.of("..", "requests.jsonl");
+  private static final int TAMANHO_MAXIMO = 5000;
+
+  private static final List<String> FRASES = List.of(
+      "A entrega atrasou mais de uma semana e a transportadora não respondeu.",
+      "O produto chegou com a embalagem rasgada, mas a qualidade do material é excelente.",
+      "Atendimento péssimo, o suporte demorou para responder e a ligação caiu duas vezes.",
+      "Preço justo, pagamento pelo boleto foi rápido e recebi o desconto prometido.",
+      "Gostei bastante, recomendo para todos os meus amigos!",
+      "Nada de especial, o produto funciona como descrito.");
+
+  private static final Map<String, String> PADROES = Map.ofEntries(
+      Map.entry("modo", "fechado"),
+      Map.entry("concorrencia", "32"),
+      Map.entry("taxa", "500"),
+      Map.entry("duracao", "30s"),
+      Map.entry("aquecimento", "10s"),
+      Map.entry("latencia", "lognormal:40ms:250ms"),
+      Map.entry("erros", "0.01"),
+      Map.entry("timeouts", "0"),
+      Map.entry("textos-unicos", "true"),
+      Map.entry("threads-virtuais", "false"),
+      Map.entry("saida", "target/loadtest.hgrm"));
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> opcoes = lerOpcoes(args);
+    LoadGenerator.Modo modo = LoadGenerator.Modo.valueOf(opcoes.get("modo").toUpperCase(Locale.ROOT));
+    LatencyProfile latencia = LatencyProfile.parse(opcoes.get("latencia"));
+    double erros = Double.parseDouble(opcoes.get("erros"));
+    double timeouts = Double.parseDouble(opcoes.get("timeouts"));
+    Duration timeoutCliente = Duration.ofSeconds(30);
+
+    List<String> textos = carregarTextos();
+    boolean textosUnicos = Boolean.parseBoolean(opcoes.get("textos-unicos"));
+    ObjectMapper mapper = new ObjectMapper();
+
+    StubModelServer stub = null;
+    ConfigurableApplicationContext backend = null;
+    try {
+      String alvo = opcoes.get("alvo");
+      if (alvo == null) {
+        // O atraso de um "timeout" passa do read-timeout padrão do backend (2s).
+        stub = new StubModelServer(latencia, erros, timeouts, Duration.ofSeconds(3).toNanos());
+        // Como argumentos de linha de comando, para valerem mais que o application.yml.
+        backend = new SpringApplicationBuilder(BackendApplication.class).run(argumentosDoBackend(opcoes, stub));
+        alvo = "http://127.0.0.1:" + ((WebServerApplicationContext) backend).getWebServer().getPort();
+      }
+
+      LoadGenerator.Configuracao configuracao = new LoadGenerator.Configuracao(
+          URI.create(alvo + "/sentiment"),
+          modo,
+          Integer.parseInt(opcoes.get("concorrencia")),
+          Double.parseDouble(opcoes.get("taxa")),
+          Duration.ofNanos(LatencyProfile.nanos(opcoes.get("aquecimento"))),
+          Duration.ofNanos(LatencyProfile.nanos(opcoes.get("duracao"))),
+          10_000,
+          timeoutCliente);
+
+      System.out.printf("Carga %s contra %s (%s), stub: %s, erros %.3f, timeouts %.3f, %d textos%n",
+          modo, alvo, modo == LoadGenerator.Modo.FECHADO
+              ? configuracao.concorrencia() + " clientes" : configuracao.taxa() + " req/s",
+          stub != null ? latencia : "externo", erros, timeouts, textos.size());
+
+      LoadGenerator.Resultado resultado = new LoadGenerator(configuracao,
+          n -> corpo(mapper, textos, n, textosUnicos)).executar();
+
+      relatar(resultado, stub, System.out);
+      gravarHistograma(resultado.latencias(), Path.of(opcoes.get("saida")));
+    } finally {
+      if (backend != null) {
+        backend.close();
+      }
+      if (stub != null) {
+        stub.close();
+      }
+    }
+  }
+
+  // Como argumentos de linha de comando, para valerem mais que o
+  // application.yml; --backend.x=y vira --x=y.
+  private static String[] argumentosDoBackend(Map<String, String> opcoes, StubModelServer stub) {
+    List<String> argumentos = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--model-service.base-url=" + stub.baseUrl(),
+        "--spring.threads.virtual.enabled=" + opcoes.get("threads-virtuais"),
+        "--spring.main.banner-mode=off",
+        "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.com.sentiment.backend=WARN",
+        "--logging.level.org.hibernate.SQL=WARN"));
+    opcoes.forEach((nome, valor) -> {
+      if (nome.startsWith("backend.")) {
+        argumentos.add("--" + nome.substring("backend.".length()) + "=" + valor);
+      }
+    });
+    return argumentos.toArray(String[]::new);
+  }
+
+  static void relatar(LoadGenerator.Resultado resultado, StubModelServer stub, PrintStream saida) {
+    Histogram latencias = resultado.latencias();
+    saida.printf("%nRequisições medidas: %d em %s (%.1f req/s)%n",
+        resultado.enviadas(), resultado.periodo(), resultado.vazao());
+    if (resultado.descartadas() > 0) {
+      saida.printf("Chegadas descartadas (muitas em voo): %d%n", resultado.descartadas());
+    }
+    saida.printf("Latência (ms): p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  máx %.2f%n",
+        ms(latencias, 50), ms(latencias, 90), ms(latencias, 99), ms(latencias, 99.9),
+        latencias.getMaxValue() / 1000.0);
+    saida.printf("Status: %s%n", resultado.porStatus());
+    saida.printf("Motor: %s%n", resultado.porMotor());
+    if (stub != null) {
+      saida.printf("Stub: %d respostas (%d lotes), %d erros 500, %d lentas%n", stub.respondidas(), stub.lotes(), stub.erros(),
+          stub.lentas());
+    }
+  }
+
+  private static double ms(Histogram latencias, double percentil) {
+    return latencias.getValueAtPercentile(percentil) / 1000.0;
+  }
+
+  private static void gravarHistograma(Histogram latencias, Path arquivo) throws IOException {
+    if (arquivo.getParent() != null) {
+      Files.createDirectories(arquivo.getParent());
+    }
+    try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo))) {
+      latencias.outputPercentileDistribution(saida, 1000.0);
+    }
+    System.out.printf("Distribuição completa (ms) em %s%n", arquivo);
+  }
+
+  private static byte[] corpo(ObjectMapper mapper, List<String> textos, long n, boolean textosUnicos) {
+    String texto = textos.get((int) (n % textos.size()));
+    if (textosUnicos) {
+      String sufixo = " ref " + letras(n);
+      texto = texto.substring(0, Math.min(texto.length(), TAMANHO_MAXIMO - sufixo.length())) + sufixo;
+    }
+
+    Map<String, Object> requisicao = new HashMap<>();
+    requisicao.put("text", texto);
+    if (n % 2 == 1) {
+      requisicao.put("rating", (int) (n % 5) + 1);
+      requisicao.put("recommendToFriend", n % 3 != 0);
+    }
+
+    try {
+      return mapper.writeValueAsBytes(requisicao);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // A chave do cache só considera letras, então o número vai em base 26.
+  private static String letras(long n) {
+    StringBuilder letras = new StringBuilder();
+    do {
+      letras.append((char) ('a' + n % 26));
+      n /= 26;
+    } while (n > 0);
+    return letras.toString();
+  }
+
+  private static List<String> carregarTextos() throws IOException {
+    if (!Files.exists(BACKLOG)) {
+      return FRASES;
+    }
+
+    ObjectMapper mapper = new ObjectMapper();
+    List<String> textos = new ArrayList<>();
+    for (String linha : Files.readAllLines(BACKLOG)) {
+      if (!linha.isBlank()) {
+        JsonNode request = mapper.readTree(linha);
+        adicionar(textos, request.path("title").asText());
+        adicionar(textos, request.path("body").asText());
+      }
+    }
+    return textos.isEmpty() ? FRASES : textos;
+  }
+
+  private static void adicionar(List<String> textos, String texto) {
+    if (texto.length() >= 4) {
+      textos.add(texto.length() > TAMANHO_MAXIMO ? texto.substring(0, TAMANHO_MAXIMO) : texto);
+    }
+  }
+
+  private static Map<String, String> lerOpcoes(String[] args) {
+    Map<String, String> opcoes = new LinkedHashMap<>(PADROES);
+    for (String arg : args) {
+      if (arg.isBlank()) {
+        continue;
+      }
+      int igual = arg.indexOf('=');
+      if (!arg.startsWith("--") || igual < 0) {
+        throw new IllegalArgumentException("Opção inválida (use --nome=valor): " + arg);
+      }
+      opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+    }
+    return opcoes;
+  }
+}
@@ -0,0 +1,151 @@
+package com.sentiment.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stub local de {@code /predict}, {@code /predict/auto} e
+ * {@code /predict/batch} da API Python, com
+ * latência sorteada de um {@link LatencyProfile}, uma fração de respostas
+ * 500 e uma fração de respostas que demoram mais que o timeout de leitura
+ * do backend. Cada requisição roda em uma virtual thread, então a espera não
+ * limita a vazão do stub. Um lote custa uma amostra de latência, como uma
+ * chamada individual.
+ */
+final class StubModelServer implements AutoCloseable {
+
+  private static final String[] PREVISOES = { "Positivo", "Neutro", "Negativo" };
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  static {
+    // Sem TCP_NODELAY, o servidor do JDK envia cabeçalhos e corpo em
+    // segmentos separados e o ACK atrasado soma ~40ms a cada resposta.
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private final HttpServer servidor;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final LatencyProfile latencia;
+  private final double taxaErros;
+  private final double taxaTimeouts;
+  private final long atrasoTimeoutNanos;
+
+  private final LongAdder respondidas = new LongAdder();
+  private final LongAdder lotes = new LongAdder();
+  private final LongAdder erros = new LongAdder();
+  private final LongAdder lentas = new LongAdder();
+
+  StubModelServer(LatencyProfile latencia, double taxaErros, double taxaTimeouts, long atrasoTimeoutNanos) throws IOException {
+    this.latencia = latencia;
+    this.taxaErros = taxaErros;
+    this.taxaTimeouts = taxaTimeouts;
+    this.atrasoTimeoutNanos = atrasoTimeoutNanos;
+
+    this.servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    servidor.setExecutor(executor);
+    servidor.createContext("/predict", this::responder);
+    servidor.start();
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + servidor.getAddress().getPort();
+  }
+
+  long respondidas() {
+    return respondidas.sum();
+  }
+
+  long lotes() {
+    return lotes.sum();
+  }
+
+  long erros() {
+    return erros.sum();
+  }
+
+  long lentas() {
+    return lentas.sum();
+  }
+
+  @Override
+  public void close() {
+    servidor.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void responder(HttpExchange troca) throws IOException {
+    try (troca) {
+      byte[] corpo;
+      try (InputStream entrada = troca.getRequestBody()) {
+        corpo = entrada.readAllBytes();
+      }
+
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      double sorteio = random.nextDouble();
+      if (sorteio < taxaErros) {
+        erros.increment();
+        enviar(troca, 500, "{\"detail\":\"erro simulado\"}");
+        return;
+      }
+
+      if (sorteio < taxaErros + taxaTimeouts) {
+        lentas.increment();
+        TimeUnit.NANOSECONDS.sleep(atrasoTimeoutNanos);
+      } else {
+        TimeUnit.NANOSECONDS.sleep(latencia.amostrarNanos(random));
+      }
+
+      if (troca.getRequestURI().getPath().endsWith("/batch")) {
+        JsonNode itens = MAPPER.readTree(corpo).path("itens");
+        StringJoiner resultados = new StringJoiner(",", "{\"resultados\":[", "]}");
+        for (JsonNode item : itens) {
+          resultados.add(resultado(MAPPER.writeValueAsBytes(item)));
+        }
+        enviar(troca, 200, resultados.toString());
+        respondidas.add(itens.size());
+        lotes.increment();
+        return;
+      }
+
+      enviar(troca, 200, resultado(corpo));
+      respondidas.increment();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // A previsão depende só do corpo do item, como no modelo real: o mesmo
+  // texto recebe sempre a mesma resposta, sozinho ou em lote.
+  private static String resultado(byte[] item) {
+    int hash = Arrays.hashCode(item);
+    String previsao = PREVISOES[Math.floorMod(hash, PREVISOES.length)];
+    double probabilidade = 0.6 + Math.floorMod(hash >>> 8, 40) / 100.0;
+    return String.format(Locale.ROOT,
+        "{\"previsao\":\"%s\",\"probabilidade\":%.2f,\"modelo_usado\":\"stub\"}", previsao, probabilidade);
+  }
+
+  private static void enviar(HttpExchange troca, int status, String json) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    troca.getResponseHeaders().set("Content-Type", "application/json");
+    troca.sendResponseHeaders(status, bytes.length);
+    try (OutputStream saida = troca.getResponseBody()) {
+      saida.write(bytes);
+    }
+  }
+}
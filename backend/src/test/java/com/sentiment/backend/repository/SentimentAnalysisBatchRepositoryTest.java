@@ -0,0 +1,68 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SentimentAnalysisBatchRepository.class)
+class SentimentAnalysisBatchRepositoryTest {
+
+    @Autowired
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveAssociarCadaTagAoIdGeradoDaSuaAnalise() {
+        List<SentimentAnalysis> analises = new ArrayList<>(List.of(
+            analise("entrega atrasada", List.of("entrega", "atraso")),
+            analise("sem tags", List.of()),
+            analise("cobrança indevida", List.of("cobrança")),
+            analise("tags nulas", null)));
+
+        batchRepository.salvarTodos(analises);
+
+        assertEquals(4, analises.stream().map(SentimentAnalysis::getId).distinct().count());
+        for (SentimentAnalysis analise : analises) {
+            assertNotNull(analise.getCreatedAt());
+            assertEquals(analise.getText(), jdbcTemplate.queryForObject(
+                "SELECT text FROM sentiment_analysis WHERE id = ?", String.class, analise.getId()));
+            List<String> tags = jdbcTemplate.queryForList(
+                "SELECT tag FROM sentiment_tags WHERE analysis_id = ? ORDER BY tag", String.class, analise.getId());
+            List<String> esperadas = analise.getTags() == null ? List.of() : analise.getTags().stream().sorted().toList();
+            assertEquals(esperadas, tags);
+        }
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_tags", Long.class));
+    }
+
+    @Test
+    void deveIgnorarListaVazia() {
+        batchRepository.salvarTodos(List.of());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_analysis", Long.class));
+    }
+
+    private SentimentAnalysis analise(String texto, List<String> tags) {
+        return SentimentAnalysis.builder()
+            .text(texto)
+            .prediction(SentimentType.NEGATIVO)
+            .confidence(0.8)
+            .setor("GERAL")
+            .prioridade("ALTA")
+            .tags(tags)
+            .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.dto.SentimentHistoryFilter;
+import com.sentiment.backend.dto.SentimentHistoryItem;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ SentimentHistoryRepository.class, SentimentAnalysisBatchRepository.class })
+class SentimentHistoryRepositoryTest {
+
+    private static final SentimentHistoryFilter SEM_FILTRO = new SentimentHistoryFilter(null, null, null, null, null);
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Autowired
+    private SentimentHistoryRepository historyRepository;
+
+    @Autowired
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Duas análises no mesmo instante para exercitar o desempate por id.
+        batchRepository.salvarTodos(new ArrayList<>(List.of(
+            analise("primeira", SentimentType.POSITIVO, "GERAL", BASE, List.of()),
+            analise("segunda", SentimentType.NEGATIVO, "LOGÍSTICA", BASE.plusMinutes(1), List.of("atraso", "entrega")),
+            analise("terceira", SentimentType.NEGATIVO, "FINANCEIRO", BASE.plusMinutes(1), List.of("estorno")),
+            analise("quarta", SentimentType.NEUTRO, "GERAL", BASE.plusMinutes(2), List.of()),
+            analise("quinta", SentimentType.NEGATIVO, "LOGÍSTICA", BASE.plusMinutes(3), List.of("atraso")))));
+    }
+
+    @Test
+    void devePaginarPorSeekSemRepetirNemPularAnalises() {
+        List<String> textos = new ArrayList<>();
+        HistoryCursor cursor = null;
+        int paginas = 0;
+
+        do {
+            List<SentimentHistoryItem> pagina = historyRepository.buscarPagina(SEM_FILTRO, cursor, 2);
+            pagina.forEach(item -> textos.add(item.getTexto()));
+            paginas++;
+
+            SentimentHistoryItem ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+            cursor = pagina.size() < 2 ? null
+                : HistoryCursor.decodificar(new HistoryCursor(ultimo.getCriadoEm(), ultimo.getId()).codificar());
+        } while (cursor != null);
+
+        assertEquals(List.of("quinta", "quarta", "terceira", "segunda", "primeira"), textos);
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    void deveFiltrarECarregarTagsDaPagina() {
+        SentimentHistoryFilter filtro = new SentimentHistoryFilter(
+            SentimentType.NEGATIVO, "LOGÍSTICA", null, BASE, BASE.plusMinutes(3));
+
+        List<SentimentHistoryItem> itens = historyRepository.buscarPagina(filtro, null, 10);
+
+        assertEquals(1, itens.size());
+        assertEquals("segunda", itens.get(0).getTexto());
+        assertEquals(List.of("atraso", "entrega"), itens.get(0).getTags().stream().sorted().toList());
+    }
+
+    @Test
+    void devePercorrerTudoAgrupandoTagsPorAnalise() {
+        List<SentimentHistoryItem> itens = new ArrayList<>();
+
+        historyRepository.percorrer(SEM_FILTRO, 2, itens::add);
+
+        assertEquals(5, itens.size());
+        assertEquals("quinta", itens.get(0).getTexto());
+        assertEquals(List.of("atraso"), itens.get(0).getTags());
+        assertEquals(2, itens.stream().filter(item -> item.getTexto().equals("segunda")).findFirst().orElseThrow().getTags().size());
+        assertTrue(itens.get(4).getTags().isEmpty());
+    }
+
+    @Test
+    void deveRecusarCursorInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decodificar("não é um cursor"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decodificar("c2VtLXNlcGFyYWRvcg"));
+    }
+
+    private SentimentAnalysis analise(String texto, SentimentType tipo, String setor, LocalDateTime criadaEm, List<String> tags) {
+        return SentimentAnalysis.builder()
+            .text(texto)
+            .prediction(tipo)
+            .confidence(0.8)
+            .setor(setor)
+            .prioridade("BAIXA")
+            .tags(tags)
+            .createdAt(criadaEm)
+            .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentPurgeRepository.Contagem;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ SentimentPurgeRepository.class, SentimentAnalysisBatchRepository.class })
+class SentimentPurgeRepositoryTest {
+
+    private static final LocalDateTime CORTE = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    @Autowired
+    private SentimentPurgeRepository purgeRepository;
+
+    @Autowired
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveApagarSoAsAnalisesAntigasDaFaixaComSuasTags() {
+        List<SentimentAnalysis> analises = new ArrayList<>(List.of(
+            analise(SentimentType.NEGATIVO, CORTE.minusDays(10), List.of("atraso", "entrega")),
+            analise(SentimentType.NEGATIVO, CORTE.minusDays(5), List.of("atraso")),
+            analise(SentimentType.POSITIVO, CORTE.minusDays(1), List.of()),
+            analise(SentimentType.POSITIVO, CORTE.plusDays(1), List.of("elogio"))));
+        batchRepository.salvarTodos(analises);
+
+        FaixaIds faixa = purgeRepository.buscarFaixa(CORTE);
+        assertEquals(analises.get(0).getId(), faixa.primeiro());
+        assertEquals(analises.get(2).getId(), faixa.ultimo());
+
+        List<Contagem> contagens = purgeRepository.apagarFaixa(faixa.primeiro(), faixa.primeiro() + 1, CORTE);
+
+        assertEquals(List.of(new Contagem(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", 2)), contagens);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_analysis", Long.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_tags", Long.class));
+        assertNull(purgeRepository.buscarFaixa(CORTE.minusDays(2)));
+    }
+
+    private SentimentAnalysis analise(SentimentType tipo, LocalDateTime criadaEm, List<String> tags) {
+        return SentimentAnalysis.builder()
+            .text("texto")
+            .prediction(tipo)
+            .confidence(0.8)
+            .setor(tipo == SentimentType.NEGATIVO ? "LOGÍSTICA" : "GERAL")
+            .prioridade(tipo == SentimentType.NEGATIVO ? "ALTA" : "BAIXA")
+            .tags(tags)
+            .createdAt(criadaEm)
+            .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sentiment.backend.repository;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ SentimentRescoreRepository.class, SentimentAnalysisBatchRepository.class })
+class SentimentRescoreRepositoryTest {
+
+    @Autowired
+    private SentimentRescoreRepository rescoreRepository;
+
+    @Autowired
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveLerAFaixaComTagsERegravarSoAsLinhasQueExistem() {
+        assertNull(rescoreRepository.buscarFaixa());
+
+        List<SentimentAnalysis> analises = new ArrayList<>(List.of(
+            analise(List.of("atraso", "entrega")),
+            analise(List.of()),
+            analise(List.of("elogio"))));
+        batchRepository.salvarTodos(analises);
+        long primeiro = analises.get(0).getId();
+
+        FaixaIds faixa = rescoreRepository.buscarFaixa();
+        assertEquals(primeiro, faixa.primeiro());
+        assertEquals(analises.get(2).getId(), faixa.ultimo());
+
+        List<SentimentAnalysis> lidas = rescoreRepository.buscarFaixa(primeiro, primeiro + 1);
+        assertEquals(2, lidas.size());
+        assertEquals(List.of("atraso", "entrega"), lidas.get(0).getTags().stream().sorted().toList());
+        assertEquals(List.of(), lidas.get(1).getTags());
+
+        SentimentAnalysis reavaliada = lidas.get(0);
+        reavaliada.setSetor("ATENDIMENTO");
+        reavaliada.setPrioridade("CRÍTICA");
+        reavaliada.setTags(List.of("procon"));
+        SentimentAnalysis apagada = analise(List.of("x"));
+        apagada.setId(faixa.ultimo() + 100);
+
+        boolean[] gravadas = rescoreRepository.atualizarTodas(List.of(reavaliada, apagada));
+
+        assertArrayEquals(new boolean[] { true, false }, gravadas);
+        assertEquals("ATENDIMENTO", jdbcTemplate.queryForObject(
+            "SELECT setor FROM sentiment_analysis WHERE id = ?", String.class, primeiro));
+        assertEquals(List.of("procon"), jdbcTemplate.queryForList(
+            "SELECT tag FROM sentiment_tags WHERE analysis_id = ?", String.class, primeiro));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_tags", Long.class));
+    }
+
+    private SentimentAnalysis analise(List<String> tags) {
+        return SentimentAnalysis.builder()
+            .text("texto")
+            .prediction(SentimentType.NEGATIVO)
+            .confidence(0.8)
+            .setor("LOGÍSTICA")
+            .prioridade("ALTA")
+            .tags(tags)
+            .createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.AnalysisCacheProperties;
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
+import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.TextNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final AnalysisCache cache = new AnalysisCache(new AnalysisCacheProperties(), meterRegistry);
+
+    @Test
+    void deveUsarMesmaChaveParaTextosComMesmaNormalizacao() {
+        assertEquals(
+            chave("Péssimo atendimento!!!", 1, false),
+            chave("  pessimo   ATENDIMENTO ", 1, false));
+    }
+
+    @Test
+    void deveDiferenciarChavesPorTextoRatingERecomendacao() {
+        AnalysisKey base = chave("Entrega atrasada", 2, false);
+
+        assertNotEquals(base, chave("Entrega atrasado", 2, false));
+        assertNotEquals(base, chave("Entrega atrasada", 3, false));
+        assertNotEquals(base, chave("Entrega atrasada", 2, true));
+        assertNotEquals(base, chave("Entrega atrasada", null, null));
+    }
+
+    @Test
+    void deveDescartarRespostasQuandoRegrasMudam() {
+        AnalysisKey chave = chave("Produto ótimo", null, null);
+        SentimentResponse response = SentimentResponse.builder().previsao(SentimentType.POSITIVO).build();
+
+        cache.guardar(chave, cache.versao(), response);
+        assertEquals(response, cache.buscar(chave));
+
+        cache.aoAlterarRegras(new BusinessRulesChangedEvent("teste"));
+
+        assertNull(cache.buscar(chave));
+    }
+
+    @Test
+    void deveDescartarRespostaMontadaComRegrasAnteriores() {
+        AnalysisKey chave = chave("Produto ótimo", null, null);
+        long versao = cache.versao();
+
+        // As regras mudam enquanto a resposta é montada.
+        cache.aoAlterarRegras(new BusinessRulesChangedEvent("teste"));
+        cache.guardar(chave, versao, SentimentResponse.builder().previsao(SentimentType.POSITIVO).build());
+
+        assertNull(cache.buscar(chave));
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void deveEntregarUmaCopiaIndependenteACadaChamador() {
+        AnalysisKey chave = chave("Entrega atrasada", null, null);
+        SentimentResponse response = SentimentResponse.builder()
+            .previsao(SentimentType.NEGATIVO)
+            .setor("LOGISTICA")
+            .tags(new ArrayList<>(List.of("entrega")))
+            .build();
+        cache.guardar(chave, cache.versao(), response);
+
+        // Nem quem montou a resposta nem quem a recebeu do cache alteram a entrada.
+        response.getTags().add("depois");
+        SentimentResponse primeira = cache.buscar(chave);
+        primeira.setSetor("GERAL");
+        primeira.getTags().clear();
+
+        SentimentResponse segunda = cache.buscar(chave);
+        assertNotSame(primeira, segunda);
+        assertEquals("LOGISTICA", segunda.getSetor());
+        assertEquals(List.of("entrega"), segunda.getTags());
+    }
+
+    @Test
+    void deveExporAcertosEFalhasNoMeterRegistry() {
+        AnalysisKey chave = chave("Produto ótimo", null, null);
+        cache.buscar(chave);
+        cache.guardar(chave, cache.versao(), SentimentResponse.builder().build());
+        cache.buscar(chave);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    private AnalysisKey chave(String texto, Integer rating, Boolean recommendToFriend) {
+        return AnalysisKey.de(normalizer.normalize(texto), rating, recommendToFriend);
+    }
+}
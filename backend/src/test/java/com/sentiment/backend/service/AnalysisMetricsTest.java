@@ -0,0 +1,47 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.AnalysisMetricsProperties;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.SentimentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void deveMedirEtapasEContarResultados() {
+        AnalysisMetrics metrics = new AnalysisMetrics(new AnalysisMetricsProperties(), meterRegistry);
+
+        long inicio = metrics.iniciar();
+        metrics.registrar(AnalysisMetrics.Etapa.REGRAS_TEXTO, inicio);
+        metrics.contarResultado(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", AnalysisEngine.MODELO);
+        metrics.contarResultado(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", AnalysisEngine.MODELO);
+
+        assertEquals(1, meterRegistry.get("sentiment.analysis.stage").tag("stage", "rules.text").timer().count());
+        assertEquals(2.0, meterRegistry.get("sentiment.analysis.results")
+            .tag("sentiment", "negativo")
+            .tag("sector", "LOGÍSTICA")
+            .tag("priority", "ALTA")
+            .tag("engine", "modelo")
+            .counter().count());
+    }
+
+    @Test
+    void naoDeveRegistrarNadaQuandoDesligado() {
+        AnalysisMetricsProperties properties = new AnalysisMetricsProperties();
+        properties.setEnabled(false);
+        AnalysisMetrics metrics = new AnalysisMetrics(properties, meterRegistry);
+
+        long inicio = metrics.iniciar();
+        metrics.registrar(AnalysisMetrics.Etapa.PERSISTENCIA, inicio);
+        metrics.contarResultado(SentimentType.POSITIVO, null, "BAIXA", AnalysisEngine.LEXICO);
+
+        assertEquals(0L, inicio);
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}
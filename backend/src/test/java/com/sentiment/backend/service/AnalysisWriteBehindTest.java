@@ -0,0 +1,186 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.WriteBehindProperties;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentAnalysisBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisWriteBehindTest {
+
+    @Mock
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @Mock
+    private SentimentStatsStore statsStore;
+
+    @Mock
+    private TrendRollupStore trendStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WriteBehindProperties properties = new WriteBehindProperties();
+    private final List<List<SentimentAnalysis>> lotesGravados = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(3);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        properties.setOfferTimeout(Duration.ofMillis(10));
+    }
+
+    @Test
+    void deveGravarEmLotesEEsvaziarFilaAoParar() {
+        registrarLotesGravados(null);
+        AnalysisWriteBehind writeBehind = new AnalysisWriteBehind(batchRepository, statsStore, trendStore, properties, meterRegistry);
+        writeBehind.start();
+
+        for (int i = 0; i < 7; i++) {
+            writeBehind.enfileirar(analise());
+        }
+        writeBehind.stop();
+
+        assertEquals(0, writeBehind.pendentes());
+        assertEquals(7, lotesGravados.stream().mapToInt(List::size).sum());
+        assertTrue(lotesGravados.stream().allMatch(lote -> lote.size() <= 3));
+        assertEquals(lotesGravados.size(), meterRegistry.get("sentiment.persistence.flush").timer().count());
+    }
+
+    @Test
+    void deveGravarNaThreadDoChamadorQuandoFilaEstaCheia() throws InterruptedException {
+        properties.setQueueCapacity(1);
+        properties.setBatchSize(1);
+        CountDownLatch liberarEscritor = new CountDownLatch(1);
+        registrarLotesGravados(liberarEscritor);
+
+        AnalysisWriteBehind writeBehind = new AnalysisWriteBehind(batchRepository, statsStore, trendStore, properties, meterRegistry);
+        writeBehind.start();
+
+        writeBehind.enfileirar(analise());
+        aguardarAte(() -> writeBehind.pendentes() == 0);
+        writeBehind.enfileirar(analise());
+        writeBehind.enfileirar(analise());
+
+        assertEquals(1.0, meterRegistry.get("sentiment.persistence.caller_runs").counter().count());
+
+        liberarEscritor.countDown();
+        writeBehind.stop();
+
+        assertEquals(3, lotesGravados.stream().mapToInt(List::size).sum());
+        verify(statsStore, times(3)).registrarTodos(anyList());
+    }
+
+    @Test
+    void deveGravarNoStopOQueOEscritorNaoTerminouNoPrazo() throws InterruptedException {
+        properties.setBatchSize(1);
+        properties.setDrainTimeout(Duration.ofMillis(50));
+        CountDownLatch liberarEscritor = new CountDownLatch(1);
+        registrarLotesGravados(liberarEscritor);
+
+        AnalysisWriteBehind writeBehind = new AnalysisWriteBehind(batchRepository, statsStore, trendStore, properties, meterRegistry);
+        writeBehind.start();
+
+        writeBehind.enfileirar(analise());
+        aguardarAte(() -> writeBehind.pendentes() == 0);
+        for (int i = 0; i < 3; i++) {
+            writeBehind.enfileirar(analise());
+        }
+        writeBehind.stop();
+
+        assertEquals(0, writeBehind.pendentes());
+        assertEquals(3, lotesGravados.size());
+
+        liberarEscritor.countDown();
+        aguardarAte(() -> lotesGravados.size() == 4);
+        assertEquals(4, lotesGravados.size());
+    }
+
+    @Test
+    void deveGravarAnaliseQueEntraNaFilaDepoisDoStop() {
+        registrarLotesGravados(null);
+        AtomicReference<AnalysisWriteBehind> referencia = new AtomicReference<>();
+        // Reproduz o stop() acontecendo entre a checagem de executando e o
+        // offer: quando a análise entra, o escritor já saiu.
+        BlockingQueue<SentimentAnalysis> fila = new ArrayBlockingQueue<>(10) {
+            @Override
+            public boolean offer(SentimentAnalysis analise, long timeout, TimeUnit unidade) throws InterruptedException {
+                referencia.get().stop();
+                return super.offer(analise, timeout, unidade);
+            }
+        };
+        AnalysisWriteBehind writeBehind = new AnalysisWriteBehind(batchRepository, statsStore, trendStore, properties,
+            meterRegistry, fila);
+        referencia.set(writeBehind);
+        writeBehind.start();
+
+        SentimentAnalysis analise = analise();
+        writeBehind.enfileirar(analise);
+
+        assertEquals(0, writeBehind.pendentes());
+        assertEquals(List.of(List.of(analise)), lotesGravados);
+    }
+
+    @Test
+    void deveGravarNaHoraQuandoDesabilitado() {
+        properties.setEnabled(false);
+        registrarLotesGravados(null);
+        AnalysisWriteBehind writeBehind = new AnalysisWriteBehind(batchRepository, statsStore, trendStore, properties, meterRegistry);
+
+        SentimentAnalysis analise = analise();
+        writeBehind.enfileirar(analise);
+
+        assertEquals(List.of(List.of(analise)), lotesGravados);
+        assertNotNull(analise.getCreatedAt());
+    }
+
+    // O lote é reaproveitado pelo escritor, então guarda uma cópia. Se houver
+    // trava, só a thread do escritor espera por ela.
+    private void registrarLotesGravados(CountDownLatch travaEscritor) {
+        doAnswer(invocacao -> {
+            List<SentimentAnalysis> lote = invocacao.getArgument(0);
+            if (travaEscritor != null && Thread.currentThread().getName().equals("analysis-writer")) {
+                travaEscritor.await(5, TimeUnit.SECONDS);
+            }
+            lotesGravados.add(List.copyOf(lote));
+            return null;
+        }).when(batchRepository).salvarTodos(anyList());
+    }
+
+    private void aguardarAte(java.util.function.BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    private SentimentAnalysis analise() {
+        return SentimentAnalysis.builder()
+            .text("texto")
+            .prediction(SentimentType.NEUTRO)
+            .confidence(0.5)
+            .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
+import com.sentiment.backend.config.BusinessRulesProperties;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.TextNormalizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessRuleServiceTest {
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final List<Object> eventos = new ArrayList<>();
+    private BusinessRuleService service;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, BusinessRulesProperties.SectorConfig> setores = new LinkedHashMap<>();
+        setores.put("FINANCEIRO", setor("preço", "cartão", "123"));
+        setores.put("ATENDIMENTO", setor("ligação", "reclame aqui"));
+
+        Map<String, BusinessRulesProperties.ResponseTemplate> templates = new LinkedHashMap<>();
+        templates.put("GERAL", template("Obrigado!", "Recebemos.", "Sentimos muito."));
+        templates.put("FINANCEIRO", template(null, null, "Vamos revisar a cobrança."));
+
+        BusinessRulesProperties properties = new BusinessRulesProperties();
+        properties.setSectors(setores);
+        properties.setCriticalAlerts(List.of("justiça", "juridico"));
+        properties.setResponseTemplates(templates);
+
+        service = new BusinessRuleService(properties, normalizer, eventos::add);
+        service.compilarRegras();
+    }
+
+    @Test
+    void deveCasarPalavrasChaveSemDiferenciarAcentoNemCaixa() {
+        KeywordMatchResult regras = service.avaliar(normalizer.criarContexto("PRECO alto e a ligacao caiu"));
+
+        assertEquals("FINANCEIRO", regras.getSetor());
+        assertEquals(List.of("preço", "ligação"), regras.getTags());
+        assertFalse(regras.isAlertaCritico());
+    }
+
+    @Test
+    void deveCasarAlertasCriticosEscritosComOuSemAcento() {
+        assertTrue(service.avaliar(normalizer.criarContexto("Vou à justica")).isAlertaCritico());
+        assertTrue(service.avaliar(normalizer.criarContexto("Setor Jurídico acionado")).isAlertaCritico());
+    }
+
+    @Test
+    void deveCasarExpressoesSeparadasPorPontuacao() {
+        KeywordMatchResult regras = service.avaliar(normalizer.criarContexto("Já abri no Reclame-Aqui!"));
+
+        assertEquals("ATENDIMENTO", regras.getSetor());
+        assertEquals(List.of("reclame aqui"), regras.getTags());
+    }
+
+    @Test
+    void deveIgnorarPalavraChaveSemLetras() {
+        KeywordMatchResult regras = service.avaliar(normalizer.criarContexto("Pedido 123 chegou"));
+
+        assertEquals("GERAL", regras.getSetor());
+        assertTrue(regras.getTags().isEmpty());
+    }
+
+    @Test
+    void deveAvaliarTextoBrutoComoContexto() {
+        String texto = "O cartão foi recusado, vou procurar a JUSTIÇA";
+
+        KeywordMatchResult doContexto = service.avaliar(normalizer.criarContexto(texto));
+        KeywordMatchResult doTexto = service.avaliarTexto(texto);
+
+        assertEquals(doContexto.getSetor(), doTexto.getSetor());
+        assertEquals(doContexto.getTags(), doTexto.getTags());
+        assertEquals(doContexto.isAlertaCritico(), doTexto.isAlertaCritico());
+    }
+
+    @Test
+    void deveCompletarTemplatesDoSetorComOsDeGeral() {
+        assertEquals("Vamos revisar a cobrança.", service.gerarSugestao(SentimentType.NEGATIVO, "FINANCEIRO"));
+        assertEquals("Obrigado!", service.gerarSugestao(SentimentType.POSITIVO, "FINANCEIRO"));
+        assertEquals("Recebemos.", service.gerarSugestao(SentimentType.NEUTRO, "ATENDIMENTO"));
+        assertEquals("Vamos revisar a cobrança.", service.gerarSugestao(SentimentType.NEGATIVO, "financeiro"));
+        assertEquals("Sentimos muito.", service.gerarSugestao(SentimentType.NEGATIVO, "DESCONHECIDO"));
+    }
+
+    @Test
+    void deveTrocarAsRegrasEAvisarQuemGuardaRespostas() {
+        long versaoAnterior = service.status().getVersao();
+        Map<String, BusinessRulesProperties.SectorConfig> setores = new LinkedHashMap<>();
+        setores.put("LOGÍSTICA", setor("entrega"));
+        BusinessRulesProperties novas = new BusinessRulesProperties();
+        novas.setSectors(setores);
+        novas.setResponseTemplates(Map.of("GERAL", template("a", "b", "c")));
+
+        BusinessRulesStatus status = service.aplicar(novas, "teste");
+
+        assertEquals(versaoAnterior + 1, status.getVersao());
+        assertEquals("teste", status.getOrigem());
+        assertEquals("LOGÍSTICA", service.avaliarTexto("A entrega atrasou").getSetor());
+        assertEquals("GERAL", service.avaliarTexto("O preço subiu").getSetor());
+        assertFalse(service.avaliarTexto("Vou à justiça").isAlertaCritico());
+        assertEquals(List.of(new BusinessRulesChangedEvent("teste")), eventos);
+    }
+
+    @Test
+    void deveManterAsRegrasQuandoAsNovasSaoInvalidas() {
+        BusinessRulesProperties semGeral = new BusinessRulesProperties();
+        semGeral.setSectors(Map.of("LOGÍSTICA", setor("entrega")));
+
+        assertThrows(IllegalArgumentException.class, () -> service.aplicar(semGeral, "teste"));
+
+        assertEquals("FINANCEIRO", service.avaliarTexto("O preço subiu").getSetor());
+        assertEquals("application.yml", service.status().getOrigem());
+        assertTrue(eventos.isEmpty());
+    }
+
+    private static BusinessRulesProperties.SectorConfig setor(String... palavras) {
+        BusinessRulesProperties.SectorConfig setor = new BusinessRulesProperties.SectorConfig();
+        setor.setKeywords(List.of(palavras));
+        return setor;
+    }
+
+    private static BusinessRulesProperties.ResponseTemplate template(String positivo, String neutro, String negativo) {
+        BusinessRulesProperties.ResponseTemplate template = new BusinessRulesProperties.ResponseTemplate();
+        template.setPositivo(positivo);
+        template.setNeutro(neutro);
+        template.setNegativo(negativo);
+        return template;
+    }
+}
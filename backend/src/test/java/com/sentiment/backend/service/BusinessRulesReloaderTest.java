@@ -0,0 +1,123 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.BusinessRulesProperties;
+import com.sentiment.backend.config.BusinessRulesReloadProperties;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.util.TextNormalizer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessRulesReloaderTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private BusinessRuleService service;
+    private BusinessRulesReloader reloader;
+
+    @BeforeEach
+    void setUp() {
+        BusinessRulesProperties embutidas = new BusinessRulesProperties();
+        BusinessRulesProperties.ResponseTemplate geral = new BusinessRulesProperties.ResponseTemplate();
+        geral.setPositivo("a");
+        geral.setNeutro("b");
+        geral.setNegativo("c");
+        embutidas.setResponseTemplates(Map.of("GERAL", geral));
+
+        service = new BusinessRuleService(embutidas, new TextNormalizer(), evento -> { });
+        service.compilarRegras();
+
+        arquivo = diretorio.resolve("regras.yml");
+        BusinessRulesReloadProperties properties = new BusinessRulesReloadProperties();
+        properties.setFile(arquivo.toString());
+        properties.setDebounce(Duration.ofMillis(20));
+        reloader = new BusinessRulesReloader(properties, service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reloader.stop();
+    }
+
+    @Test
+    void deveCarregarRegrasDoArquivo() throws IOException {
+        escrever("entrega");
+
+        reloader.carregarArquivo();
+
+        KeywordMatchResult regras = service.avaliarTexto("A entrega atrasou, vou ao Procon");
+        assertEquals("LOGISTICA", regras.getSetor());
+        assertEquals(List.of("entrega"), regras.getTags());
+        assertTrue(regras.isAlertaCritico());
+        assertEquals("Lamentamos o atraso.", service.gerarSugestao(SentimentType.NEGATIVO, "LOGISTICA"));
+        assertEquals(arquivo.toAbsolutePath().toString(), service.status().getOrigem());
+    }
+
+    @Test
+    void deveRecarregarQuandoOArquivoMuda() throws Exception {
+        escrever("entrega");
+        reloader.carregarArquivo();
+        reloader.start();
+
+        escrever("frete");
+
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!"LOGISTICA".equals(service.avaliarTexto("Frete caro").getSetor()) && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals("LOGISTICA", service.avaliarTexto("Frete caro").getSetor());
+        assertEquals("GERAL", service.avaliarTexto("A entrega atrasou").getSetor());
+    }
+
+    @Test
+    void deveManterRegrasQuandoArquivoFicaInvalido() throws IOException {
+        escrever("entrega");
+        reloader.carregarArquivo();
+        long versao = service.status().getVersao();
+
+        Files.writeString(arquivo, "business-rules:\n  sectors: [nao, e, mapa]\n");
+
+        assertThrows(IllegalArgumentException.class, reloader::recarregar);
+        assertEquals(versao, service.status().getVersao());
+        assertEquals("LOGISTICA", service.avaliarTexto("A entrega atrasou").getSetor());
+    }
+
+    @Test
+    void deveImpedirASubidaComArquivoInvalido() throws IOException {
+        Files.writeString(arquivo, "outra-coisa: 1\n");
+
+        assertThrows(IllegalStateException.class, reloader::carregarArquivo);
+    }
+
+    private void escrever(String palavraChave) throws IOException {
+        Files.writeString(arquivo, """
+            business-rules:
+              critical-alerts:
+                - procon
+              sectors:
+                LOGISTICA:
+                  keywords:
+                    - %s
+              response-templates:
+                GERAL:
+                  positivo: "Obrigado!"
+                  neutro: "Recebemos."
+                  negativo: "Sentimos muito."
+                LOGISTICA:
+                  negativo: "Lamentamos o atraso."
+            """.formatted(palavraChave));
+    }
+}
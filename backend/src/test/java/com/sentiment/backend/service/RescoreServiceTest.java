@@ -0,0 +1,258 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.BusinessRulesChangedEvent;
+import com.sentiment.backend.config.BusinessRulesProperties;
+import com.sentiment.backend.config.RescoreProperties;
+import com.sentiment.backend.dto.RescoreStatusResponse;
+import com.sentiment.backend.model.AnalysisEngine;
+import com.sentiment.backend.model.RescoreCheckpoint;
+import com.sentiment.backend.model.RescoreState;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.RescoreCheckpointRepository;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+import com.sentiment.backend.repository.SentimentRescoreRepository;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.TextNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RescoreServiceTest {
+
+    @Mock
+    private SentimentRescoreRepository repository;
+
+    @Mock
+    private RescoreCheckpointRepository checkpoints;
+
+    @Mock
+    private PredictionRouter predictionRouter;
+
+    @Mock
+    private SentimentStatsStore statsStore;
+
+    @Mock
+    private TrendRollupStore trendStore;
+
+    @Captor
+    private ArgumentCaptor<List<SentimentAnalysis>> gravadas;
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final RescoreProperties properties = new RescoreProperties();
+    private final List<Runnable> tarefas = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RescoreService rescoreService;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, BusinessRulesProperties.SectorConfig> setores = new LinkedHashMap<>();
+        BusinessRulesProperties.SectorConfig logistica = new BusinessRulesProperties.SectorConfig();
+        logistica.setKeywords(List.of("entrega", "atraso"));
+        setores.put("LOGISTICA", logistica);
+
+        BusinessRulesProperties.ResponseTemplate geral = new BusinessRulesProperties.ResponseTemplate();
+        geral.setPositivo("Obrigado!");
+        geral.setNeutro("Recebemos.");
+        geral.setNegativo("Sentimos muito.");
+
+        BusinessRulesProperties regras = new BusinessRulesProperties();
+        regras.setSectors(setores);
+        regras.setCriticalAlerts(List.of("procon"));
+        regras.setResponseTemplates(Map.of("GERAL", geral));
+
+        BusinessRuleService businessRuleService = new BusinessRuleService(regras, normalizer, evento -> { });
+        businessRuleService.compilarRegras();
+
+        properties.setChunkSize(2);
+        properties.setMaxRowsPerSecond(0);
+        rescoreService = new RescoreService(repository, checkpoints, businessRuleService, predictionRouter,
+            normalizer, statsStore, trendStore, properties, tarefas::add, meterRegistry);
+    }
+
+    @Test
+    void deveRegravarSoAsAnalisesCujasRegrasMudaram() {
+        SentimentAnalysis desatualizada = analise(1, "A entrega veio com atraso", "GERAL", "MEDIA", List.of());
+        SentimentAnalysis emDia = analise(2, "Produto bom", "GERAL", "BAIXA", List.of());
+        emDia.setPrediction(SentimentType.POSITIVO);
+        emDia.setSugestaoResposta("Obrigado!");
+        when(repository.buscarFaixa()).thenReturn(new FaixaIds(1, 3));
+        when(repository.buscarFaixa(1, 2)).thenReturn(List.of(desatualizada, emDia));
+        when(repository.buscarFaixa(3, 3)).thenReturn(List.of());
+        when(repository.atualizarTodas(anyList())).thenReturn(new boolean[] { true });
+
+        rescoreService.iniciar(false, null);
+        tarefas.forEach(Runnable::run);
+
+        verify(repository).atualizarTodas(gravadas.capture());
+        SentimentAnalysis reavaliada = gravadas.getValue().get(0);
+        assertEquals(1, gravadas.getValue().size());
+        assertEquals("LOGISTICA", reavaliada.getSetor());
+        assertEquals("ALTA", reavaliada.getPrioridade());
+        assertEquals(List.of("entrega", "atraso"), reavaliada.getTags());
+        assertEquals(SentimentType.NEGATIVO, reavaliada.getPrediction());
+
+        verify(statsStore).descontar(SentimentType.NEGATIVO, "GERAL", "MEDIA", 1);
+        verify(statsStore).registrar(reavaliada);
+        verify(trendStore).reclassificarTodos(List.of(desatualizada), List.of(reavaliada));
+        verify(predictionRouter, never()).prever(any(), any());
+
+        RescoreStatusResponse status = rescoreService.status();
+        assertEquals(RescoreState.CONCLUIDA, status.getEstado());
+        assertEquals(2, status.getProcessadas());
+        assertEquals(1, status.getAlteradas());
+        assertEquals(3, status.getUltimoIdProcessado());
+        assertEquals(100.0, status.getPercentual());
+        assertEquals(1.0, meterRegistry.get("sentiment.rescore.rows").tag("result", "alterada").counter().count());
+    }
+
+    @Test
+    void deveAplicarPrevisaoDoModeloSoQuandoOModeloResponde() {
+        SentimentAnalysis peloModelo = analise(1, "Chegou certinho", "GERAL", "MEDIA", List.of());
+        SentimentAnalysis peloLexico = analise(2, "Chegou quebrado", "GERAL", "MEDIA", List.of());
+        when(repository.buscarFaixa()).thenReturn(new FaixaIds(1, 2));
+        when(repository.buscarFaixa(1, 2)).thenReturn(List.of(peloModelo, peloLexico));
+        when(predictionRouter.prever(any(), any(AnalysisContext.class))).thenAnswer(invocacao -> {
+            AnalysisContext contexto = invocacao.getArgument(1);
+            return contexto.texto().contains("certinho")
+                ? new PredictionResult(SentimentType.POSITIVO, 0.9, AnalysisEngine.MODELO)
+                : new PredictionResult(SentimentType.POSITIVO, 0.6, AnalysisEngine.LEXICO);
+        });
+        when(repository.atualizarTodas(anyList())).thenReturn(new boolean[] { true, true });
+
+        rescoreService.iniciar(false, true);
+        tarefas.forEach(Runnable::run);
+
+        verify(repository).atualizarTodas(gravadas.capture());
+        assertEquals(SentimentType.POSITIVO, gravadas.getValue().get(0).getPrediction());
+        assertEquals(0.9, gravadas.getValue().get(0).getConfidence());
+        assertEquals("BAIXA", gravadas.getValue().get(0).getPrioridade());
+        // Sem o modelo, a previsão gravada fica; só a sugestão é refeita.
+        assertEquals(SentimentType.NEGATIVO, gravadas.getValue().get(1).getPrediction());
+        assertEquals("Sentimos muito.", gravadas.getValue().get(1).getSugestaoResposta());
+    }
+
+    @Test
+    void deveRetomarDoCheckpointDeUmaExecucaoInterrompida() {
+        RescoreCheckpoint checkpoint = RescoreCheckpoint.builder()
+            .id(RescoreCheckpoint.ID)
+            .estado(RescoreState.EM_ANDAMENTO)
+            .primeiroId(1L)
+            .ultimoId(4L)
+            .ultimoIdProcessado(2L)
+            .processadas(2L)
+            .alteradas(1L)
+            .incluirModelo(false)
+            .iniciadaEm(LocalDateTime.now().minusMinutes(5))
+            .atualizadaEm(LocalDateTime.now().minusMinutes(4))
+            .build();
+        when(checkpoints.findById(RescoreCheckpoint.ID)).thenReturn(Optional.of(checkpoint));
+        when(repository.buscarFaixa(3, 4)).thenReturn(List.of(
+            analise(3, "Tudo certo", "GERAL", "MEDIA", List.of()),
+            analise(4, "Tudo certo", "GERAL", "MEDIA", List.of())));
+        when(repository.atualizarTodas(anyList())).thenReturn(new boolean[] { true, false });
+
+        rescoreService.marcarInterrompida();
+        assertEquals(RescoreState.INTERROMPIDA, checkpoint.getEstado());
+
+        rescoreService.iniciar(true, null);
+        tarefas.forEach(Runnable::run);
+
+        verify(repository, never()).buscarFaixa();
+        verify(repository, never()).buscarFaixa(1, 2);
+        RescoreStatusResponse status = rescoreService.status();
+        assertEquals(RescoreState.CONCLUIDA, status.getEstado());
+        assertEquals(4, status.getProcessadas());
+        assertEquals(2, status.getAlteradas());
+    }
+
+    @Test
+    void devePararDepoisDoLoteAtualQuandoInterrompida() {
+        when(repository.buscarFaixa()).thenReturn(new FaixaIds(1, 10));
+        when(repository.buscarFaixa(1, 2)).thenAnswer(invocacao -> {
+            rescoreService.interromper();
+            return List.of();
+        });
+
+        rescoreService.iniciar(false, null);
+        tarefas.forEach(Runnable::run);
+
+        verify(repository, never()).buscarFaixa(3, 4);
+        ArgumentCaptor<RescoreCheckpoint> gravado = ArgumentCaptor.forClass(RescoreCheckpoint.class);
+        verify(checkpoints, atLeastOnce()).save(gravado.capture());
+        assertEquals(RescoreState.INTERROMPIDA, gravado.getValue().getEstado());
+        assertEquals(2, gravado.getValue().getUltimoIdProcessado());
+    }
+
+    @Test
+    void deveRecusarSegundaReavaliacaoERetomadaSemCheckpoint() {
+        assertThrows(IllegalStateException.class, () -> rescoreService.iniciar(true, null));
+
+        rescoreService.iniciar(false, null);
+        assertThrows(IllegalStateException.class, () -> rescoreService.iniciar(false, null));
+        assertEquals(1, tarefas.size());
+    }
+
+    @Test
+    void deveRegistrarFalhaNoCheckpoint() {
+        when(repository.buscarFaixa()).thenReturn(new FaixaIds(1, 5));
+        when(repository.buscarFaixa(anyLong(), anyLong())).thenThrow(new IllegalStateException("banco indisponível"));
+
+        rescoreService.iniciar(false, null);
+        tarefas.forEach(Runnable::run);
+
+        assertEquals(RescoreState.FALHOU, rescoreService.status().getEstado());
+        assertEquals("banco indisponível", rescoreService.status().getErro());
+        verify(checkpoints).save(any(RescoreCheckpoint.class));
+    }
+
+    @Test
+    void deveIniciarAoAlterarRegrasSoQuandoConfigurado() {
+        rescoreService.aoAlterarRegras(new BusinessRulesChangedEvent("teste"));
+        assertTrue(tarefas.isEmpty());
+
+        properties.setOnRulesChange(true);
+        rescoreService.aoAlterarRegras(new BusinessRulesChangedEvent("teste"));
+        rescoreService.aoAlterarRegras(new BusinessRulesChangedEvent("teste"));
+        assertEquals(1, tarefas.size());
+    }
+
+    private SentimentAnalysis analise(long id, String texto, String setor, String prioridade, List<String> tags) {
+        return SentimentAnalysis.builder()
+            .id(id)
+            .text(texto)
+            .prediction(SentimentType.NEGATIVO)
+            .confidence(0.8)
+            .setor(setor)
+            .prioridade(prioridade)
+            .sugestaoResposta("Sentimos muito.")
+            .tags(new ArrayList<>(tags))
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.RetentionProperties;
+import com.sentiment.backend.dto.PurgeStatusResponse;
+import com.sentiment.backend.exception.RemocaoEmAndamentoException;
+import com.sentiment.backend.model.PurgeState;
+import com.sentiment.backend.model.PurgeType;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentPurgeRepository;
+import com.sentiment.backend.repository.SentimentPurgeRepository.Contagem;
+import com.sentiment.backend.repository.SentimentPurgeRepository.FaixaIds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    @Mock
+    private SentimentPurgeRepository repository;
+
+    @Mock
+    private SentimentStatsStore statsStore;
+
+    private final RetentionProperties properties = new RetentionProperties();
+    private final List<Runnable> tarefas = new ArrayList<>();
+
+    private RetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(10);
+        retentionService = new RetentionService(repository, statsStore, properties, tarefas::add, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveApagarEmLotesPorFaixaDeIdEDescontarEstatisticas() {
+        when(repository.buscarFaixa(any())).thenReturn(new FaixaIds(1, 25));
+        when(repository.apagarFaixa(anyLong(), anyLong(), any())).thenReturn(List.of());
+        when(repository.apagarFaixa(eq(1L), eq(10L), any())).thenReturn(List.of(
+            new Contagem(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", 6),
+            new Contagem(SentimentType.POSITIVO, "GERAL", "BAIXA", 4)));
+        when(repository.apagarFaixa(eq(21L), eq(25L), any())).thenReturn(List.of(
+            new Contagem(SentimentType.NEUTRO, "GERAL", "BAIXA", 5)));
+
+        PurgeStatusResponse inicial = retentionService.iniciarRetencao(Duration.ofDays(30));
+        assertEquals(PurgeType.RETENCAO, inicial.getTipo());
+        assertEquals(PurgeState.EM_ANDAMENTO, inicial.getEstado());
+        assertTrue(inicial.getCorte().isBefore(LocalDateTime.now().minusDays(29)));
+
+        tarefas.forEach(Runnable::run);
+
+        verify(repository).apagarFaixa(eq(11L), eq(20L), any());
+        verify(statsStore).descontar(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", 6);
+        verify(statsStore).descontar(SentimentType.NEUTRO, "GERAL", "BAIXA", 5);
+
+        PurgeStatusResponse status = retentionService.status();
+        assertEquals(PurgeState.CONCLUIDA, status.getEstado());
+        assertEquals(15, status.getRemovidas());
+        assertEquals(3, status.getLotes());
+        assertEquals(100.0, status.getPercentual());
+        assertNotNull(status.getConcluidaEm());
+    }
+
+    @Test
+    void deveRecusarSegundaRemocaoEnquantoUmaEstaEmAndamento() {
+        retentionService.iniciarLimpeza(() -> { });
+
+        assertThrows(RemocaoEmAndamentoException.class, () -> retentionService.iniciarRetencao(null));
+        assertEquals(1, tarefas.size());
+    }
+
+    @Test
+    void devePrepararALimpezaSoQuandoElaEAceita() {
+        List<String> eventos = new ArrayList<>();
+        retentionService.iniciarRetencao(null);
+
+        assertThrows(RemocaoEmAndamentoException.class,
+            () -> retentionService.iniciarLimpeza(() -> eventos.add("preparada")));
+        assertTrue(eventos.isEmpty());
+
+        tarefas.forEach(Runnable::run);
+        tarefas.clear();
+        retentionService.iniciarLimpeza(() -> eventos.add("preparada"));
+
+        assertEquals(List.of("preparada"), eventos);
+        assertEquals(1, tarefas.size());
+    }
+
+    @Test
+    void deveConcluirSemApagarQuandoNaoHaAnalisesAntesDoCorte() {
+        when(repository.buscarFaixa(any())).thenReturn(null);
+
+        retentionService.iniciarLimpeza(() -> { });
+        tarefas.forEach(Runnable::run);
+
+        assertEquals(PurgeState.CONCLUIDA, retentionService.status().getEstado());
+        assertEquals(100.0, retentionService.status().getPercentual());
+        verify(repository, never()).apagarFaixa(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void deveRegistrarFalhaELiberarNovaRemocao() {
+        when(repository.buscarFaixa(any())).thenReturn(new FaixaIds(1, 5));
+        when(repository.apagarFaixa(anyLong(), anyLong(), any())).thenThrow(new IllegalStateException("banco indisponível"));
+
+        retentionService.iniciarLimpeza(() -> { });
+        tarefas.forEach(Runnable::run);
+
+        PurgeStatusResponse status = retentionService.status();
+        assertEquals(PurgeState.FALHOU, status.getEstado());
+        assertEquals("banco indisponível", status.getErro());
+        assertDoesNotThrow(() -> retentionService.iniciarRetencao(null));
+    }
+
+    @Test
+    void deveRecusarPeriodoDeRetencaoNaoPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> retentionService.iniciarRetencao(Duration.ZERO));
+    }
+}
@@ -0,0 +1,200 @@
+package com.sentiment.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentiment.backend.config.BatchProperties;
+import com.sentiment.backend.dto.SentimentBatchItemResponse;
+import com.sentiment.backend.dto.SentimentBatchResponse;
+import com.sentiment.backend.dto.SentimentRequest;
+import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.mapper.SentimentAnalysisMapper;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentAnalysisBatchRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SentimentBatchServiceTest {
+
+    @Mock
+    private SentimentService sentimentService;
+
+    @Mock
+    private SentimentAnalysisBatchRepository batchRepository;
+
+    @Mock
+    private SentimentStatsStore statsStore;
+
+    @Mock
+    private TrendRollupStore trendStore;
+
+    @Captor
+    private ArgumentCaptor<List<SentimentAnalysis>> gravadas;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final BatchProperties properties = new BatchProperties();
+
+    private SentimentBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(2);
+        properties.setMaxItems(10);
+        batchService = new SentimentBatchService(sentimentService, new SentimentAnalysisMapper(), batchRepository,
+            statsStore, trendStore, properties, validatorFactory.getValidator(), new ObjectMapper(), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void deveResponderCadaItemNaSuaPosicaoEGravarSoOsAnalisados() {
+        when(sentimentService.iniciarAnalise(argThat(request -> request != null && request.getText().startsWith("falha"))))
+            .thenThrow(new IllegalStateException("modelo indisponível"));
+        when(sentimentService.iniciarAnalise(argThat(request -> request != null && !request.getText().startsWith("falha"))))
+            .thenAnswer(invocacao -> analise(invocacao.getArgument(0)));
+
+        List<SentimentRequest> requests = new ArrayList<>(Arrays.asList(
+            request("Produto excelente"),
+            request("oi"),
+            null,
+            request("falha ao analisar"),
+            request("Entrega atrasada")));
+
+        SentimentBatchResponse resposta = batchService.analisarLote(requests);
+
+        assertEquals(5, resposta.getTotal());
+        assertEquals(2, resposta.getSucessos());
+        assertEquals(3, resposta.getFalhas());
+
+        List<SentimentBatchItemResponse> resultados = resposta.getResultados();
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+        }
+        assertTrue(resultados.get(0).isSucesso());
+        assertEquals("Produto excelente", resultados.get(0).getResultado().getSugestaoResposta());
+        assertEquals("O texto deve ter pelo menos 4 caracteres.", resultados.get(1).getErro());
+        assertEquals("Item nulo", resultados.get(2).getErro());
+        assertEquals("Erro ao analisar: modelo indisponível", resultados.get(3).getErro());
+        assertTrue(resultados.get(4).isSucesso());
+
+        verify(batchRepository, atLeastOnce()).salvarTodos(gravadas.capture());
+        List<String> textos = gravadas.getAllValues().stream().flatMap(List::stream).map(SentimentAnalysis::getText).toList();
+        assertEquals(List.of("Produto excelente", "Entrega atrasada"), textos);
+    }
+
+    @Test
+    void deveApontarLinhaNdjsonInvalidaSemPerderAsDemais() throws Exception {
+        when(sentimentService.iniciarAnalise(any())).thenAnswer(invocacao -> analise(invocacao.getArgument(0)));
+        String corpo = """
+            {"text": "Produto excelente"}
+            {"text": "sem fechar"
+
+            {"text": "Entrega atrasada", "rating": 9}
+            {"text": "Atendimento ruim"}
+            """;
+
+        SentimentBatchResponse resposta = batchService.analisarNdjson(
+            new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4, resposta.getTotal());
+        assertEquals(2, resposta.getSucessos());
+        assertTrue(resposta.getResultados().get(1).getErro().startsWith("JSON inválido"));
+        assertEquals("Rating deve ser entre 1 e 5", resposta.getResultados().get(2).getErro());
+        assertEquals("Atendimento ruim", resposta.getResultados().get(3).getResultado().getSugestaoResposta());
+    }
+
+    @Test
+    void deveDispararTodasAsPrevisoesDoMicroLoteAntesDeEsperar() {
+        List<String> eventos = new ArrayList<>();
+        when(sentimentService.iniciarAnalise(any())).thenAnswer(invocacao -> {
+            SentimentRequest request = invocacao.getArgument(0);
+            eventos.add("inicia " + request.getText());
+            return (PendingAnalysis) () -> {
+                eventos.add("aguarda " + request.getText());
+                return resposta(request.getText());
+            };
+        });
+
+        batchService.analisarLote(List.of(request("texto 1"), request("texto 2")));
+
+        assertEquals(List.of("inicia texto 1", "inicia texto 2", "aguarda texto 1", "aguarda texto 2"), eventos);
+    }
+
+    @Test
+    void deveReportarErroNosItensDoMicroLoteQueNaoFoiGravado() {
+        when(sentimentService.iniciarAnalise(any())).thenAnswer(invocacao -> analise(invocacao.getArgument(0)));
+        doThrow(new DataAccessResourceFailureException("banco indisponível"))
+            .when(batchRepository).salvarTodos(argThat(lote -> lote.get(0).getText().equals("texto 1")));
+
+        SentimentBatchResponse resposta = batchService.analisarLote(List.of(
+            request("texto 1"), request("texto 2"), request("texto 3")));
+
+        assertEquals(1, resposta.getSucessos());
+        assertEquals("Erro ao salvar: banco indisponível", resposta.getResultados().get(0).getErro());
+        assertEquals("Erro ao salvar: banco indisponível", resposta.getResultados().get(1).getErro());
+        assertTrue(resposta.getResultados().get(2).isSucesso());
+        verify(statsStore).registrarTodos(argThat(lote -> lote.size() == 1));
+        verify(trendStore).registrarTodos(argThat(lote -> lote.size() == 1));
+    }
+
+    @Test
+    void deveRecusarLoteAcimaDoLimite() {
+        List<SentimentRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= properties.getMaxItems(); i++) {
+            requests.add(request("texto " + i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.analisarLote(requests));
+        verify(batchRepository, never()).salvarTodos(any());
+    }
+
+    private static SentimentRequest request(String texto) {
+        return SentimentRequest.builder().text(texto).build();
+    }
+
+    private static PendingAnalysis analise(SentimentRequest request) {
+        return PendingAnalysis.concluida(resposta(request.getText()));
+    }
+
+    // A sugestão repete o texto para o teste saber de qual item veio cada resposta.
+    private static SentimentResponse resposta(String texto) {
+        return SentimentResponse.builder()
+            .previsao(SentimentType.POSITIVO)
+            .probabilidade(0.9)
+            .prioridade("BAIXA")
+            .setor("GERAL")
+            .sugestaoResposta(texto)
+            .tags(List.of())
+            .build();
+    }
+}
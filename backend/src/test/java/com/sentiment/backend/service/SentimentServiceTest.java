@@ -1,9 +1,30 @@
 package com.sentiment.backend.service;
 
+import com.sentiment.backend.client.AdaptiveConcurrencyLimit;
+import com.sentiment.backend.client.LocalModelClient;
+import com.sentiment.backend.client.ModelBatcher;
+import com.sentiment.backend.client.ModelCircuitBreaker;
+import com.sentiment.backend.client.ModelClient;
+import com.sentiment.backend.client.ModelServiceGuard;
+import com.sentiment.backend.client.ModelResponse;
+import com.sentiment.backend.config.AnalysisMetricsProperties;
+import com.sentiment.backend.config.ModelBatchingProperties;
+import com.sentiment.backend.config.ModelProtectionProperties;
+import com.sentiment.backend.config.ModelRoutingProperties;
 import com.sentiment.backend.dto.SentimentRequest;
 import com.sentiment.backend.dto.SentimentResponse;
+import com.sentiment.backend.model.AnalysisEngine;
 import com.sentiment.backend.model.SentimentType;
 import com.sentiment.backend.repository.SentimentAnalysisRepository;
+import com.sentiment.backend.util.AnalysisContext;
+import com.sentiment.backend.util.ContextAnalyzer;
+import com.sentiment.backend.util.PolarityChecker;
+import com.sentiment.backend.util.SentimentAnalyzer;
+import com.sentiment.backend.util.SentimentClassifier;
+import com.sentiment.backend.util.SentimentScoreCalculator;
+import com.sentiment.backend.util.TextNormalizer;
+import com.sentiment.backend.util.Tokenizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,9 +32,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.web.client.ResourceAccessException;
+
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,14 +58,64 @@ class SentimentServiceTest {
     @Mock
     private BusinessRuleService businessRuleService; // <--- ADICIONE ESTE MOCK
 
+    @Mock
+    private AnalysisCache analysisCache;
+
+    @Spy
+    private TextNormalizer normalizer = new TextNormalizer();
+
+    @Mock
+    private SentimentStatsStore statsStore;
+
+    @Mock
+    private AnalysisWriteBehind writeBehind;
+
+    @Mock
+    private TrendRollupStore trendStore;
+
+    @Mock
+    private RetentionService retentionService;
+
+    @Spy
+    private AnalysisMetrics metrics = new AnalysisMetrics(new AnalysisMetricsProperties(), new SimpleMeterRegistry());
+
+    // API Python indisponível: o roteador cai no analisador léxico local
+    @Spy
+    private PredictionRouter predictionRouter = new PredictionRouter(
+        Mockito.mock(ModelClient.class, invocacao -> {
+            throw new ResourceAccessException("python-api indisponível");
+        }),
+        new LocalModelClient(new ModelRoutingProperties()),
+        batcherDesligado(),
+        new SentimentAnalyzer(
+            new Tokenizer(new TextNormalizer()),
+            new SentimentScoreCalculator(new ContextAnalyzer(), new PolarityChecker()),
+            new SentimentClassifier()),
+        new ModelRoutingProperties(),
+        Runnable::run,
+        guard(),
+        new AnalysisMetrics(new AnalysisMetricsProperties(), new SimpleMeterRegistry()),
+        new SimpleMeterRegistry());
+
     @InjectMocks
     private SentimentService service;
 
+    private static ModelServiceGuard guard() {
+        ModelProtectionProperties properties = new ModelProtectionProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new ModelServiceGuard(new ModelCircuitBreaker(properties, registry),
+            new AdaptiveConcurrencyLimit(properties, registry));
+    }
+
+    private static ModelBatcher batcherDesligado() {
+        return new ModelBatcher(null, guard(), new ModelBatchingProperties(), Runnable::run, new SimpleMeterRegistry());
+    }
+
     private void configurarMocksDeNegocio(SentimentType tipo) {
         // Configura comportamentos padrão para o motor de regras não retornar null nos testes
-        when(businessRuleService.identificarPrioridade(anyString(), any())).thenReturn("NORMAL");
-        when(businessRuleService.identificarSetor(anyString())).thenReturn("GERAL");
-        when(businessRuleService.extrairTags(anyString())).thenReturn(Collections.emptyList());
+        when(businessRuleService.avaliar(any(AnalysisContext.class)))
+            .thenReturn(new KeywordMatchResult("GERAL", Collections.emptyList(), false));
+        when(businessRuleService.identificarPrioridade(any(KeywordMatchResult.class), any())).thenReturn("NORMAL");
         when(businessRuleService.gerarSugestao(any(), anyString())).thenReturn("Sugestão de teste");
     }
 
@@ -75,4 +154,52 @@ class SentimentServiceTest {
 
         assertEquals(SentimentType.NEUTRO, response.getPrevisao());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveInformarMotorLexicoQuandoModeloNaoResponde() {
+        configurarMocksDeNegocio(SentimentType.POSITIVO);
+        SentimentRequest request = SentimentRequest.builder()
+            .text("Atendimento excelente, adorei!")
+            .build();
+
+        SentimentResponse response = service.analisarSentimento(request);
+
+        assertEquals(AnalysisEngine.LEXICO, response.getMotor());
+        assertEquals(SentimentType.POSITIVO, response.getPrevisao());
+    }
+
+    @Test
+    void deveAvaliarRegrasDoTextoEnquantoOModeloResponde() {
+        CountDownLatch regrasAvaliadas = new CountDownLatch(1);
+        ModelClient modelClient = Mockito.mock(ModelClient.class);
+        // O modelo só responde depois das regras: se elas esperassem pela
+        // previsão, a chamada estouraria o orçamento e cairia no léxico.
+        when(modelClient.prever(anyString(), any(), any())).thenAnswer(invocacao ->
+            regrasAvaliadas.await(1, TimeUnit.SECONDS) ? new ModelResponse(SentimentType.NEGATIVO, 0.9) : null);
+        when(businessRuleService.avaliar(any(AnalysisContext.class))).thenAnswer(invocacao -> {
+            regrasAvaliadas.countDown();
+            return new KeywordMatchResult("LOGÍSTICA", List.of("atraso"), false);
+        });
+        when(businessRuleService.identificarPrioridade(any(KeywordMatchResult.class), any())).thenReturn("ALTA");
+
+        ExecutorService modelExecutor = Executors.newSingleThreadExecutor();
+        try {
+            PredictionRouter router = new PredictionRouter(modelClient, new LocalModelClient(new ModelRoutingProperties()),
+                batcherDesligado(), Mockito.mock(SentimentAnalyzer.class),
+                new ModelRoutingProperties(), modelExecutor, guard(), metrics, new SimpleMeterRegistry());
+            SentimentService servico = new SentimentService(businessRuleService, null, router, analysisCache,
+                normalizer, statsStore, writeBehind, trendStore, retentionService, metrics);
+
+            SentimentResponse response = servico.calcularAnalise(SentimentRequest.builder()
+                .text("A entrega teve atraso de uma semana")
+                .build());
+
+            assertEquals(AnalysisEngine.MODELO, response.getMotor());
+            assertEquals(SentimentType.NEGATIVO, response.getPrevisao());
+            assertEquals("LOGÍSTICA", response.getSetor());
+            assertEquals("ALTA", response.getPrioridade());
+        } finally {
+            modelExecutor.shutdownNow();
+        }
+    }
+}
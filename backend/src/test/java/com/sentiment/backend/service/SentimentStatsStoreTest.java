@@ -0,0 +1,73 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.repository.SentimentAnalysisRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SentimentStatsStoreTest {
+
+    @Mock
+    private SentimentAnalysisRepository repository;
+
+    @InjectMocks
+    private SentimentStatsStore statsStore;
+
+    @Test
+    void deveReconciliarContadoresComOBanco() {
+        when(repository.contarPorSentimento()).thenReturn(List.of(
+            new Object[] { SentimentType.POSITIVO, 7L },
+            new Object[] { SentimentType.NEGATIVO, 3L }));
+        when(repository.contarPorSetor()).thenReturn(List.of(
+            new Object[] { "LOGSTICA", 4L },
+            new Object[] { "GERAL", 6L }));
+        when(repository.contarPorPrioridade()).thenReturn(List.of(
+            new Object[] { "ALTA", 3L },
+            new Object[] { "BAIXA", 7L },
+            new Object[] { null, 0L }));
+
+        statsStore.reconciliar();
+
+        assertEquals(10, statsStore.total());
+        assertEquals(7, statsStore.quantidade(SentimentType.POSITIVO));
+        assertEquals(0, statsStore.quantidade(SentimentType.NEUTRO));
+        assertEquals(Map.of("GERAL", 6L, "LOGSTICA", 4L), statsStore.porSetor());
+        assertEquals(Map.of("ALTA", 3L, "BAIXA", 7L), statsStore.porPrioridade());
+    }
+
+    @Test
+    void deveDescontarAnalisesRemovidas() {
+        statsStore.registrarTodos(List.of(
+            analise(SentimentType.NEGATIVO, "FINANCEIRO", "ALTA"),
+            analise(SentimentType.NEGATIVO, "FINANCEIRO", "ALTA"),
+            analise(SentimentType.POSITIVO, "GERAL", "BAIXA")));
+
+        statsStore.descontar(SentimentType.NEGATIVO, "FINANCEIRO", "ALTA", 2);
+
+        assertEquals(1, statsStore.total());
+        assertEquals(0, statsStore.quantidade(SentimentType.NEGATIVO));
+        assertEquals(Map.of("GERAL", 1L), statsStore.porSetor());
+        assertEquals(Map.of("BAIXA", 1L), statsStore.porPrioridade());
+    }
+
+    private SentimentAnalysis analise(SentimentType tipo, String setor, String prioridade) {
+        return SentimentAnalysis.builder()
+            .prediction(tipo)
+            .setor(setor)
+            .prioridade(prioridade)
+            .build();
+    }
+}
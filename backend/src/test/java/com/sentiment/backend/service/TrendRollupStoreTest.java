@@ -0,0 +1,210 @@
+package com.sentiment.backend.service;
+
+import com.sentiment.backend.config.TrendProperties;
+import com.sentiment.backend.dto.SentimentTrendPoint;
+import com.sentiment.backend.dto.SentimentTrendResponse;
+import com.sentiment.backend.model.SentimentAnalysis;
+import com.sentiment.backend.model.SentimentTrendRollup;
+import com.sentiment.backend.model.SentimentType;
+import com.sentiment.backend.model.TrendGranularity;
+import com.sentiment.backend.repository.SentimentTrendRollupBatchRepository;
+import com.sentiment.backend.repository.SentimentTrendRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendRollupStoreTest {
+
+    @Mock
+    private SentimentTrendRollupRepository repository;
+
+    @Mock
+    private SentimentTrendRollupBatchRepository batchRepository;
+
+    @Captor
+    private ArgumentCaptor<List<SentimentTrendRollup>> captor;
+
+    private final TrendProperties properties = new TrendProperties();
+
+    private TrendRollupStore trendStore;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMinuteBuckets(60);
+        properties.setHourBuckets(24);
+        properties.setDayBuckets(7);
+        properties.setMaxPoints(500);
+        trendStore = new TrendRollupStore(repository, batchRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveConsultarBaldesRecentesDaMemoria() {
+        LocalDateTime horaAtual = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        trendStore.registrarTodos(List.of(
+            analise(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", horaAtual.plusMinutes(1)),
+            analise(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", horaAtual.plusMinutes(2)),
+            analise(SentimentType.POSITIVO, "GERAL", "BAIXA", horaAtual.minusHours(2))));
+
+        SentimentTrendResponse tendencia = trendStore.consultar(TrendGranularity.HORA, horaAtual.minusHours(3), horaAtual.plusHours(1));
+
+        assertEquals(4, tendencia.getPontos().size());
+        assertEquals(horaAtual.minusHours(3), tendencia.getInicio());
+        assertEquals(horaAtual.plusHours(1), tendencia.getFim());
+
+        SentimentTrendPoint atual = tendencia.getPontos().get(3);
+        assertEquals(horaAtual, atual.getInicio());
+        assertEquals(2, atual.getTotal());
+        assertEquals(2L, atual.getSentimentos().get(SentimentType.NEGATIVO));
+        assertEquals(0L, atual.getSentimentos().get(SentimentType.POSITIVO));
+        assertEquals(Map.of("LOGÍSTICA", 2L), atual.getSetores());
+        assertEquals(Map.of("ALTA", 2L), atual.getPrioridades());
+
+        assertEquals(1, tendencia.getPontos().get(1).getTotal());
+        assertEquals(0, tendencia.getPontos().get(2).getTotal());
+        verify(repository, never()).buscarPorPeriodo(any(), any(), any());
+    }
+
+    @Test
+    void deveSomarIncrementosAgregadosPorBaldeNaTabela() {
+        LocalDateTime minuto = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        trendStore.registrarTodos(List.of(
+            analise(SentimentType.NEUTRO, "GERAL", "BAIXA", minuto),
+            analise(SentimentType.NEUTRO, "GERAL", "BAIXA", minuto.plusSeconds(30))));
+
+        verify(batchRepository).somarTodos(captor.capture());
+
+        List<SentimentTrendRollup> linhas = captor.getValue();
+        assertEquals(TrendGranularity.values().length, linhas.size());
+        assertTrue(linhas.stream().allMatch(linha -> linha.getQuantidade() == 2L));
+        assertTrue(linhas.stream().anyMatch(linha ->
+            linha.getGranularidade() == TrendGranularity.MINUTO && linha.getInicio().equals(minuto)));
+    }
+
+    @Test
+    void deveMoverAnaliseReclassificadaParaACelulaNova() {
+        LocalDateTime horaAtual = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        SentimentAnalysis anterior = analise(SentimentType.NEGATIVO, "GERAL", "MEDIA", horaAtual.plusMinutes(1));
+        SentimentAnalysis outra = analise(SentimentType.NEGATIVO, "GERAL", "MEDIA", horaAtual.plusMinutes(2));
+        trendStore.registrarTodos(List.of(anterior, outra));
+        SentimentAnalysis atual = analise(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", anterior.getCreatedAt());
+        SentimentAnalysis soTags = analise(SentimentType.NEGATIVO, "GERAL", "MEDIA", outra.getCreatedAt());
+        soTags.setTags(List.of("entrega"));
+
+        trendStore.reclassificarTodos(List.of(anterior, outra), List.of(atual, soTags));
+
+        verify(batchRepository, times(2)).somarTodos(captor.capture());
+        List<SentimentTrendRollup> movimentos = captor.getValue();
+        assertEquals(TrendGranularity.values().length * 2, movimentos.size());
+        assertTrue(movimentos.stream().anyMatch(linha -> linha.getSetor().equals("GERAL") && linha.getQuantidade() == -1L));
+        assertTrue(movimentos.stream().anyMatch(linha -> linha.getSetor().equals("LOGÍSTICA") && linha.getQuantidade() == 1L));
+
+        SentimentTrendPoint ponto = trendStore.consultar(TrendGranularity.HORA, horaAtual, horaAtual.plusHours(1))
+            .getPontos().get(0);
+        assertEquals(2, ponto.getTotal());
+        assertEquals(Map.of("GERAL", 1L, "LOGÍSTICA", 1L), ponto.getSetores());
+        assertEquals(Map.of("MEDIA", 1L, "ALTA", 1L), ponto.getPrioridades());
+    }
+
+    @Test
+    void deveDeixarForaDaMemoriaOQueATabelaNaoSomou() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        trendStore = new TrendRollupStore(repository, batchRepository, properties, meterRegistry);
+        doThrow(new DataAccessResourceFailureException("banco indisponível")).when(batchRepository).somarTodos(any());
+        LocalDateTime horaAtual = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        trendStore.registrarTodos(List.of(analise(SentimentType.NEGATIVO, "LOGÍSTICA", "ALTA", horaAtual)));
+
+        SentimentTrendResponse tendencia = trendStore.consultar(TrendGranularity.HORA, horaAtual, horaAtual.plusHours(1));
+        assertEquals(0, tendencia.getPontos().get(0).getTotal());
+        assertEquals(1.0, meterRegistry.get("sentiment.trends.rollup.failed").counter().count());
+    }
+
+    @Test
+    void deveLerBaldesAntigosDaTabelaDeRollup() {
+        LocalDateTime hoje = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime inicio = hoje.minusDays(90);
+        LocalDateTime limiteMemoria = hoje.minusDays(6);
+        when(repository.buscarPorPeriodo(TrendGranularity.DIA, inicio, limiteMemoria)).thenReturn(List.of(
+            rollup(TrendGranularity.DIA, inicio, SentimentType.POSITIVO, "GERAL", "BAIXA", 5),
+            rollup(TrendGranularity.DIA, inicio.plusDays(10), SentimentType.NEGATIVO, "", "", 3)));
+
+        SentimentTrendResponse tendencia = trendStore.consultar(TrendGranularity.DIA, inicio, hoje.plusDays(1));
+
+        assertEquals(91, tendencia.getPontos().size());
+        assertEquals(5, tendencia.getPontos().get(0).getTotal());
+        assertEquals(Map.of("GERAL", 5L), tendencia.getPontos().get(0).getSetores());
+        assertEquals(3, tendencia.getPontos().get(10).getTotal());
+        assertTrue(tendencia.getPontos().get(10).getSetores().isEmpty());
+        verify(repository).buscarPorPeriodo(eq(TrendGranularity.DIA), eq(inicio), eq(limiteMemoria));
+    }
+
+    @Test
+    void deveRecusarPeriodoInvalidoOuLongoDemais() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> trendStore.consultar(TrendGranularity.HORA, agora, agora.minusHours(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> trendStore.consultar(TrendGranularity.MINUTO, agora.minusDays(1), agora));
+    }
+
+    @Test
+    void deveCarregarJanelaEmMemoriaDaTabelaAoReconciliar() {
+        LocalDateTime horaAtual = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        when(repository.buscarPorPeriodo(any(), any(), any())).thenReturn(List.of());
+        when(repository.buscarPorPeriodo(eq(TrendGranularity.HORA), any(), any())).thenReturn(List.of(
+            rollup(TrendGranularity.HORA, horaAtual.minusHours(1), SentimentType.POSITIVO, "GERAL", "BAIXA", 4)));
+
+        trendStore.reconciliar();
+
+        SentimentTrendResponse tendencia = trendStore.consultar(TrendGranularity.HORA, horaAtual.minusHours(1), horaAtual);
+        assertEquals(1, tendencia.getPontos().size());
+        assertEquals(4, tendencia.getPontos().get(0).getTotal());
+    }
+
+    private SentimentAnalysis analise(SentimentType tipo, String setor, String prioridade, LocalDateTime criadaEm) {
+        return SentimentAnalysis.builder()
+            .text("texto")
+            .prediction(tipo)
+            .confidence(0.9)
+            .setor(setor)
+            .prioridade(prioridade)
+            .createdAt(criadaEm)
+            .build();
+    }
+
+    private SentimentTrendRollup rollup(TrendGranularity granularidade, LocalDateTime inicio, SentimentType tipo, String setor, String prioridade, long quantidade) {
+        return SentimentTrendRollup.builder()
+            .granularidade(granularidade)
+            .inicio(inicio)
+            .sentimento(tipo)
+            .setor(setor)
+            .prioridade(prioridade)
+            .quantidade(quantidade)
+            .build();
+    }
+}
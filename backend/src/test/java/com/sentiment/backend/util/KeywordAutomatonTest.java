@@ -0,0 +1,88 @@
+package com.sentiment.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void deveEncontrarPadroesSobrepostosEContidosNoSufixo() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("he", "she", "his", "hers"));
+
+        // "ushers": "she" termina no mesmo ponto que "he", e "hers" começa
+        // dentro de "she".
+        assertEquals(indices(0, 1, 3), automato.buscar("ushers"));
+        assertEquals(indices(0), automato.buscar("ahe"));
+        assertEquals(indices(2), automato.buscar("this"));
+        assertEquals(indices(), automato.buscar("hs"));
+    }
+
+    @Test
+    void deveRegistrarTodosOsIdsDePadroesRepetidos() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("entrega", "atraso", "entrega"));
+
+        assertEquals(indices(0, 2), automato.buscar("a entrega veio"));
+        assertEquals(3, automato.getQuantidadePadroes());
+    }
+
+    @Test
+    void deveCompararOTextoEmMinusculas() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("preço", "ação"));
+
+        assertEquals(indices(0, 1), automato.buscar("PREÇO da AÇÃO"));
+        assertEquals(indices(), automato.buscar("PRECO da ACAO"));
+    }
+
+    @Test
+    void deveFuncionarSemPadroes() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of());
+
+        assertTrue(automato.buscar("qualquer texto, até com İ e 中").isEmpty());
+        assertEquals(0, automato.getQuantidadePadroes());
+    }
+
+    @Test
+    void deveConsiderarPadraoVazioSempreEncontrado() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("", "ok"));
+
+        assertEquals(indices(0), automato.buscar(""));
+        assertEquals(indices(0, 1), automato.buscar("ok"));
+    }
+
+    @Test
+    void deveReiniciarNosCaracteresForaDaTabela() {
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("ab", "ω"));
+
+        // '中' fica além da tabela de entrada e quebra a correspondência.
+        assertEquals(indices(), automato.buscar("a中b"));
+        assertEquals(indices(0), automato.buscar("中ab中"));
+        // 'Ω' está na tabela porque o padrão "ω" a estendeu.
+        assertEquals(indices(1), automato.buscar("ΩMEGA"));
+    }
+
+    @Test
+    void deveTratarOIMaiusculoComPontoComoOToLowerCase() {
+        // "İ".toLowerCase() é "i" seguido do ponto combinante (dois chars).
+        String minusculo = "İST".toLowerCase(Locale.ROOT);
+        assertEquals("i̇st", minusculo);
+
+        KeywordAutomaton automato = KeywordAutomaton.compilar(List.of("i̇st", "ist", "st"));
+
+        assertEquals(indices(0, 2), automato.buscar("İST"));
+        assertEquals(automato.buscar(minusculo), automato.buscar("İST"));
+        assertEquals(indices(1, 2), automato.buscar("IST"));
+    }
+
+    private static BitSet indices(int... ids) {
+        BitSet esperado = new BitSet();
+        for (int id : ids) {
+            esperado.set(id);
+        }
+        return esperado;
+    }
+}
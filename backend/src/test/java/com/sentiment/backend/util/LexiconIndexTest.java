@@ -0,0 +1,79 @@
+package com.sentiment.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexiconIndexTest {
+
+    private final LexiconIndex indice = LexiconIndex.builder()
+        .positiva("bom", 1.0)
+        .positiva("excelen", 2.0)
+        .negativa("ruim", 1.0)
+        .negativa("pess", 1.5)
+        .negativa("pessimo", 3.0)
+        .build();
+
+    @Test
+    void deveCasarRadicalComoPrefixoDoToken() {
+        assertEquals(2.0, indice.polaridade("excelente"));
+        assertEquals(1.0, indice.polaridade("bom"));
+        assertEquals(-1.0, indice.polaridade("ruimzinho"));
+        assertTrue(indice.temPrefixoPositivo("excelencia"));
+        assertTrue(indice.temPrefixoNegativo("ruim"));
+    }
+
+    @Test
+    void deveIgnorarTokenQueSoEPrefixoDoRadical() {
+        // O token precisa conter o radical inteiro; "exce" só percorre
+        // parte do caminho de "excelen".
+        assertEquals(0.0, indice.polaridade("exce"));
+        assertEquals(0.0, indice.polaridade("bo"));
+        assertFalse(indice.temPrefixoPositivo("exce"));
+        assertFalse(indice.temPrefixoNegativo("ru"));
+    }
+
+    @Test
+    void deveUsarORadicalMaisLongoQueCasa() {
+        assertEquals(-1.5, indice.polaridade("pessoa"));
+        assertEquals(-3.0, indice.polaridade("pessimos"));
+    }
+
+    @Test
+    void devePreferirPositivoQuandoOsDoisCasam() {
+        LexiconIndex ambiguo = LexiconIndex.builder()
+            .negativa("mal", 1.0)
+            .positiva("malha", 0.5)
+            .build();
+
+        assertEquals(-1.0, ambiguo.polaridade("maldade"));
+        assertEquals(0.5, ambiguo.polaridade("malhado"));
+        assertTrue(ambiguo.temPrefixoNegativo("malhado"));
+    }
+
+    @Test
+    void deveLerTrechoDeUmArrayComoOToken() {
+        char[] texto = "o produto excelente chegou ruim".toCharArray();
+
+        assertEquals(2.0, indice.polaridade(texto, 10, 19));
+        assertEquals(-1.0, indice.polaridade(texto, 27, 31));
+        assertEquals(0.0, indice.polaridade(texto, 2, 9));
+        assertEquals(0.0, indice.polaridade(texto, 10, 10));
+    }
+
+    @Test
+    void deveResponderZeroSemRadicais() {
+        LexiconIndex vazio = LexiconIndex.builder().build();
+
+        assertEquals(0.0, vazio.polaridade("qualquer"));
+        assertEquals(0.0, vazio.polaridade(""));
+        assertFalse(vazio.temPrefixoPositivo("bom"));
+    }
+
+    @Test
+    void deveRecusarRadicalVazioOuPesoNaoPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> LexiconIndex.builder().positiva("", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> LexiconIndex.builder().negativa("ruim", 0.0));
+        assertThrows(IllegalArgumentException.class, () -> LexiconIndex.builder().positiva("bom", Double.NaN));
+    }
+}
@@ -0,0 +1,143 @@
+package com.sentiment.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara o normalizador/tokenizador de passada única com a implementação
+ * original baseada em regex, que é mantida aqui como referência.
+ */
+class TextNormalizerDifferentialTest {
+
+    private static final Path BACKLOG = Path.of("..", "requests.jsonl");
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+    private final Tokenizer tokenizer = new Tokenizer(normalizer);
+    private final TokenBuffer buffer = new TokenBuffer();
+
+    @Test
+    void deveProduzirMesmaSaidaParaTextosDoBacklog() throws IOException {
+        assumeTrue(Files.exists(BACKLOG), "requests.jsonl não encontrado");
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> textos = new ArrayList<>();
+        for (String linha : Files.readAllLines(BACKLOG)) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            JsonNode request = mapper.readTree(linha);
+            textos.add(request.path("title").asText());
+            textos.add(request.path("body").asText());
+        }
+
+        assertFalse(textos.isEmpty());
+        for (String texto : textos) {
+            verificar(texto);
+            verificar(texto.toUpperCase());
+            Arrays.stream(texto.split(" ")).forEach(this::verificarPalavra);
+        }
+    }
+
+    @Test
+    void deveProduzirMesmaSaidaParaCadaCaractereLatino() {
+        for (char c = 0; c < 0x250; c++) {
+            verificar("avalia" + c + "coes " + c + " fim" + c);
+            verificarPalavra("palavr" + c + "s");
+        }
+    }
+
+    @Test
+    void deveProduzirMesmaSaidaComCaracteresForaDaTabela() {
+        List<String> textos = List.of(
+            "Péssimo atendimento!!! Não recomendo, NUNCA mais compro.",
+            "café com acúcar",
+            "Produto ótimo 😀 chegou rápido",
+            "İSTANBUL ou istanbul",
+            "ΣΟΦΟΣ e texto grego",
+            " espaço não quebrável　",
+            "   ",
+            "",
+            "a b c de fg hij klmn opqrs",
+            "123 456 !!! ???");
+
+        textos.forEach(this::verificar);
+        textos.forEach(this::verificarPalavra);
+    }
+
+    private void verificar(String texto) {
+        String esperado = normalizarReferencia(texto);
+        assertEquals(esperado, normalizer.normalize(texto), texto);
+
+        List<String> tokensEsperados = tokenizarReferencia(esperado);
+        assertEquals(tokensEsperados, tokenizer.tokenize(esperado), texto);
+
+        tokenizer.normalizeAndTokenize(texto, buffer);
+        assertEquals(tokensEsperados, buffer.toList(), texto);
+
+        AnalysisContext contexto = normalizer.criarContexto(texto);
+        assertEquals(esperado, contexto.textoNormalizado(), texto);
+        assertEquals(tokensEsperados, contexto.tokens().toList(), texto);
+    }
+
+    private void verificarPalavra(String palavra) {
+        assertEquals(normalizarPalavraReferencia(palavra), normalizer.normalizeWord(palavra), palavra);
+    }
+
+    private static String normalizarReferencia(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+
+        return Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD)
+            .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+            .replaceAll("[^a-z\\s]", " ")
+            .replaceAll("\\s+", " ")
+            .trim();
+    }
+
+    private static String normalizarPalavraReferencia(String palavra) {
+        if (palavra == null || palavra.isEmpty()) {
+            return "";
+        }
+
+        String normalizada = Normalizer.normalize(palavra.toLowerCase(), Normalizer.Form.NFD)
+            .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+            .replaceAll("[^a-z]", "");
+
+        if (normalizada.length() <= 3) {
+            return normalizada;
+        }
+
+        if (normalizada.endsWith("s")) {
+            normalizada = normalizada.substring(0, normalizada.length() - 1);
+        }
+
+        if (normalizada.length() > 3 &&
+            (normalizada.endsWith("a") || normalizada.endsWith("o") || normalizada.endsWith("e"))) {
+            normalizada = normalizada.substring(0, normalizada.length() - 1);
+        }
+
+        return normalizada;
+    }
+
+    private static List<String> tokenizarReferencia(String textoNormalizado) {
+        return Arrays.stream(textoNormalizado.split("\\s+"))
+            .filter(palavra -> !palavra.isEmpty())
+            .map(TextNormalizerDifferentialTest::normalizarPalavraReferencia)
+            .collect(Collectors.toList());
+    }
+}
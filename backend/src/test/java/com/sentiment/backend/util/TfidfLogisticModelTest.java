@@ -0,0 +1,126 @@
+package com.sentiment.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Paridade com a API Python: {@code parity.jsonl} tem as probabilidades de
+ * {@code predict_basic} para cada linha de {@code parity-texts.txt}, gravadas
+ * por {@code tools/export_model.py --textos-paridade} junto com o modelo. A
+ * primeira linha do arquivo diz o que gerou as probabilidades; só um arquivo
+ * gravado pelo scikit-learn prova a paridade com a API. Com
+ * {@code -Dmodelo.paridade.estrita=true} um arquivo de outra origem falha o
+ * build em vez de ser ignorado.
+ */
+class TfidfLogisticModelTest {
+
+    private static final double TOLERANCIA = 1e-9;
+
+    private static TfidfLogisticModel modelo;
+    private static JsonNode gerador;
+    private static List<JsonNode> registros;
+
+    @BeforeAll
+    static void carregarModelo() throws IOException {
+        try (InputStream entrada = recurso("model/sentiment-model.bin")) {
+            modelo = TfidfLogisticModel.carregar(entrada);
+        }
+        lerParidade();
+    }
+
+    @Test
+    void deveTerAParidadeGravadaPeloScikitLearn() {
+        boolean doScikitLearn = gerador != null && gerador.has("scikit-learn");
+        String mensagem = "parity.jsonl não foi gravado pelo scikit-learn (" + gerador
+            + "); rode tools/export_model.py --textos-paridade com o requirements.txt da API";
+
+        if (!Boolean.getBoolean("modelo.paridade.estrita")) {
+            assumeTrue(doScikitLearn, mensagem);
+        }
+        assertTrue(doScikitLearn, mensagem);
+    }
+
+    @Test
+    void deveReproduzirAsProbabilidadesDoPython() throws IOException {
+        String[] rotulos = modelo.rotulos();
+        assertFalse(registros.isEmpty());
+
+        for (JsonNode registro : registros) {
+            String texto = registro.get("texto").asText();
+            double[] probabilidades = modelo.probabilidades(texto.strip());
+            JsonNode esperadas = registro.get("probabilidades");
+
+            for (int c = 0; c < rotulos.length; c++) {
+                assertEquals(esperadas.get(rotulos[c]).asDouble(), probabilidades[c], TOLERANCIA,
+                    () -> "Probabilidade divergente para: " + texto);
+            }
+        }
+    }
+
+    @Test
+    void deveDarProbabilidadesDoInterceptParaTextoSemFeatures() {
+        double[] vazio = modelo.probabilidades("");
+        double[] semVocabulario = modelo.probabilidades("xyz ## qwe");
+
+        assertArrayEquals(vazio, semVocabulario, 0.0);
+        assertEquals(1.0, vazio[0] + vazio[1] + vazio[2], TOLERANCIA);
+    }
+
+    @Test
+    void deveRecusarArquivoQueNaoEModelo() {
+        InputStream entrada = new ByteArrayInputStream("não é um modelo".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> TfidfLogisticModel.carregar(entrada));
+    }
+
+    @Test
+    void deveBuscarTrechosNoVocabulario() {
+        TermIndex indice = TermIndex.de(new String[] {"entrega", "entrega rapida", "produto"});
+
+        assertEquals(1, indice.indice(new StringBuilder("a entrega rapida!"), 2, 16));
+        assertEquals(2, indice.indice("produto"));
+        assertEquals(-1, indice.indice("entreg"));
+        assertThrows(IllegalArgumentException.class, () -> TermIndex.de(new String[] {"a", "a"}));
+    }
+
+    private static void lerParidade() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        registros = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(
+            new InputStreamReader(recurso("model/parity.jsonl"), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                JsonNode registro = mapper.readTree(linha);
+                if (registro.has("gerador")) {
+                    gerador = registro.get("gerador");
+                } else {
+                    registros.add(registro);
+                }
+            }
+        }
+    }
+
+    private static InputStream recurso(String caminho) {
+        InputStream entrada = TfidfLogisticModelTest.class.getClassLoader().getResourceAsStream(caminho);
+        assertNotNull(entrada, caminho);
+        return entrada;
+    }
+}
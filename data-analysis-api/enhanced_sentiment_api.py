@@ -24,6 +24,9 @@ BASE_DIR = os.path.dirname(os.path.abspath(__file__))
 MODELS_DIR = os.path.join(BASE_DIR, 'models')
 MODELS_ENHANCED_DIR = os.path.join(MODELS_DIR, 'enhanced')
 
+# Máximo de itens por chamada a /predict/batch
+MAX_BATCH_SIZE = 256
+
 @asynccontextmanager
 async def lifespan(app: FastAPI):
     """Lifecycle event handler para carregar modelos e mostrar endpoints"""
@@ -86,6 +89,10 @@ async def lifespan(app: FastAPI):
     print("        → Escolhe modelo automaticamente")
     print("        → Request: {\"text\": \"...\", \"rating\": 1-5 (opcional), \"recommend_to_friend\": true/false (opcional)}")
     print("")
+    print("   POST /predict/batch")
+    print("        → Vários textos em uma chamada, modelo escolhido por item como em /predict/auto")
+    print("        → Request: {\"itens\": [{\"text\": \"...\"}, ...]} (até %d itens)" % MAX_BATCH_SIZE)
+    print("")
     print("   GET /docs")
     print("        → Documentação interativa (Swagger UI)")
     print("        → Teste endpoints diretamente")
@@ -158,6 +165,27 @@ class SentimentRequestAuto(BaseModel):
         }
     )
 
+class SentimentBatchItem(BaseModel):
+    """Item do lote: validado individualmente, para um texto inválido não derrubar o lote"""
+    text: Optional[str] = None
+    rating: Optional[int] = Field(None, ge=1, le=5)
+    recommend_to_friend: Optional[bool] = None
+
+class SentimentRequestBatch(BaseModel):
+    """Modelo para requisição em lote (mesmas regras de /predict/auto por item)"""
+    itens: List[SentimentBatchItem] = Field(..., min_length=1, max_length=MAX_BATCH_SIZE)
+
+    model_config = ConfigDict(
+        json_schema_extra={
+            "example": {
+                "itens": [
+                    {"text": "Este produto é excelente! Recomendo!"},
+                    {"text": "Chegou quebrado", "rating": 1, "recommend_to_friend": False}
+                ]
+            }
+        }
+    )
+
 class SentimentResponse(BaseModel):
     """Modelo para resposta de predição"""
     previsao: str = Field(..., description="Sentimento predito")
@@ -186,31 +214,33 @@ class SentimentResponse(BaseModel):
 
 # Funções de ajuste de bias removidas - correções devem ser feitas via retreinamento dos modelos
 
-def predict_basic(text: str) -> Dict:
-    """Predição usando modelo original (apenas texto)"""
+def montar_resposta(proba, modelo_usado: str) -> Dict:
+    """Monta a resposta da API a partir das probabilidades de um texto"""
+    sentiment = reverse_mapping[int(np.argmax(proba))]
+    confidence = float(np.max(proba))
+
+    probabilidades_detalhadas = {
+        reverse_mapping[i]: float(proba[i])
+        for i in range(len(proba))
+    }
+
+    return {
+        "previsao": sentiment,
+        "probabilidade": confidence,
+        "probabilidades_detalhadas": probabilidades_detalhadas,
+        "modelo_usado": modelo_usado
+    }
+
+def predict_basic_batch(texts: List[str]) -> List[Dict]:
+    """Predição usando modelo original para vários textos (uma vetorização só)"""
     try:
         # Vetorizar
-        text_tfidf = tfidf_original.transform([text])
-
-        # Predizer
-        pred_label = model_original.predict(text_tfidf)[0]
-        pred_proba = model_original.predict_proba(text_tfidf)[0].copy()
+        texts_tfidf = tfidf_original.transform(texts)
 
         # Usar probabilidades diretas do modelo original
-        sentiment = reverse_mapping[int(np.argmax(pred_proba))]
-        confidence = float(np.max(pred_proba))
-
-        probabilidades_detalhadas = {
-            reverse_mapping[i]: float(pred_proba[i])
-            for i in range(len(pred_proba))
-        }
+        pred_probas = model_original.predict_proba(texts_tfidf)
 
-        return {
-            "previsao": sentiment,
-            "probabilidade": confidence,
-            "probabilidades_detalhadas": probabilidades_detalhadas,
-            "modelo_usado": "original"
-        }
+        return [montar_resposta(proba, "original") for proba in pred_probas]
 
     except Exception as e:
         raise HTTPException(
@@ -218,65 +248,63 @@ def predict_basic(text: str) -> Dict:
             detail=f"Erro no modelo original: {str(e)}"
         )
 
-def predict_enhanced(text: str, rating: int, recommend_to_friend: bool) -> Dict:
-    """Predição usando modelo enhanced (múltiplas features)"""
+def predict_basic(text: str) -> Dict:
+    """Predição usando modelo original (apenas texto)"""
+    return predict_basic_batch([text])[0]
+
+def predict_enhanced_batch(items: List[tuple]) -> List[Dict]:
+    """Predição usando modelo enhanced para vários (texto, rating, recomendação)"""
     try:
-        # 1. TF-IDF do texto
-        text_tfidf = tfidf_enhanced.transform([text])
+        texts = [text for text, _, _ in items]
+
+        # 1. TF-IDF dos textos
+        texts_tfidf = tfidf_enhanced.transform(texts)
 
         # 2. Rating normalizado
-        rating_scaled = rating_scaler.transform([[rating]])
+        ratings_scaled = rating_scaler.transform([[rating] for _, rating, _ in items])
 
         # 3. Recomendação como feature binária
-        recommend_dummy = np.array([[1 if recommend_to_friend else 0]])
+        recommend_dummy = np.array([[1 if recommend else 0] for _, _, recommend in items])
 
         # 4. Comprimento do texto normalizado
-        text_length_scaled = text_length_scaler.transform([[len(text)]])
+        text_length_scaled = text_length_scaler.transform([[len(text)] for text in texts])
 
         # Combinar features
         X_combined = hstack([
-            text_tfidf,
-            rating_scaled,
+            texts_tfidf,
+            ratings_scaled,
             recommend_dummy,
             text_length_scaled
         ])
 
         # Usar probabilidades diretas do modelo enhanced
-        enhanced_proba = model_enhanced.predict_proba(X_combined)[0].copy()
-
-        # Ajustar baseado em rating (feature importante)
-        if rating <= 2:
-            # Rating baixo reforça negativo, mas não domina se texto for muito positivo
-            enhanced_proba[0] *= 1.4  # Aumenta negativo moderadamente
-            enhanced_proba[2] *= 0.7  # Reduz positivo moderadamente
-        elif rating >= 4:
-            # Rating alto reforça positivo, mas não domina se texto for muito negativo
-            enhanced_proba[2] *= 1.3  # Aumenta positivo moderadamente
-            enhanced_proba[0] *= 0.7  # Reduz negativo moderadamente
-        
-        # PRIORIDADE 3: Recomendação (peso menor, apenas complemento)
-        if not recommend_to_friend:
-            enhanced_proba[0] *= 1.2  # Leve aumento no negativo
-            enhanced_proba[2] *= 0.9  # Leve redução no positivo
-
-        # Renormalizar
-        enhanced_proba = enhanced_proba / enhanced_proba.sum()
-
-        pred_label = int(np.argmax(enhanced_proba))
-        sentiment = reverse_mapping[pred_label]
-        confidence = float(np.max(enhanced_proba))
-
-        probabilidades_detalhadas = {
-            reverse_mapping[i]: float(enhanced_proba[i])
-            for i in range(len(enhanced_proba))
-        }
+        enhanced_probas = model_enhanced.predict_proba(X_combined)
 
-        return {
-            "previsao": sentiment,
-            "probabilidade": confidence,
-            "probabilidades_detalhadas": probabilidades_detalhadas,
-            "modelo_usado": "enhanced_text_priority"
-        }
+        resultados = []
+        for enhanced_proba, (_, rating, recommend_to_friend) in zip(enhanced_probas, items):
+            enhanced_proba = enhanced_proba.copy()
+
+            # Ajustar baseado em rating (feature importante)
+            if rating <= 2:
+                # Rating baixo reforça negativo, mas não domina se texto for muito positivo
+                enhanced_proba[0] *= 1.4  # Aumenta negativo moderadamente
+                enhanced_proba[2] *= 0.7  # Reduz positivo moderadamente
+            elif rating >= 4:
+                # Rating alto reforça positivo, mas não domina se texto for muito negativo
+                enhanced_proba[2] *= 1.3  # Aumenta positivo moderadamente
+                enhanced_proba[0] *= 0.7  # Reduz negativo moderadamente
+
+            # PRIORIDADE 3: Recomendação (peso menor, apenas complemento)
+            if not recommend_to_friend:
+                enhanced_proba[0] *= 1.2  # Leve aumento no negativo
+                enhanced_proba[2] *= 0.9  # Leve redução no positivo
+
+            # Renormalizar
+            enhanced_proba = enhanced_proba / enhanced_proba.sum()
+
+            resultados.append(montar_resposta(enhanced_proba, "enhanced_text_priority"))
+
+        return resultados
 
     except Exception as e:
         raise HTTPException(
@@ -284,6 +312,18 @@ def predict_enhanced(text: str, rating: int, recommend_to_friend: bool) -> Dict:
             detail=f"Erro no modelo enhanced: {str(e)}"
         )
 
+def predict_enhanced(text: str, rating: int, recommend_to_friend: bool) -> Dict:
+    """Predição usando modelo enhanced (múltiplas features)"""
+    return predict_enhanced_batch([(text, rating, recommend_to_friend)])[0]
+
+def validar_texto(text: Optional[str]) -> Optional[str]:
+    """Mesmas regras dos endpoints individuais; devolve a mensagem de erro ou None"""
+    if not text or len(text.strip()) < 3:
+        return "Texto deve ter no mínimo 3 caracteres"
+    if len(text) > 10000:
+        return "Texto deve ter no máximo 10.000 caracteres"
+    return None
+
 # ============================================================================
 # ENDPOINTS
 # ============================================================================
@@ -425,6 +465,50 @@ async def predict_sentiment_auto(request: SentimentRequestAuto):
             detail=f"Erro ao processar: {str(e)}"
         )
 
+@app.post("/predict/batch", tags=["Predictions"])
+async def predict_sentiment_batch(request: SentimentRequestBatch):
+    """
+    Análise de vários textos em uma chamada, com a mesma escolha de modelo
+    de /predict/auto para cada item. Os textos de cada modelo são
+    vetorizados e classificados juntos.
+
+    **Parâmetros:**
+    - itens: lista de {text, rating (opcional), recommend_to_friend (opcional)}
+
+    **Retorna:**
+    - resultados: na ordem dos itens, a mesma estrutura de /predict ou
+      {"erro": "..."} para o item inválido
+    """
+    resultados: List[Optional[Dict]] = [None] * len(request.itens)
+    basicos = []
+    enhanced = []
+
+    for i, item in enumerate(request.itens):
+        erro = validar_texto(item.text)
+        if erro:
+            resultados[i] = {"erro": erro}
+        elif ENHANCED_AVAILABLE and item.rating is not None and item.recommend_to_friend is not None:
+            enhanced.append((i, (item.text.strip(), item.rating, item.recommend_to_friend)))
+        else:
+            basicos.append((i, item.text.strip()))
+
+    try:
+        if basicos:
+            for (i, _), resultado in zip(basicos, predict_basic_batch([text for _, text in basicos])):
+                resultados[i] = resultado
+        if enhanced:
+            for (i, _), resultado in zip(enhanced, predict_enhanced_batch([dados for _, dados in enhanced])):
+                resultados[i] = resultado
+    except HTTPException:
+        raise
+    except Exception as e:
+        raise HTTPException(
+            status_code=500,
+            detail=f"Erro ao processar: {str(e)}"
+        )
+
+    return {"resultados": resultados}
+
 @app.get("/health", tags=["Health"])
 async def health_check():
     """Verifica saúde da API e disponibilidade de modelos"""
@@ -437,7 +521,8 @@ async def health_check():
         "endpoints": {
             "predict": "/predict (texto apenas)",
             "predict/enhanced": "/predict/enhanced (múltiplas features)",
-            "predict/auto": "/predict/auto (automático)"
+            "predict/auto": "/predict/auto (automático)",
+            "predict/batch": "/predict/batch (vários textos por chamada)"
         }
     }
 
@@ -457,6 +542,7 @@ async def root():
             "predict": "/predict",
             "predict/enhanced": "/predict/enhanced",
             "predict/auto": "/predict/auto",
+            "predict/batch": "/predict/batch",
             "docs": "/docs"
         }
     }
@@ -0,0 +1,184 @@
+"""
+Exporta o modelo original (TF-IDF + Regressão Logística) para o formato
+binário lido pelo backend Java, que faz a mesma predição de predict_basic
+sem a chamada HTTP à API.
+
+Uso (a partir de data-analysis-api/):
+    python tools/export_model.py
+    python tools/export_model.py --textos-paridade ../backend/src/test/resources/model/parity-texts.txt
+
+Formato (little-endian):
+    magic 'STFM', versão (int32)
+    lowercase, strip_accents unicode, sublinear_tf, norma l2 (1 byte cada)
+    ngram mínimo, ngram máximo (int32), token_pattern (string)
+    número de features, número de classes (int32)
+    rótulos das classes (string cada), termos do vocabulário na ordem do índice (string cada)
+    idf (float64 × features), coeficientes (float64 × classes × features), intercepts (float64 × classes)
+Strings são gravadas como comprimento em bytes (uint16) seguido do UTF-8.
+"""
+
+import argparse
+import json
+import os
+import struct
+
+BASE_DIR = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+MODELS_DIR = os.path.join(BASE_DIR, 'models')
+SAIDA_PADRAO = os.path.join(BASE_DIR, '..', 'backend', 'src', 'main', 'resources', 'model', 'sentiment-model.bin')
+
+MAGIC = b'STFM'
+VERSAO = 1
+
+
+def carregar_modelo(models_dir=MODELS_DIR):
+    """
+    Carrega o vetorizador, o classificador e o mapeamento de classes salvos
+    pelo notebook de treino.
+
+    Returns:
+        tuple: (vectorizer, model, rótulos das classes na ordem de model.classes_)
+    """
+    import joblib
+
+    vectorizer = joblib.load(os.path.join(models_dir, 'tfidf_vectorizer.joblib'))
+    model = joblib.load(os.path.join(models_dir, 'logistic_regression_model.joblib'))
+
+    with open(os.path.join(models_dir, 'sentiment_mapping.json'), 'r') as f:
+        sentiment_mapping = json.load(f)
+    reverse_mapping = {v: k for k, v in sentiment_mapping.items()}
+    rotulos = [reverse_mapping[int(classe)] for classe in model.classes_]
+
+    return vectorizer, model, rotulos
+
+
+def validar(vectorizer, model):
+    """O backend só reproduz esta configuração; qualquer outra é recusada aqui."""
+    problemas = []
+    if vectorizer.analyzer != 'word' or vectorizer.tokenizer is not None or vectorizer.preprocessor is not None:
+        problemas.append('analyzer/tokenizer/preprocessor customizados')
+    if vectorizer.stop_words is not None:
+        problemas.append('stop_words')
+    if vectorizer.strip_accents not in (None, 'unicode'):
+        problemas.append(f"strip_accents={vectorizer.strip_accents}")
+    if vectorizer.binary or not vectorizer.use_idf or vectorizer.norm != 'l2':
+        problemas.append('binary, use_idf=False ou norma diferente de l2')
+    if len(model.classes_) < 3:
+        problemas.append('classificador binário (o backend espera softmax multinomial)')
+
+    if problemas:
+        raise ValueError("❌ Configuração não suportada pelo backend: " + ", ".join(problemas))
+
+
+def escrever_string(f, valor):
+    dados = valor.encode('utf-8')
+    f.write(struct.pack('<H', len(dados)))
+    f.write(dados)
+
+
+def escrever_modelo(caminho, config, rotulos, termos, idf, coef, intercept):
+    """
+    Grava o modelo no formato binário. Recebe listas simples (não arrays
+    numpy) para não depender de como o modelo foi carregado.
+
+    Args:
+        config (dict): lowercase, strip_accents, sublinear_tf, ngram_range, token_pattern
+        termos (list[str]): vocabulário na ordem do índice da feature
+        coef (list[list[float]]): uma linha por classe
+    """
+    num_features = len(termos)
+    num_classes = len(rotulos)
+    if len(idf) != num_features or len(coef) != num_classes or len(intercept) != num_classes:
+        raise ValueError("❌ Dimensões inconsistentes entre vocabulário, idf e coeficientes")
+
+    os.makedirs(os.path.dirname(os.path.abspath(caminho)), exist_ok=True)
+    with open(caminho, 'wb') as f:
+        f.write(MAGIC)
+        f.write(struct.pack('<i', VERSAO))
+        f.write(struct.pack('<4B',
+                            int(config['lowercase']),
+                            int(config['strip_accents'] == 'unicode'),
+                            int(config['sublinear_tf']),
+                            1))
+        f.write(struct.pack('<2i', *config['ngram_range']))
+        escrever_string(f, config['token_pattern'])
+        f.write(struct.pack('<2i', num_features, num_classes))
+
+        for rotulo in rotulos:
+            escrever_string(f, rotulo)
+        for termo in termos:
+            escrever_string(f, termo)
+
+        f.write(struct.pack(f'<{num_features}d', *idf))
+        for linha in coef:
+            f.write(struct.pack(f'<{num_features}d', *linha))
+        f.write(struct.pack(f'<{num_classes}d', *intercept))
+
+    return os.path.getsize(caminho)
+
+
+def exportar(vectorizer, model, rotulos, caminho):
+    validar(vectorizer, model)
+
+    termos = [None] * len(vectorizer.vocabulary_)
+    for termo, indice in vectorizer.vocabulary_.items():
+        termos[int(indice)] = termo
+
+    config = {
+        'lowercase': vectorizer.lowercase,
+        'strip_accents': vectorizer.strip_accents,
+        'sublinear_tf': vectorizer.sublinear_tf,
+        'ngram_range': vectorizer.ngram_range,
+        'token_pattern': vectorizer.token_pattern,
+    }
+    return escrever_modelo(caminho, config, rotulos, termos,
+                           vectorizer.idf_.tolist(), model.coef_.tolist(), model.intercept_.tolist())
+
+
+def gravar_paridade(vectorizer, model, rotulos, caminho_textos, caminho_saida):
+    """
+    Registra as probabilidades de predict_basic para cada linha de
+    caminho_textos, uma linha JSON por texto, para o teste de paridade do
+    backend. A primeira linha diz quais versões do scikit-learn e do joblib
+    produziram as probabilidades.
+    """
+    import joblib
+    import sklearn
+
+    with open(caminho_textos, 'r', encoding='utf-8') as f:
+        textos = [linha.rstrip('\n') for linha in f if linha.strip()]
+
+    probabilidades = model.predict_proba(vectorizer.transform([t.strip() for t in textos]))
+
+    with open(caminho_saida, 'w', encoding='utf-8') as f:
+        gerador = {'scikit-learn': sklearn.__version__, 'joblib': joblib.__version__}
+        f.write(json.dumps({'gerador': gerador}) + '\n')
+        for texto, linha in zip(textos, probabilidades):
+            registro = {'texto': texto, 'probabilidades': dict(zip(rotulos, (float(p) for p in linha)))}
+            f.write(json.dumps(registro, ensure_ascii=False) + '\n')
+
+    return len(textos)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Exporta o modelo TF-IDF + Regressão Logística para o backend")
+    parser.add_argument('--modelos', default=MODELS_DIR, help="Diretório com os arquivos .joblib")
+    parser.add_argument('--saida', default=SAIDA_PADRAO, help="Arquivo binário gerado")
+    parser.add_argument('--textos-paridade', help="Textos (um por linha) para registrar as saídas do Python")
+    parser.add_argument('--saida-paridade', help="JSONL com as probabilidades (padrão: parity.jsonl ao lado dos textos)")
+    args = parser.parse_args()
+
+    print("📁 Carregando modelo original...")
+    vectorizer, model, rotulos = carregar_modelo(args.modelos)
+
+    tamanho = exportar(vectorizer, model, rotulos, args.saida)
+    print(f"✅ Modelo exportado: {args.saida} ({tamanho / 1024:.1f} KB, "
+          f"{len(vectorizer.vocabulary_)} features, classes {rotulos})")
+
+    if args.textos_paridade:
+        saida = args.saida_paridade or os.path.join(os.path.dirname(args.textos_paridade), 'parity.jsonl')
+        quantidade = gravar_paridade(vectorizer, model, rotulos, args.textos_paridade, saida)
+        print(f"✅ Paridade registrada: {saida} ({quantidade} textos)")
+
+
+if __name__ == "__main__":
+    main()